@@ -1,5 +1,10 @@
+import java.awt.image.BufferedImage
+import javax.imageio.ImageIO
+
 plugins {
     alias(libs.plugins.android.application)
+    // Generates the Baseline Profile from :macrobenchmark and ships it in release builds
+    alias(libs.plugins.baselineprofile)
 }
 
 android {
@@ -14,6 +19,9 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // :stub-server on the host machine, as the emulator sees it
+        buildConfigField("String", "STUB_SERVER_URL", "\"http://10.0.2.2:8080\"")
     }
 
     buildTypes {
@@ -31,15 +39,48 @@ android {
     }
     buildFeatures {
         viewBinding = true
+        // BuildConfig.DEBUG gates StrictMode; STUB_SERVER_URL locates the friends and leaderboard service
+        buildConfig = true
+    }
+}
+
+// Packs src/main/avatar-sprites/*.png into atlas pages under assets/avatar_atlas and
+// generates AvatarAtlasIndex, mapping each sprite name to its page and rectangle
+val packAvatarAtlas = tasks.register<PackAvatarAtlasTask>("packAvatarAtlas") {
+    spriteDir.set(layout.projectDirectory.dir("src/main/avatar-sprites"))
+    maxPageSize.set(1024)
+    packageName.set("com.example.fitquest")
+}
+
+// Packs src/main/levels/levels.csv into assets/levels.bin, read by LevelCatalog
+val packLevels = tasks.register<PackLevelsTask>("packLevels") {
+    levelsCsv.set(layout.projectDirectory.file("src/main/levels/levels.csv"))
+}
+
+androidComponents {
+    onVariants { variant ->
+        variant.sources.assets?.addGeneratedSourceDirectory(packAvatarAtlas, PackAvatarAtlasTask::assetsDir)
+        variant.sources.assets?.addGeneratedSourceDirectory(packLevels, PackLevelsTask::assetsDir)
+        variant.sources.java?.addGeneratedSourceDirectory(packAvatarAtlas, PackAvatarAtlasTask::javaDir)
     }
 }
 
 dependencies {
+    // Pure-JVM pose math and rep detection
+    implementation(project(":pose-core"))
+
     // Default UI + AndroidX
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.recyclerview)
+    // ExploreByTouchHelper for LevelMapView
+    implementation(libs.customview)
+    implementation(libs.asynclayoutinflater)
+    // Installs the Baseline Profile on sideloaded and benchmark builds
+    implementation(libs.profileinstaller)
+    baselineProfile(project(":macrobenchmark"))
 
     // ✅ CameraX (needed for live camera feed)
     implementation("androidx.camera:camera-core:1.3.3")
@@ -59,3 +100,190 @@ dependencies {
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
+
+/**
+ * Shelf-packs sprites, tallest first, into as few pages as fit within maxPageSize. Sprites
+ * are padded so filtering at a region's edge never samples its neighbour. Sprite ids in
+ * the generated index follow name order, so lookups by name are a binary search.
+ */
+abstract class PackAvatarAtlasTask : DefaultTask() {
+
+    @get:InputDirectory
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val spriteDir: DirectoryProperty
+
+    @get:Input
+    abstract val maxPageSize: Property<Int>
+
+    @get:Input
+    abstract val packageName: Property<String>
+
+    @get:OutputDirectory
+    abstract val assetsDir: DirectoryProperty
+
+    @get:OutputDirectory
+    abstract val javaDir: DirectoryProperty
+
+    private class Placed(val name: String, val image: BufferedImage) {
+        var page = 0
+        var x = 0
+        var y = 0
+    }
+
+    @TaskAction
+    fun pack() {
+        val padding = 2
+        val maxSize = maxPageSize.get()
+        val sprites = spriteDir.get().asFile.listFiles { file -> file.extension == "png" }.orEmpty()
+            .sortedBy { it.name }
+            .map { file ->
+                val name = file.nameWithoutExtension
+                require(name.matches(Regex("[a-z_][a-z0-9_]*"))) { "Sprite names must match [a-z_][a-z0-9_]*: ${file.name}" }
+                val image = ImageIO.read(file) ?: throw GradleException("Not a readable PNG: $file")
+                require(image.width + 2 * padding <= maxSize && image.height + 2 * padding <= maxSize) {
+                    "${file.name} does not fit a ${maxSize}px page"
+                }
+                Placed(name, image)
+            }
+
+        // Shelves left to right, top to bottom; a new page when the next shelf won't fit
+        val pageSizes = mutableListOf<IntArray>()
+        var page = 0
+        var x = 0
+        var y = 0
+        var shelfHeight = 0
+        var pageWidth = 0
+        for (sprite in sprites.sortedWith(compareByDescending<Placed> { it.image.height }.thenBy { it.name })) {
+            val w = sprite.image.width + 2 * padding
+            val h = sprite.image.height + 2 * padding
+            if (x + w > maxSize) {
+                x = 0
+                y += shelfHeight
+                shelfHeight = 0
+            }
+            if (y + h > maxSize) {
+                pageSizes.add(intArrayOf(pageWidth, y + shelfHeight))
+                page++
+                x = 0
+                y = 0
+                shelfHeight = 0
+                pageWidth = 0
+            }
+            sprite.page = page
+            sprite.x = x + padding
+            sprite.y = y + padding
+            x += w
+            shelfHeight = maxOf(shelfHeight, h)
+            pageWidth = maxOf(pageWidth, x)
+        }
+        if (sprites.isNotEmpty()) {
+            pageSizes.add(intArrayOf(pageWidth, y + shelfHeight))
+        }
+
+        val atlasDir = assetsDir.get().asFile.resolve("avatar_atlas")
+        atlasDir.deleteRecursively()
+        atlasDir.mkdirs()
+        pageSizes.forEachIndexed { index, size ->
+            val image = BufferedImage(size[0], size[1], BufferedImage.TYPE_INT_ARGB)
+            val graphics = image.createGraphics()
+            sprites.filter { it.page == index }.forEach { graphics.drawImage(it.image, it.x, it.y, null) }
+            graphics.dispose()
+            ImageIO.write(image, "png", atlasDir.resolve("page$index.png"))
+        }
+
+        val pkg = packageName.get()
+        val source = javaDir.get().asFile.resolve(pkg.replace('.', '/') + "/AvatarAtlasIndex.java")
+        source.parentFile.mkdirs()
+        source.writeText(buildString {
+            appendLine("// Generated by :app:packAvatarAtlas from src/main/avatar-sprites. Do not edit.")
+            appendLine("package $pkg;")
+            appendLine()
+            appendLine("import java.util.Arrays;")
+            appendLine()
+            appendLine("public final class AvatarAtlasIndex {")
+            appendLine()
+            appendLine("    public static final String[] PAGES = {" +
+                pageSizes.indices.joinToString(", ") { "\"avatar_atlas/page$it.png\"" } + "};")
+            appendLine()
+            sprites.forEachIndexed { id, sprite ->
+                appendLine("    public static final int ${sprite.name.uppercase()} = $id;")
+            }
+            appendLine("    public static final int SPRITE_COUNT = ${sprites.size};")
+            appendLine()
+            appendLine("    static final String[] NAMES = {" + sprites.joinToString(", ") { "\"${it.name}\"" } + "};")
+            appendLine("    static final int[] PAGE = {" + sprites.joinToString(", ") { "${it.page}" } + "};")
+            appendLine("    static final int[] X = {" + sprites.joinToString(", ") { "${it.x}" } + "};")
+            appendLine("    static final int[] Y = {" + sprites.joinToString(", ") { "${it.y}" } + "};")
+            appendLine("    static final int[] WIDTH = {" + sprites.joinToString(", ") { "${it.image.width}" } + "};")
+            appendLine("    static final int[] HEIGHT = {" + sprites.joinToString(", ") { "${it.image.height}" } + "};")
+            appendLine()
+            appendLine("    private AvatarAtlasIndex() {}")
+            appendLine()
+            appendLine("    // Sprite id for a name, or -1")
+            appendLine("    public static int indexOf(String name) {")
+            appendLine("        int id = Arrays.binarySearch(NAMES, name);")
+            appendLine("        return id >= 0 ? id : -1;")
+            appendLine("    }")
+            appendLine("}")
+        })
+    }
+}
+
+/**
+ * Writes the level list in the binary layout LevelCatalog reads:
+ *   "FQLV", version byte, exercise name count byte, then per name a length byte and
+ *   UTF-8 bytes, then the level count as an int, then 4 bytes per level: exercise name
+ *   index, difficulty index, target as an unsigned short. Big-endian throughout.
+ */
+abstract class PackLevelsTask : DefaultTask() {
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val levelsCsv: RegularFileProperty
+
+    @get:OutputDirectory
+    abstract val assetsDir: DirectoryProperty
+
+    @TaskAction
+    fun pack() {
+        // Same order as com.example.fitquest.pose.Difficulty
+        val difficulties = listOf("beginner", "advanced", "expert", "master")
+        val names = mutableListOf<String>()
+        val levels = mutableListOf<IntArray>()
+        levelsCsv.get().asFile.readLines().forEachIndexed { index, raw ->
+            val line = raw.trim()
+            if (line.isEmpty() || line.startsWith("#")) return@forEachIndexed
+            val fields = line.split(",").map { it.trim() }
+            val where = "levels.csv:${index + 1}"
+            require(fields.size == 3) { "$where: expected exercise,difficulty,target" }
+            val difficulty = difficulties.indexOf(fields[1])
+            require(difficulty >= 0) { "$where: unknown difficulty ${fields[1]}" }
+            val target = fields[2].toIntOrNull()
+            require(target != null && target in 1..0xFFFF) { "$where: bad target ${fields[2]}" }
+            if (fields[0] !in names) names.add(fields[0])
+            levels.add(intArrayOf(names.indexOf(fields[0]), difficulty, target))
+        }
+        require(names.size <= 0xFF) { "At most 255 exercises" }
+
+        val bytes = java.io.ByteArrayOutputStream()
+        java.io.DataOutputStream(bytes).use { out ->
+            out.writeBytes("FQLV")
+            out.writeByte(1)
+            out.writeByte(names.size)
+            names.forEach { name ->
+                val utf8 = name.toByteArray(Charsets.UTF_8)
+                out.writeByte(utf8.size)
+                out.write(utf8)
+            }
+            out.writeInt(levels.size)
+            levels.forEach { level ->
+                out.writeByte(level[0])
+                out.writeByte(level[1])
+                out.writeShort(level[2])
+            }
+        }
+        val dir = assetsDir.get().asFile
+        dir.mkdirs()
+        dir.resolve("levels.bin").writeBytes(bytes.toByteArray())
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.fitquest;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.EditText;
@@ -11,9 +10,6 @@ import androidx.appcompat.app.AppCompatActivity;
 
 public class AccountCreation extends AppCompatActivity {
 
-    private static final String PREF_NAME = "FitQuestPrefs";
-    private static final String KEY_USERNAME = "username";
-
     private EditText editUsername;
     private ImageView btnConfirm; // Changed from Button to ImageView
 
@@ -21,9 +17,11 @@ public class AccountCreation extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.account_creation);
+        BitmapLoader.getInstance(this).intoBackground(findViewById(R.id.account_root), R.drawable.background);
+        StartupTrace.reportFirstFrame(this);
 
-        editUsername = findViewById(R.id.edit_username);
-        btnConfirm = findViewById(R.id.btn_confirm); // ImageView ID from XML
+        editUsername = findViewById(R.id.etUser);
+        btnConfirm = findViewById(R.id.btnSignUp); // ImageView ID from XML
 
         btnConfirm.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -32,11 +30,8 @@ public class AccountCreation extends AppCompatActivity {
                 if (username.isEmpty()) {
                     Toast.makeText(AccountCreation.this, "Please enter a username", Toast.LENGTH_SHORT).show();
                 } else {
-                    // Save username to SharedPreferences
-                    SharedPreferences prefs = getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-                    SharedPreferences.Editor editor = prefs.edit();
-                    editor.putString(KEY_USERNAME, username);
-                    editor.apply();
+                    // Save username to the profile
+                    ProfileRepository.getInstance(AccountCreation.this).edit().setUsername(username).apply();
 
                     Toast.makeText(AccountCreation.this, "Account created: " + username, Toast.LENGTH_SHORT).show();
 
@@ -2,8 +2,6 @@ package com.example.fitquest;
 
 import android.app.Dialog;
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.Window;
 import android.view.ViewGroup;
@@ -12,18 +10,16 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 
-public class Arena {
-
-    private static final String PREF_NAME = "FitQuestPrefs";
-    private static final String KEY_USERNAME = "username";
-    private static final String KEY_GENDER = "gender"; // "male" or "female"
+public class Arena implements HomePopup {
 
+    private final Context context;
     private final Dialog dialog;
+    private final TextView playerName;
+    private final ImageView avatarImage;
+    private final TextView rankLabel;
 
-    public Arena(Context context) {
-        LayoutInflater inflater = LayoutInflater.from(context);
-        View popupView = inflater.inflate(R.layout.arena, null);
-
+    public Arena(Context context, View popupView) {
+        this.context = context;
         dialog = new Dialog(context);
         dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
         dialog.setContentView(popupView);
@@ -32,30 +28,38 @@ public class Arena {
         dialog.getWindow().setLayout(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT);
 
         // UI Elements
-        TextView playerName = popupView.findViewById(R.id.player_name);
+        playerName = popupView.findViewById(R.id.player_name);
         TextView playerLevel = popupView.findViewById(R.id.player_level);
-        ImageView avatarImage = popupView.findViewById(R.id.avatar_image);
+        avatarImage = popupView.findViewById(R.id.avatar_image);
         ImageView rankIcon = popupView.findViewById(R.id.rank_icon);
-        TextView rankLabel = popupView.findViewById(R.id.rank_label);
+        rankLabel = popupView.findViewById(R.id.rank_label);
         Button startCombat = popupView.findViewById(R.id.start_combat);
 
-        // Load saved data
-        SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        String username = prefs.getString(KEY_USERNAME, "Player");
-        String gender = prefs.getString(KEY_GENDER, "male");
-
-        // Set values
-        playerName.setText(username);
-        int drawableId = "female".equalsIgnoreCase(gender) ? R.drawable.female : R.drawable.male2;
-        avatarImage.setImageResource(drawableId);
-        rankLabel.setText("CHAMPION");
-
         startCombat.setOnClickListener(v ->
                 Toast.makeText(context, "Combat Started!", Toast.LENGTH_SHORT).show()
         );
     }
 
+    @Override
     public void show() {
+        UserProfile profile = ProfileRepository.getInstance(context).getProfile();
+        playerName.setText(profile.getDisplayName());
+        AvatarCompositor.getInstance(context).into(avatarImage, profile.getAvatar());
+        // The last known rank stays up until the service answers
+        if (profile.getUsername() != null) {
+            LeaderboardRepository.getInstance(context).fetchRank(profile.getUsername(), rank ->
+                    rankLabel.setText(rank == LeaderboardRepository.UNRANKED ? "UNRANKED" : "RANK #" + rank));
+        }
         dialog.show();
     }
+
+    @Override
+    public void dismiss() {
+        dialog.dismiss();
+    }
+
+    @Override
+    public boolean isShowing() {
+        return dialog.isShowing();
+    }
 }
@@ -0,0 +1,141 @@
+package com.example.fitquest;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Avatar part sprites, packed at build time by :app:packAvatarAtlas into a few atlas
+ * pages in assets and indexed by the generated {@link AvatarAtlasIndex}.
+ *
+ * Each page is decoded once per process and every sprite is a region of it, so opening
+ * the avatar screen costs one small decode instead of one per part, and sprites are
+ * found by id or by a binary search over names rather than a reflective resource lookup.
+ */
+public final class AvatarAtlas {
+
+    private static final String TAG = "AvatarAtlas";
+
+    private static AvatarAtlas instance;
+
+    public static synchronized AvatarAtlas getInstance(Context context) {
+        if (instance == null) {
+            instance = new AvatarAtlas(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final Context appContext;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "avatar-atlas"));
+    // Guarded by this
+    private final Bitmap[] pages = new Bitmap[AvatarAtlasIndex.PAGES.length];
+
+    private AvatarAtlas(Context appContext) {
+        this.appContext = appContext;
+    }
+
+    /** Decodes the pages off the main thread, then runs {@code onLoaded} on the main thread. */
+    public void whenLoaded(Runnable onLoaded) {
+        loader.execute(() -> {
+            for (int page = 0; page < pages.length; page++) {
+                getPage(page);
+            }
+            mainHandler.post(onLoaded);
+        });
+    }
+
+    /**
+     * Atlas page {@code page}, decoded on first use; null if it could not be read. Decodes
+     * on the calling thread, so call it on the main thread only after {@link #whenLoaded}.
+     */
+    public synchronized Bitmap getPage(int page) {
+        if (pages[page] == null) {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inScaled = false;
+            try (InputStream in = appContext.getAssets().open(AvatarAtlasIndex.PAGES[page])) {
+                pages[page] = BitmapFactory.decodeStream(in, null, options);
+            } catch (IOException e) {
+                Log.e(TAG, "Cannot read " + AvatarAtlasIndex.PAGES[page] + ": " + e.getMessage());
+            }
+        }
+        return pages[page];
+    }
+
+    public Rect getRegion(int sprite) {
+        int x = AvatarAtlasIndex.X[sprite];
+        int y = AvatarAtlasIndex.Y[sprite];
+        return new Rect(x, y, x + AvatarAtlasIndex.WIDTH[sprite], y + AvatarAtlasIndex.HEIGHT[sprite]);
+    }
+
+    // Sprites are drawn at mdpi, as they were when they lived in drawable/
+    public Drawable getDrawable(int sprite, Resources resources) {
+        Bitmap page = getPage(AvatarAtlasIndex.PAGE[sprite]);
+        return page != null ? new RegionDrawable(page, getRegion(sprite), resources.getDisplayMetrics().density) : null;
+    }
+
+    /** One atlas region, scaled to the drawable's bounds. */
+    private static final class RegionDrawable extends Drawable {
+
+        private final Bitmap page;
+        private final Rect region;
+        private final int intrinsicWidth;
+        private final int intrinsicHeight;
+        private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+        RegionDrawable(Bitmap page, Rect region, float density) {
+            this.page = page;
+            this.region = region;
+            this.intrinsicWidth = Math.round(region.width() * density);
+            this.intrinsicHeight = Math.round(region.height() * density);
+        }
+
+        @Override
+        public void draw(Canvas canvas) {
+            canvas.drawBitmap(page, region, getBounds(), paint);
+        }
+
+        @Override
+        public int getIntrinsicWidth() {
+            return intrinsicWidth;
+        }
+
+        @Override
+        public int getIntrinsicHeight() {
+            return intrinsicHeight;
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            paint.setAlpha(alpha);
+            invalidateSelf();
+        }
+
+        @Override
+        public void setColorFilter(ColorFilter colorFilter) {
+            paint.setColorFilter(colorFilter);
+            invalidateSelf();
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.fitquest;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.util.Log;
+import android.widget.ImageView;
+
+/**
+ * Flattens avatar layers into one bitmap at the size a view displays it.
+ *
+ * Screens used to stack a full-size ImageView per layer and decode the megabyte body PNG
+ * each time; now every avatar is a single pre-composited image. The body is decoded
+ * subsampled to about the target size, overlays are drawn from the {@link AvatarAtlas},
+ * and each is placed as the old stack did (fit or crop, centred). Composites are cached
+ * in memory and on disk by {@link BitmapLoader}, keyed by layers and size, so most
+ * screens never decode a layer at all.
+ */
+public final class AvatarCompositor {
+
+    private static final String TAG = "AvatarCompositor";
+
+    private static AvatarCompositor instance;
+
+    public static synchronized AvatarCompositor getInstance(Context context) {
+        if (instance == null) {
+            instance = new AvatarCompositor(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final Context appContext;
+    private final BitmapLoader loader;
+
+    private AvatarCompositor(Context appContext) {
+        this.appContext = appContext;
+        this.loader = BitmapLoader.getInstance(appContext);
+    }
+
+    /**
+     * Shows the composite of {@code parts} in {@code view}, sized to its content area.
+     * A cached composite is set immediately; otherwise the view keeps its current image
+     * until the composite is ready. Main thread only.
+     */
+    public void into(ImageView view, AvatarParts parts) {
+        if (parts.hasLayer(AvatarParts.BODY)) {
+            loader.into(view, new Composite(parts));
+        }
+    }
+
+    private final class Composite implements BitmapLoader.Source {
+
+        private final AvatarParts parts;
+
+        Composite(AvatarParts parts) {
+            this.parts = parts;
+        }
+
+        // Stretching an avatar is never wanted; fill views get a fitted one
+        @Override
+        public String cacheKey(int width, int height, int scale) {
+            return "avatar." + parts.cacheKey(width, height, scale == BitmapLoader.SCALE_CROP);
+        }
+
+        @Override
+        public Bitmap decode(int width, int height, int scale) {
+            return compose(parts, width, height,
+                    scale == BitmapLoader.SCALE_CROP ? BitmapLoader.SCALE_CROP : BitmapLoader.SCALE_FIT);
+        }
+    }
+
+    // Loader thread
+    private Bitmap compose(AvatarParts parts, int width, int height, int scale) {
+        int bodyRes = bodyResource(parts.getLayer(AvatarParts.BODY));
+        if (bodyRes == 0) {
+            Log.w(TAG, "No avatar body named " + parts.getLayer(AvatarParts.BODY));
+            return null;
+        }
+        Bitmap body = BitmapLoader.decodeSampled(appContext.getResources(), bodyRes, width, height, scale);
+        if (body == null) {
+            return null;
+        }
+        Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        Bitmap out = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(out);
+        canvas.drawBitmap(body, null,
+                BitmapLoader.placement(body.getWidth(), body.getHeight(), width, height, scale), paint);
+        body.recycle();
+
+        // Overlays are regions of the already decoded avatar atlas
+        AvatarAtlas atlas = AvatarAtlas.getInstance(appContext);
+        for (int layer = AvatarParts.HEAD; layer < AvatarParts.LAYER_COUNT; layer++) {
+            if (!parts.hasLayer(layer)) {
+                continue;
+            }
+            int sprite = AvatarAtlasIndex.indexOf(parts.getLayer(layer));
+            Bitmap page = sprite >= 0 ? atlas.getPage(AvatarAtlasIndex.PAGE[sprite]) : null;
+            if (page == null) {
+                Log.w(TAG, "No avatar sprite named " + parts.getLayer(layer));
+                continue;
+            }
+            Rect region = atlas.getRegion(sprite);
+            canvas.drawBitmap(page, region,
+                    BitmapLoader.placement(region.width(), region.height(), width, height, scale), paint);
+        }
+        return out;
+    }
+
+    private static int bodyResource(String name) {
+        switch (name) {
+            case AvatarParts.MALE_BODY: return R.drawable.male2;
+            case AvatarParts.FEMALE_BODY: return R.drawable.female;
+            default: return 0;
+        }
+    }
+}
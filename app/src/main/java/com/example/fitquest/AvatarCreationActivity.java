@@ -1,25 +1,19 @@
 package com.example.fitquest;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.view.View;
-import android.widget.GridLayout;
 import android.widget.ImageView;
 import android.widget.Toast;
 
-import androidx.annotation.DrawableRes;
 import androidx.appcompat.app.AppCompatActivity;
 
 public class AvatarCreationActivity extends AppCompatActivity {
 
-    private static final String PREF_NAME = "FitQuestPrefs";
-    private static final String KEY_AVATAR_CREATED = "avatar_created";
-    private static final String KEY_GENDER = "gender"; // "male" or "female"
-
-    // Character overlays
-    private ImageView baseBody;
-    private ImageView overlayHead, overlayHair, overlayEyes, overlayNose, overlayLips;
+    // Avatar preview, one composited image of every chosen layer
+    private ImageView avatarPreview;
+    private AvatarCompositor avatars;
+    private AvatarParts parts;
 
     // Gender icons
     private ImageView maleIcon, femaleIcon;
@@ -28,21 +22,15 @@ public class AvatarCreationActivity extends AppCompatActivity {
     private ImageView btnWarrior, btnRogue, btnTank;
     private ImageView selectedClassIcon = null;
 
-    // Grids
-    private GridLayout gridHead, gridHair, gridEyes, gridNose, gridLips;
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_avatar_creation);
+        BitmapLoader.getInstance(this).intoBackground(findViewById(R.id.scroll_avatar), R.drawable.background);
+        StartupTrace.reportFirstFrame(this);
 
-        // base + overlays
-        baseBody = findViewById(R.id.baseBody);
-        overlayHead = findViewById(R.id.headLayer);
-        overlayHair = findViewById(R.id.hairLayer);
-        overlayEyes = findViewById(R.id.eyesLayer);
-        overlayNose = findViewById(R.id.noseLayer);
-        overlayLips = findViewById(R.id.lipsLayer);
+        avatarPreview = findViewById(R.id.avatar_preview);
+        avatars = AvatarCompositor.getInstance(this);
 
         // gender icons
         maleIcon = findViewById(R.id.male_icon);
@@ -53,26 +41,20 @@ public class AvatarCreationActivity extends AppCompatActivity {
         btnRogue = findViewById(R.id.btn_rogue);
         btnTank = findViewById(R.id.btn_tank);
 
-        // Default gender selection if none saved
-        SharedPreferences prefs = getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        String savedGender = prefs.getString(KEY_GENDER, null);
-        if (savedGender == null || savedGender.equals("male")) {
-            baseBody.setImageResource(R.drawable.male2);
-            prefs.edit().putString(KEY_GENDER, "male").apply();
-        } else {
-            baseBody.setImageResource(R.drawable.female);
-        }
+        // Gender defaults to male until one is picked
+        ProfileRepository profiles = ProfileRepository.getInstance(this);
+        setParts(profiles.getProfile().getAvatar());
 
         // Gender toggle
         maleIcon.setOnClickListener(v -> {
-            baseBody.setImageResource(R.drawable.male2);
-            getSharedPreferences(PREF_NAME, MODE_PRIVATE).edit().putString(KEY_GENDER, "male").apply();
+            setParts(parts.withBody(false));
+            profiles.edit().setGender("male").apply();
             showToast("Male selected");
         });
 
         femaleIcon.setOnClickListener(v -> {
-            baseBody.setImageResource(R.drawable.female);
-            getSharedPreferences(PREF_NAME, MODE_PRIVATE).edit().putString(KEY_GENDER, "female").apply();
+            setParts(parts.withBody(true));
+            profiles.edit().setGender("female").apply();
             showToast("Female selected");
         });
 
@@ -82,23 +64,21 @@ public class AvatarCreationActivity extends AppCompatActivity {
         btnRogue.setOnClickListener(classClick);
         btnTank.setOnClickListener(classClick);
 
-        // Wire grids
-        wireGridItems(gridHead, Category.HEAD);
-        wireGridItems(gridHair, Category.HAIR);
-        wireGridItems(gridEyes, Category.EYES);
-        wireGridItems(gridNose, Category.NOSE);
-        wireGridItems(gridLips, Category.LIPS);
+        // Tab icons draw from the avatar atlas, decoded once in the background
+        AvatarAtlas atlas = AvatarAtlas.getInstance(this);
+        atlas.whenLoaded(() -> {
+            if (isDestroyed()) return;
+            setSprite(R.id.tab_head, AvatarAtlasIndex.CREATION_HEAD, atlas);
+            setSprite(R.id.tab_hair, AvatarAtlasIndex.CREATION_HAIR, atlas);
+            setSprite(R.id.tab_eyes, AvatarAtlasIndex.CREATION_EYES, atlas);
+            setSprite(R.id.tab_nose, AvatarAtlasIndex.CREATION_NOSE, atlas);
+            setSprite(R.id.tab_lips, AvatarAtlasIndex.CREATION_LIPS, atlas);
+        });
 
         // Create button
         findViewById(R.id.btn_create).setOnClickListener(v -> {
-            // Save avatar creation status
-            SharedPreferences p = getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-            SharedPreferences.Editor editor = p.edit();
-            editor.putBoolean(KEY_AVATAR_CREATED, true);
-            if (p.getString(KEY_GENDER, null) == null) {
-                editor.putString(KEY_GENDER, "male");
-            }
-            editor.apply();
+            // Save the chosen layers and avatar creation status
+            profiles.edit().setAvatarParts(parts).setAvatarCreated(true).apply();
 
             showToast("Avatar created successfully!");
             
@@ -118,68 +98,17 @@ public class AvatarCreationActivity extends AppCompatActivity {
         showToast("Class selected");
     }
 
-    private void wireGridItems(GridLayout grid, Category category) {
-        if (grid == null) return;
-
-        int childCount = grid.getChildCount();
-        for (int i = 0; i < childCount; i++) {
-            View child = grid.getChildAt(i);
-            ImageView iv = child.findViewById(R.id.customization_icon);
-
-            if (iv == null && child instanceof ImageView) {
-                iv = (ImageView) child;
-            }
-
-            if (iv != null) {
-                final int resId = getDrawableIdFromImageView(iv);
-                iv.setOnClickListener(v -> {
-                    if (resId != 0) {
-                        switch (category) {
-                            case HEAD: applyHead(resId); break;
-                            case HAIR: applyHair(resId); break;
-                            case EYES: applyEyes(resId); break;
-                            case NOSE: applyNose(resId); break;
-                            case LIPS: applyLips(resId); break;
-                        }
-                    }
-                });
-            }
-        }
+    private void setSprite(int viewId, int sprite, AvatarAtlas atlas) {
+        ImageView view = findViewById(viewId);
+        view.setImageDrawable(atlas.getDrawable(sprite, getResources()));
     }
 
-    private int getDrawableIdFromImageView(ImageView iv) {
-        Object tag = iv.getTag();
-        if (tag instanceof String) {
-            String tagStr = (String) tag;
-            int id = getResources().getIdentifier(tagStr, "drawable", getPackageName());
-            return id;
-        }
-        return 0;
-    }
-
-    private void applyHead(@DrawableRes int resId) {
-        overlayHead.setImageResource(resId);
-    }
-
-    private void applyHair(@DrawableRes int resId) {
-        overlayHair.setImageResource(resId);
-    }
-
-    private void applyEyes(@DrawableRes int resId) {
-        overlayEyes.setImageResource(resId);
-    }
-
-    private void applyNose(@DrawableRes int resId) {
-        overlayNose.setImageResource(resId);
-    }
-
-    private void applyLips(@DrawableRes int resId) {
-        overlayLips.setImageResource(resId);
+    private void setParts(AvatarParts next) {
+        parts = next;
+        avatars.into(avatarPreview, parts);
     }
 
     private void showToast(CharSequence msg) {
         Toast.makeText(this, msg, Toast.LENGTH_SHORT).show();
     }
-
-    private enum Category { HEAD, HAIR, EYES, NOSE, LIPS }
 }
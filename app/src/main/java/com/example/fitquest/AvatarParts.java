@@ -0,0 +1,102 @@
+package com.example.fitquest;
+
+import java.util.Arrays;
+
+/**
+ * Immutable choice of avatar layers, bottom to top: body, head, hair, eyes, nose, lips.
+ *
+ * Layers are names rather than resource ids, so a saved avatar and its cached composites
+ * stay valid across builds: the body is {@link #MALE_BODY} or {@link #FEMALE_BODY}, and
+ * overlays are {@link AvatarAtlasIndex} sprite names. An empty name means the layer is unset.
+ */
+public final class AvatarParts {
+
+    public static final int BODY = 0;
+    public static final int HEAD = 1;
+    public static final int HAIR = 2;
+    public static final int EYES = 3;
+    public static final int NOSE = 4;
+    public static final int LIPS = 5;
+    public static final int LAYER_COUNT = 6;
+
+    static final String MALE_BODY = "male2";
+    static final String FEMALE_BODY = "female";
+
+    static final AvatarParts NONE = new AvatarParts(new String[LAYER_COUNT]);
+
+    private final String[] layers;
+
+    private AvatarParts(String[] layers) {
+        this.layers = layers;
+        for (int i = 0; i < LAYER_COUNT; i++) {
+            if (layers[i] == null) {
+                layers[i] = "";
+            }
+        }
+    }
+
+    public String getLayer(int layer) {
+        return layers[layer];
+    }
+
+    public boolean hasLayer(int layer) {
+        return !layers[layer].isEmpty();
+    }
+
+    public AvatarParts with(int layer, String name) {
+        String[] next = layers.clone();
+        next[layer] = name;
+        return new AvatarParts(next);
+    }
+
+    public AvatarParts withBody(boolean female) {
+        return with(BODY, female ? FEMALE_BODY : MALE_BODY);
+    }
+
+    /**
+     * Names the composite of these layers at one size. Layer names are [a-z0-9_], so the
+     * key is also a safe, collision-free file name.
+     */
+    String cacheKey(int width, int height, boolean crop) {
+        StringBuilder key = new StringBuilder();
+        for (String layer : layers) {
+            key.append(layer.isEmpty() ? "-" : layer).append('.');
+        }
+        return key.append(width).append('x').append(height).append(crop ? "c" : "f").toString();
+    }
+
+    // ---- Persistence: overlay layers only, the body follows the saved gender ----
+
+    String encodeOverlays() {
+        StringBuilder out = new StringBuilder();
+        for (int i = HEAD; i < LAYER_COUNT; i++) {
+            if (i > HEAD) {
+                out.append(',');
+            }
+            out.append(layers[i]);
+        }
+        return out.toString();
+    }
+
+    static AvatarParts decodeOverlays(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return NONE;
+        }
+        String[] saved = encoded.split(",", -1);
+        String[] layers = new String[LAYER_COUNT];
+        for (int i = HEAD; i < LAYER_COUNT && i - HEAD < saved.length; i++) {
+            layers[i] = saved[i - HEAD];
+        }
+        return new AvatarParts(layers);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AvatarParts && Arrays.equals(layers, ((AvatarParts) o).layers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(layers);
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.fitquest;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.drawable.BitmapDrawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.View;
+import android.widget.ImageView;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * App-wide bitmap pipeline: decodes on a small background pool at the size the target
+ * view shows, never larger, and caches each size variant.
+ *
+ * Variants are kept in one memory LRU bounded by a byte budget, shared by every screen
+ * and popup, so reopening a popup binds from memory. Behind it is a disk cache of the
+ * downscaled variants, per app version since a build may change the art, so a cold start
+ * reads a screen-sized file instead of decoding and scaling the full PNG again.
+ *
+ * The public methods are main thread only. A view that has no size yet is loaded after
+ * its first layout; a result that arrives after the view asked for something else is
+ * dropped.
+ */
+public final class BitmapLoader {
+
+    // How the bitmap fills the view, as ImageView's FIT_CENTER, CENTER_CROP and FIT_XY
+    public static final int SCALE_FIT = 0;
+    public static final int SCALE_CROP = 1;
+    public static final int SCALE_FILL = 2;
+
+    /** One image that can be produced at any size. */
+    public interface Source {
+        // Names the variant in both caches; must be a valid file name
+        String cacheKey(int width, int height, int scale);
+
+        // Loader thread; null if there is nothing to show
+        Bitmap decode(int width, int height, int scale);
+    }
+
+    private static final String TAG = "BitmapLoader";
+    private static final String DISK_DIR = "bitmaps";
+    private static final int THREADS = 2;
+
+    private static BitmapLoader instance;
+
+    public static synchronized BitmapLoader getInstance(Context context) {
+        if (instance == null) {
+            instance = new BitmapLoader(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final Context appContext;
+    private final Resources resources;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService pool;
+    private final LruCache<String, Bitmap> memory;
+    // Main thread: the variant each view is waiting for
+    private final WeakHashMap<View, String> pending = new WeakHashMap<>();
+
+    // Guarded by this
+    private File diskDir;
+
+    private BitmapLoader(Context appContext) {
+        this.appContext = appContext;
+        this.resources = appContext.getResources();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(THREADS,
+                runnable -> new Thread(runnable, "bitmap-loader-" + threadCount.incrementAndGet()));
+        // An eighth of the heap holds the backdrop and a dozen popup images on small devices
+        int maxBytes = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 8);
+        this.memory = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    /** Shows a drawable resource in {@code view}, scaled the way the view's scale type will. */
+    public void into(ImageView view, int resId) {
+        into(view, new ResourceSource(resources, resId));
+    }
+
+    public void into(ImageView view, Source source) {
+        load(view, source, scaleOf(view), view::setImageBitmap);
+    }
+
+    /** Sets a drawable resource as the background of {@code view}, stretched to its bounds. */
+    public void intoBackground(View view, int resId) {
+        load(view, new ResourceSource(resources, resId), SCALE_FILL,
+                bitmap -> view.setBackground(new BitmapDrawable(view.getResources(), bitmap)));
+    }
+
+    // From ComponentCallbacks2.onTrimMemory
+    public void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            memory.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            memory.trimToSize(memory.size() / 2);
+        }
+    }
+
+    private static int scaleOf(ImageView view) {
+        switch (view.getScaleType()) {
+            case CENTER_CROP: return SCALE_CROP;
+            case FIT_XY: return SCALE_FILL;
+            default: return SCALE_FIT;
+        }
+    }
+
+    private void load(View view, Source source, int scale, Consumer<Bitmap> target) {
+        if (view.isLaidOut() && !view.isLayoutRequested() && view.getWidth() > 0) {
+            request(view, source, scale, target);
+            return;
+        }
+        view.addOnLayoutChangeListener(new View.OnLayoutChangeListener() {
+            @Override
+            public void onLayoutChange(View v, int left, int top, int right, int bottom,
+                                       int oldLeft, int oldTop, int oldRight, int oldBottom) {
+                v.removeOnLayoutChangeListener(this);
+                request(view, source, scale, target);
+            }
+        });
+    }
+
+    private void request(View view, Source source, int scale, Consumer<Bitmap> target) {
+        int width = view.getWidth() - view.getPaddingLeft() - view.getPaddingRight();
+        int height = view.getHeight() - view.getPaddingTop() - view.getPaddingBottom();
+        if (scale == SCALE_FILL) {
+            // Backgrounds cover the padding too
+            width = view.getWidth();
+            height = view.getHeight();
+        }
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        String key = source.cacheKey(width, height, scale);
+
+        Bitmap cached = memory.get(key);
+        if (cached != null) {
+            pending.remove(view);
+            target.accept(cached);
+            return;
+        }
+        pending.put(view, key);
+        int w = width;
+        int h = height;
+        pool.execute(() -> {
+            Bitmap bitmap = loadVariant(key, source, w, h, scale);
+            if (bitmap == null) {
+                return;
+            }
+            mainHandler.post(() -> {
+                if (key.equals(pending.get(view))) {
+                    pending.remove(view);
+                    target.accept(bitmap);
+                }
+            });
+        });
+    }
+
+    // ---- Loader threads ----
+
+    private Bitmap loadVariant(String key, Source source, int width, int height, int scale) {
+        // An earlier request for the same variant may have finished meanwhile
+        Bitmap bitmap = memory.get(key);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        File file = new File(diskDir(), key);
+        bitmap = BitmapFactory.decodeFile(file.getPath());
+        if (bitmap == null) {
+            bitmap = source.decode(width, height, scale);
+            if (bitmap == null) {
+                return null;
+            }
+            bitmap.setDensity(resources.getDisplayMetrics().densityDpi);
+            save(bitmap, file);
+        } else {
+            bitmap.setDensity(resources.getDisplayMetrics().densityDpi);
+        }
+        memory.put(key, bitmap);
+        return bitmap;
+    }
+
+    /**
+     * Decodes a drawable resource at the largest power-of-two subsample that still covers
+     * the target. Density scaling is off: it would only inflate what we then shrink.
+     */
+    static Bitmap decodeSampled(Resources resources, int resId, int width, int height, int scale) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inScaled = false;
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, resId, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            Log.w(TAG, "Resource " + resId + " is not a bitmap");
+            return null;
+        }
+        float sx = width / (float) options.outWidth;
+        float sy = height / (float) options.outHeight;
+        // Fill stretches each axis on its own; cover the larger of the two
+        float factor = scale == SCALE_FIT ? Math.min(sx, sy) : Math.max(sx, sy);
+        int sampleSize = 1;
+        while (sampleSize * 2 * factor <= 1f) {
+            sampleSize *= 2;
+        }
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        return BitmapFactory.decodeResource(resources, resId, options);
+    }
+
+    // Where a source of the given size lands in a width x height target
+    static RectF placement(int sourceWidth, int sourceHeight, int width, int height, int scale) {
+        if (scale == SCALE_FILL) {
+            return new RectF(0, 0, width, height);
+        }
+        float sx = width / (float) sourceWidth;
+        float sy = height / (float) sourceHeight;
+        float factor = scale == SCALE_CROP ? Math.max(sx, sy) : Math.min(sx, sy);
+        float left = (width - sourceWidth * factor) / 2f;
+        float top = (height - sourceHeight * factor) / 2f;
+        return new RectF(left, top, left + sourceWidth * factor, top + sourceHeight * factor);
+    }
+
+    private synchronized File diskDir() {
+        if (diskDir == null) {
+            File root = new File(appContext.getCacheDir(), DISK_DIR);
+            String current = String.valueOf(BuildConfig.VERSION_CODE);
+            File[] versions = root.listFiles();
+            if (versions != null) {
+                for (File version : versions) {
+                    if (!version.getName().equals(current)) {
+                        deleteTree(version);
+                    }
+                }
+            }
+            diskDir = new File(root, current);
+            if (!diskDir.isDirectory() && !diskDir.mkdirs()) {
+                Log.w(TAG, "Cannot create " + diskDir);
+            }
+        }
+        return diskDir;
+    }
+
+    // Opaque variants are stored as JPEG, a fraction of a PNG's size. Written under a
+    // temporary name and renamed, so a crash never leaves a torn file.
+    private static void save(Bitmap bitmap, File file) {
+        File temp = new File(file.getPath() + ".tmp");
+        Bitmap.CompressFormat format = bitmap.hasAlpha() ? Bitmap.CompressFormat.PNG : Bitmap.CompressFormat.JPEG;
+        try (OutputStream out = new FileOutputStream(temp)) {
+            bitmap.compress(format, 90, out);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not cache " + file.getName() + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+        }
+    }
+
+    private static void deleteTree(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteTree(child);
+            }
+        }
+        file.delete();
+    }
+
+    /** A drawable resource, downscaled to the target and never upscaled. */
+    private static final class ResourceSource implements Source {
+
+        private final Resources resources;
+        private final int resId;
+
+        ResourceSource(Resources resources, int resId) {
+            this.resources = resources;
+            this.resId = resId;
+        }
+
+        // Resource ids only change between builds, and the disk cache is per build
+        @Override
+        public String cacheKey(int width, int height, int scale) {
+            return "res" + Integer.toHexString(resId) + "." + width + "x" + height + "." + scale;
+        }
+
+        @Override
+        public Bitmap decode(int width, int height, int scale) {
+            Bitmap sampled = decodeSampled(resources, resId, width, height, scale);
+            if (sampled == null) {
+                return null;
+            }
+            RectF dst = placement(sampled.getWidth(), sampled.getHeight(), width, height, scale);
+            int outWidth = scale == SCALE_FIT ? Math.round(dst.width()) : width;
+            int outHeight = scale == SCALE_FIT ? Math.round(dst.height()) : height;
+            if (sampled.getWidth() <= outWidth && sampled.getHeight() <= outHeight) {
+                return sampled;
+            }
+            Bitmap out = Bitmap.createBitmap(outWidth, outHeight,
+                    sampled.hasAlpha() ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGB_565);
+            if (scale == SCALE_FIT) {
+                dst.offsetTo(0, 0);
+            }
+            new Canvas(out).drawBitmap(sampled, null, dst, new Paint(Paint.FILTER_BITMAP_FLAG));
+            sampled.recycle();
+            return out;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import android.media.SoundPool;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.speech.RecognitionListener;
 import android.speech.RecognizerIntent;
 import android.speech.SpeechRecognizer;
@@ -23,20 +24,18 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.camera.core.CameraSelector;
 import androidx.camera.core.ImageAnalysis;
-import androidx.camera.core.ImageProxy;
 import androidx.camera.core.Preview;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.camera.view.PreviewView;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 
+import com.example.fitquest.pose.ExerciseCatalog;
+import com.example.fitquest.pose.ExerciseDefinition;
+import com.example.fitquest.pose.PoseFrame;
+import com.example.fitquest.pose.StageLatencies;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.mlkit.vision.common.InputImage;
-import com.google.mlkit.vision.pose.Pose;
-import com.google.mlkit.vision.pose.PoseDetection;
-import com.google.mlkit.vision.pose.PoseDetector;
 import com.google.mlkit.vision.pose.PoseLandmark;
-import com.google.mlkit.vision.pose.defaults.PoseDetectorOptions;
 
 import java.util.ArrayList;
 import java.util.Locale;
@@ -47,12 +46,17 @@ import static java.lang.Math.atan2;
 
 public class ExerciseTrackingActivity extends AppCompatActivity {
 
+    // Challenge level being played, from the Challenge map; beating it unlocks the next
+    public static final String EXTRA_CHALLENGE_LEVEL = "CHALLENGE_LEVEL";
+
     // UI Components
     private PreviewView previewView;
     private TextView repCounter;
     private TextView feedbackText;
     private TextView instructionText;
     private TextView timerText;
+    private TextView latencyHud;
+    private TrackingScreenBinder screenBinder;
     private PoseOverlayView poseOverlay;
     private LinearLayout permissionLayout;
     private Button requestPermissionButton;
@@ -60,8 +64,10 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
     private Button voiceButton;
 
     // Core Components
-    private PoseDetector poseDetector;
-    private ExerciseDetector exerciseDetector;
+    private PoseAnalysisPipeline analysisPipeline;
+    private ProcessCameraProvider cameraProvider;
+    private CameraSelector cameraSelector;
+    private ImageAnalysis imageAnalysis;
     private VoiceController voiceController;
     private AudioManager audioManager;
 
@@ -71,6 +77,24 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
     private int targetReps = 10;
     private boolean exerciseCompleted = false;
     private boolean isTrackingActive = false;
+    private long sessionStartMillis;
+
+    // Latency HUD
+    private static final long HUD_REFRESH_MS = 500;
+    private final Handler hudHandler = new Handler(Looper.getMainLooper());
+    private final Runnable hudRefresh = new Runnable() {
+        @Override
+        public void run() {
+            latencyHud.setText(analysisPipeline.getLatencies().formatHud()
+                    + "depth  inf " + analysisPipeline.getInferenceDepth()
+                    + "  det " + analysisPipeline.getDetectionDepth()
+                    + "  form " + analysisPipeline.getFormCheckDepth()
+                    + "  rec " + analysisPipeline.getRecordingDepth()
+                    + "  ovl " + analysisPipeline.getOverlayDepth()
+                    + "\n" + analysisPipeline.getAnalysisTierText());
+            hudHandler.postDelayed(this, HUD_REFRESH_MS);
+        }
+    };
 
     // Constants
     private static final String[] REQUIRED_PERMISSIONS = new String[]{"android.permission.CAMERA", "android.permission.RECORD_AUDIO"};
@@ -80,6 +104,7 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_exercise_tracking);
+        sessionStartMillis = System.currentTimeMillis();
 
         initializeViews();
         initializeComponents();
@@ -93,6 +118,8 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
         feedbackText = findViewById(R.id.feedbackText);
         instructionText = findViewById(R.id.instructionText);
         timerText = findViewById(R.id.timerText);
+        latencyHud = findViewById(R.id.latencyHud);
+        screenBinder = new TrackingScreenBinder(repCounter, timerText, feedbackText);
         poseOverlay = findViewById(R.id.poseOverlay);
         permissionLayout = findViewById(R.id.permission_layout);
         requestPermissionButton = findViewById(R.id.request_permission_button);
@@ -124,14 +151,20 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
     }
 
     private void initializeComponents() {
-        // Initialize pose detector
-        PoseDetectorOptions options = new PoseDetectorOptions.Builder()
-                .setDetectorMode(PoseDetectorOptions.STREAM_MODE)
-                .build();
-        poseDetector = PoseDetection.getClient(options);
-
-        // Initialize exercise detector
-        exerciseDetector = new ExerciseDetector(this, difficultyLevel, targetReps);
+        // Pose detection and exercise detection run on the analysis thread
+        analysisPipeline = new PoseAnalysisPipeline(this, difficultyLevel, targetReps, this::onSnapshot,
+                this::onPoseFrame);
+        previewView.addOnLayoutChangeListener((v, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) ->
+                analysisPipeline.setViewSize(right - left, bottom - top));
+        analysisPipeline.setOnResolutionChanged(this::rebindAnalysis);
+
+        repCounter.setOnLongClickListener(v -> {
+            toggleLatencyHud();
+            return true;
+        });
+        if (getIntent().getBooleanExtra("SHOW_LATENCY_HUD", false)) {
+            toggleLatencyHud();
+        }
 
         // Initialize voice controller
         voiceController = new VoiceController(this, this::onTrackingStateChanged);
@@ -155,7 +188,7 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
     }
 
     private void setupExerciseFromIntent() {
-        difficultyLevel = User.getDifficultyLevel(this);
+        difficultyLevel = resolveDifficulty();
 
         if (getIntent().hasExtra("EXERCISE_TYPE")) {
             exerciseType = getIntent().getStringExtra("EXERCISE_TYPE");
@@ -163,18 +196,33 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
         if (getIntent().hasExtra("MAX_PROGRESS")) {
             targetReps = getIntent().getIntExtra("MAX_PROGRESS", 10);
         }
+
+        analysisPipeline.updateExercise(exerciseType, difficultyLevel, targetReps);
+
+        // Debug aid: capture the session's landmarks so missed or double-counted reps can be replayed
+        if (getIntent().getBooleanExtra("RECORD_POSE_TRACE", false)) {
+            startPoseTraceRecording();
+        }
+    }
+
+    // A challenge level sets its own difficulty; free workouts follow the profile, which
+    // may have changed in settings while this screen was paused
+    private String resolveDifficulty() {
         if (getIntent().hasExtra("DIFFICULTY_LEVEL")) {
-            difficultyLevel = getIntent().getStringExtra("DIFFICULTY_LEVEL");
+            return getIntent().getStringExtra("DIFFICULTY_LEVEL");
         }
+        return User.getDifficultyLevel(this);
+    }
 
-        exerciseDetector.updateExercise(exerciseType, difficultyLevel, targetReps);
+    private void startPoseTraceRecording() {
+        analysisPipeline.startRecording(exerciseType, difficultyLevel, targetReps);
     }
 
     @Override
     protected void onResume() {
         super.onResume();
-        difficultyLevel = User.getDifficultyLevel(this);
-        exerciseDetector.updateExercise(exerciseType, difficultyLevel, targetReps);
+        difficultyLevel = resolveDifficulty();
+        analysisPipeline.updateExercise(exerciseType, difficultyLevel, targetReps);
         setupExerciseUI();
 
         if (allPermissionsGranted()) {
@@ -184,51 +232,28 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
 
     private void onTrackingStateChanged(boolean isActive) {
         isTrackingActive = isActive;
+        analysisPipeline.setTrackingActive(isActive);
         runOnUiThread(() -> {
             voiceButton.setText(isActive ? "🎤 Stop Tracking" : "🎤 Start Tracking");
-            feedbackText.setText(isActive ? "Tracking started! Get into position." : "Tracking stopped. Say 'Start' to resume.");
+            screenBinder.showFeedback(isActive ? "Tracking started! Get into position." : "Tracking stopped. Say 'Start' to resume.");
         });
     }
 
+    // Called after every updateExercise, which resets the detector's counters
     private void setupExerciseUI() {
         String difficultyText = "Difficulty: " + difficultyLevel.substring(0, 1).toUpperCase() + difficultyLevel.substring(1);
-
-        switch (exerciseType) {
-            case "squats":
-                instructionText.setText("Stand with feet shoulder-width apart\nBend your knees and lower your body\nKeep your back straight\n" + difficultyText);
-                repCounter.setVisibility(View.VISIBLE);
-                timerText.setVisibility(View.GONE);
-                repCounter.setText("Squat Reps: " + exerciseDetector.getCurrentReps() + "/" + targetReps);
-                audioManager.speak("Starting squats. " + difficultyText);
-                break;
-            case "pushups":
-                instructionText.setText("Start in plank position\nLower your body by bending elbows\nPush back up to starting position\n" + difficultyText);
-                repCounter.setVisibility(View.VISIBLE);
-                timerText.setVisibility(View.GONE);
-                repCounter.setText("Pushup Reps: " + exerciseDetector.getCurrentReps() + "/" + targetReps);
-                audioManager.speak("Starting push ups. " + difficultyText);
-                break;
-            case "plank":
-                instructionText.setText("Hold your body in a straight line\nKeep your core tight\nDon't let your hips sag\n" + difficultyText);
-                repCounter.setVisibility(View.GONE);
-                timerText.setVisibility(View.VISIBLE);
-                exerciseDetector.startPlankTimer();
-                audioManager.speak("Starting plank. Hold the position.");
-                break;
-            case "crunches":
-                instructionText.setText("Lie on your back\nLift shoulders off the ground\nControl down slowly\n" + difficultyText);
-                repCounter.setVisibility(View.VISIBLE);
-                timerText.setVisibility(View.GONE);
-                repCounter.setText("Crunch Reps: " + exerciseDetector.getCurrentReps() + "/" + targetReps);
-                audioManager.speak("Starting crunches. " + difficultyText);
-                break;
-            case "lunges":
-                instructionText.setText("Step forward\nLower until both knees are bent\nPush back to start\n" + difficultyText);
-                repCounter.setVisibility(View.VISIBLE);
-                timerText.setVisibility(View.GONE);
-                repCounter.setText("Lunge Reps: " + exerciseDetector.getCurrentReps() + "/" + targetReps);
-                audioManager.speak("Starting lunges. " + difficultyText);
-                break;
+        ExerciseDefinition exercise = ExerciseCatalog.defaults().find(exerciseType);
+
+        instructionText.setText(exercise.getInstructions() + "\n" + difficultyText);
+        screenBinder.setExercise(exercise.getDisplayName(), targetReps, exercise.isHold());
+        if (exercise.isHold()) {
+            repCounter.setVisibility(View.GONE);
+            timerText.setVisibility(View.VISIBLE);
+            audioManager.speak(exercise.getAnnouncement());
+        } else {
+            repCounter.setVisibility(View.VISIBLE);
+            timerText.setVisibility(View.GONE);
+            audioManager.speak(exercise.getAnnouncement() + " " + difficultyText);
         }
     }
 
@@ -279,18 +304,15 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
 
         cameraProviderFuture.addListener(() -> {
             try {
-                ProcessCameraProvider cameraProvider = cameraProviderFuture.get();
+                cameraProvider = cameraProviderFuture.get();
 
                 Preview preview = new Preview.Builder().build();
                 preview.setSurfaceProvider(previewView.getSurfaceProvider());
 
-                ImageAnalysis imageAnalysis = new ImageAnalysis.Builder()
-                        .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST)
-                        .build();
+                // Resolution and frame rate are chosen by the pipeline's governor
+                imageAnalysis = analysisPipeline.createImageAnalysis();
 
-                imageAnalysis.setAnalyzer(ContextCompat.getMainExecutor(this), this::analyzeImage);
-
-                CameraSelector cameraSelector = new CameraSelector.Builder()
+                cameraSelector = new CameraSelector.Builder()
                         .requireLensFacing(CameraSelector.LENS_FACING_FRONT)
                         .build();
 
@@ -303,85 +325,72 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
         }, ContextCompat.getMainExecutor(this));
     }
 
-    private void analyzeImage(@NonNull ImageProxy imageProxy) {
-        @SuppressWarnings("UnsafeOptInUsageError")
-        InputImage inputImage = InputImage.fromMediaImage(
-                imageProxy.getImage(),
-                imageProxy.getImageInfo().getRotationDegrees()
-        );
-
-        // Provide frame info to overlay for correct mapping
-        if (poseOverlay != null && imageProxy.getImage() != null) {
-            int imgW = imageProxy.getImage().getWidth();
-            int imgH = imageProxy.getImage().getHeight();
-            int rot = imageProxy.getImageInfo().getRotationDegrees();
-            boolean front = true; // we use front camera
-            poseOverlay.setFrameInfo(imgW, imgH, rot, front, previewView.getWidth(), previewView.getHeight());
+    // Swaps in an ImageAnalysis at the governor's new resolution; the preview stays bound
+    private void rebindAnalysis() {
+        if (cameraProvider == null || imageAnalysis == null || isFinishing()) {
+            return;
+        }
+        cameraProvider.unbind(imageAnalysis);
+        imageAnalysis.clearAnalyzer();
+        imageAnalysis = analysisPipeline.createImageAnalysis();
+        try {
+            cameraProvider.bindToLifecycle(this, cameraSelector, imageAnalysis);
+        } catch (IllegalArgumentException e) {
+            Log.e("ExerciseTracking", "Could not rebind image analysis: " + e.getMessage());
         }
-
-        poseDetector.process(inputImage)
-                .addOnSuccessListener(this::detectExercise)
-                .addOnFailureListener(e -> Log.e("PoseDetection", "Failed: " + e.getMessage()))
-                .addOnCompleteListener(task -> imageProxy.close());
     }
 
-    private void detectExercise(Pose pose) {
-        // Update pose overlay for joint visualization
-        if (poseOverlay != null) {
-            poseOverlay.setPose(pose);
-        }
+    // Main thread, once per vsync at most: apply the newest snapshot, skipping unchanged fields
+    private void onSnapshot(TrackingSnapshot snapshot) {
+        long startNanos = SystemClock.elapsedRealtimeNanos();
+        screenBinder.bind(snapshot);
 
-        // Check if tracking is active
-        if (!isTrackingActive) {
-            runOnUiThread(() -> feedbackText.setText("Say 'Start' to begin tracking"));
-            return;
-        }
-
-        // Check if we have enough body landmarks for accurate tracking
-        if (!exerciseDetector.hasEnoughBodyLandmarks(pose)) {
-            runOnUiThread(() -> feedbackText.setText("Please stand back to see your full body"));
-            return;
-        }
+        long now = SystemClock.elapsedRealtimeNanos();
+        StageLatencies latencies = analysisPipeline.getLatencies();
+        latencies.record(StageLatencies.RENDER, now - startNanos);
+        latencies.record(StageLatencies.UI, now - snapshot.postedNanos);
+        latencies.record(StageLatencies.END_TO_END, now - snapshot.frameArrivalNanos);
 
-        // Process exercise detection
-        exerciseDetector.processPose(pose, exerciseType);
-        
-        // Update UI based on exercise state
-        updateExerciseUI();
-        
         // Check if exercise is completed
-        if (exerciseDetector.isExerciseCompleted()) {
-            completeExercise();
+        if (snapshot.exerciseCompleted) {
+            completeExercise(snapshot);
         }
     }
 
-    private void updateExerciseUI() {
-        if (exerciseType.equals("plank")) {
-            runOnUiThread(() -> timerText.setText("Plank Time: " + exerciseDetector.getPlankTimeSeconds() + "s"));
+    private void toggleLatencyHud() {
+        if (latencyHud.getVisibility() == View.VISIBLE) {
+            hudHandler.removeCallbacks(hudRefresh);
+            latencyHud.setVisibility(View.GONE);
         } else {
-            runOnUiThread(() -> repCounter.setText(
-                exerciseType.substring(0, 1).toUpperCase() + exerciseType.substring(1) + 
-                " Reps: " + exerciseDetector.getCurrentReps() + "/" + targetReps
-            ));
+            latencyHud.setVisibility(View.VISIBLE);
+            hudHandler.post(hudRefresh);
         }
-        
-        // Update feedback text
-        runOnUiThread(() -> feedbackText.setText(exerciseDetector.getFeedbackText()));
     }
 
-    private void completeExercise() {
+    // Main thread: newest pose for joint visualization; the overlay retains what it keeps
+    private void onPoseFrame(PoseFrame frame, int imageWidth, int imageHeight, int rotationDegrees,
+                             boolean isFrontFacing, int viewWidth, int viewHeight) {
+        if (poseOverlay != null) {
+            poseOverlay.setFrameInfo(imageWidth, imageHeight, rotationDegrees, isFrontFacing, viewWidth, viewHeight);
+            poseOverlay.setPoseFrame(frame);
+        }
+    }
+
+    private void completeExercise(TrackingSnapshot snapshot) {
         if (exerciseCompleted) return;
 
         exerciseCompleted = true;
         final String message;
-        if (exerciseType.equals("plank")) {
-            long seconds = exerciseDetector.getPlankTimeSeconds();
-            message = "Plank completed! " + seconds + " seconds held.";
+        if (snapshot.isHold) {
+            long seconds = snapshot.holdTimeSeconds;
+            String name = ExerciseCatalog.defaults().find(snapshot.exerciseType).getDisplayName();
+            message = name + " completed! " + seconds + " seconds held.";
         } else {
-            message = "Exercise completed! " + exerciseDetector.getCurrentReps() + " reps done.";
+            message = "Exercise completed! " + snapshot.currentReps + " reps done.";
         }
 
-        runOnUiThread(() -> feedbackText.setText("🎉 " + message));
+        advanceChallenge();
+        screenBinder.showFeedback("🎉 " + message);
         audioManager.speak(message);
         Toast.makeText(this, message, Toast.LENGTH_LONG).show();
 
@@ -394,11 +403,28 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
         }, 2000);
     }
 
+    // Replaying an already beaten level never moves progress
+    private void advanceChallenge() {
+        int level = getIntent().getIntExtra(EXTRA_CHALLENGE_LEVEL, 0);
+        ProfileRepository profiles = ProfileRepository.getInstance(this);
+        UserProfile profile = profiles.getProfile();
+        if (level > 0 && level == profile.getChallengeLevel()) {
+            profiles.edit().setChallengeLevel(level + 1).apply();
+            // Leaderboard score is levels beaten
+            if (profile.getUsername() != null) {
+                LeaderboardRepository.getInstance(this).submitScore(profile.getUsername(), level);
+            }
+        }
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (poseDetector != null) {
-            poseDetector.close();
+        hudHandler.removeCallbacks(hudRefresh);
+        if (analysisPipeline != null) {
+            // One table per session so devices and builds can be compared offline
+            analysisPipeline.writeLatencySummary(exerciseType + "-" + sessionStartMillis + ".tsv", exerciseType);
+            analysisPipeline.shutdown();
         }
         if (voiceController != null) {
             voiceController.destroy();
@@ -406,8 +432,5 @@ public class ExerciseTrackingActivity extends AppCompatActivity {
         if (audioManager != null) {
             audioManager.destroy();
         }
-        if (exerciseDetector != null) {
-            exerciseDetector.destroy();
-        }
     }
 }
@@ -0,0 +1,54 @@
+package com.example.fitquest;
+
+import android.app.Application;
+import android.os.StrictMode;
+import android.util.Log;
+
+import java.io.IOException;
+
+public class FitQuestApplication extends Application {
+
+    private static final String TAG = "FitQuestApplication";
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Debug builds log every disk access and leaked closeable on the main thread, so
+        // regressions show up in logcat under "StrictMode"
+        if (BuildConfig.DEBUG) {
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .penaltyLog()
+                    .build());
+            StrictMode.setVmPolicy(new StrictMode.VmPolicy.Builder()
+                    .detectLeakedClosableObjects()
+                    .detectLeakedSqlLiteObjects()
+                    .penaltyLog()
+                    .build());
+        }
+
+        // Starts the profile load now so it is in memory before the first screen asks
+        ProfileRepository.getInstance(this);
+
+        // Close any workout session a crash left open, off the main thread, and credit its
+        // work to quest progress
+        new Thread(() -> {
+            try {
+                int closed = SessionJournal.recoverIfNeeded(SessionJournal.defaultFile(getFilesDir()),
+                        QuestProgressStore.getInstance(this));
+                if (closed > 0) {
+                    Log.i(TAG, "Recovered " + closed + " unfinished workout session(s)");
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "Session journal recovery failed: " + e.getMessage());
+            }
+        }, "journal-recovery").start();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        BitmapLoader.getInstance(this).onTrimMemory(level);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.fitquest;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Recycling adapter for the friends popup. Pages are appended by submitting the longer
+ * list; rows are diffed by friend id, so only the new rows are bound.
+ */
+class FriendAdapter extends ListAdapter<FriendItem, FriendAdapter.Holder> {
+
+    private static final DiffUtil.ItemCallback<FriendItem> DIFF = new DiffUtil.ItemCallback<FriendItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull FriendItem oldItem, @NonNull FriendItem newItem) {
+            return oldItem.id == newItem.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull FriendItem oldItem, @NonNull FriendItem newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    FriendAdapter() {
+        super(DIFF);
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).id;
+    }
+
+    @NonNull
+    @Override
+    public Holder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.friends_items, parent, false);
+        return new Holder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull Holder holder, int position) {
+        holder.bind(getItem(position));
+    }
+
+    static final class Holder extends RecyclerView.ViewHolder {
+
+        private final TextView nameText;
+        private final TextView levelText;
+        private final TextView teamText;
+
+        Holder(View view) {
+            super(view);
+            nameText = view.findViewById(R.id.friend_name);
+            levelText = view.findViewById(R.id.friend_level);
+            teamText = view.findViewById(R.id.friend_team);
+        }
+
+        void bind(FriendItem friend) {
+            nameText.setText(friend.name);
+            levelText.setText("LVL. " + friend.level);
+            teamText.setText(friend.team);
+        }
+    }
+}
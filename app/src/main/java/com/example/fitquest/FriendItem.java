@@ -0,0 +1,33 @@
+package com.example.fitquest;
+
+// One row of the friends list. Immutable, so the list adapter can diff old and new rows.
+final class FriendItem {
+
+    final long id;
+    final String name;
+    final int level;
+    final String team;
+
+    FriendItem(long id, String name, int level, String team) {
+        this.id = id;
+        this.name = name;
+        this.level = level;
+        this.team = team;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FriendItem)) return false;
+        FriendItem other = (FriendItem) o;
+        return id == other.id
+                && level == other.level
+                && name.equals(other.name)
+                && team.equals(other.team);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+}
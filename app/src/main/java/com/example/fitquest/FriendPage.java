@@ -0,0 +1,42 @@
+package com.example.fitquest;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// One page of GET /friends, as served by :stub-server's FriendsHandler
+final class FriendPage {
+
+    final List<FriendItem> friends;
+    // Null on the last page
+    final String nextCursor;
+    final int total;
+
+    private FriendPage(List<FriendItem> friends, String nextCursor, int total) {
+        this.friends = friends;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    static FriendPage parse(String json) throws IOException {
+        try {
+            JSONObject root = new JSONObject(json);
+            JSONArray array = root.getJSONArray("friends");
+            List<FriendItem> friends = new ArrayList<>(array.length());
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject friend = array.getJSONObject(i);
+                friends.add(new FriendItem(friend.getLong("id"), friend.getString("name"),
+                        friend.getInt("level"), friend.getString("team")));
+            }
+            String next = root.isNull("next_cursor") ? null : root.getString("next_cursor");
+            return new FriendPage(Collections.unmodifiableList(friends), next, root.getInt("total"));
+        } catch (JSONException e) {
+            throw new IOException("Bad friends page: " + e.getMessage(), e);
+        }
+    }
+}
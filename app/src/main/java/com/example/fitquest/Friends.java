@@ -2,20 +2,42 @@ package com.example.fitquest;
 
 import android.app.Dialog;
 import android.content.Context;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.Window;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 
-public class Friends {
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Friends popup. The list is paged from {@link FriendsRepository}: the first page loads on
+ * first show, and the next is requested while the user is still half a page from the end,
+ * so scrolling rarely reaches an unloaded row.
+ */
+public class Friends implements HomePopup {
+
+    // Rows from the end at which the next page is requested
+    private static final int PREFETCH_DISTANCE = FriendsRepository.PAGE_SIZE / 2;
 
     private final Dialog dialog;
+    private final FriendsRepository repository;
+    private final FriendAdapter adapter = new FriendAdapter();
+    private final LinearLayoutManager layoutManager;
+    private final TextView countText;
+
+    // Main thread only
+    private final List<FriendItem> friends = new ArrayList<>();
+    private String nextCursor;
+    private boolean loading = false;
+    private boolean reachedEnd = false;
 
-    public Friends(Context context) {
-        // Inflate the friends layout
-        LayoutInflater inflater = LayoutInflater.from(context);
-        View popupView = inflater.inflate(R.layout.friends, null);
+    public Friends(Context context, View popupView) {
+        repository = FriendsRepository.getInstance(context);
 
         // Set up the dialog
         dialog = new Dialog(context);
@@ -24,29 +46,66 @@ public class Friends {
         dialog.setCancelable(true);
         dialog.getWindow().setBackgroundDrawableResource(android.R.color.transparent);
 
-        // Find the container for friend items
-        LinearLayout friendList = popupView.findViewById(R.id.friends_list);
+        countText = popupView.findViewById(R.id.friends_count);
 
-        // Sample data
-        String[][] sampleFriends = {
-                {"TRIPPI", "LVL. 99", "SPARTAN"},
-                {"TRALALELO", "LVL. 99", "IMMORTALS"},
-                {"TUNGSAHUR", "LVL. 99", "HOPLITES"}
-        };
-
-        // Populate the list
-        for (String[] friend : sampleFriends) {
-            View friendItem = inflater.inflate(R.layout.friends_items, friendList, false);
-
-            ((TextView) friendItem.findViewById(R.id.friend_name)).setText(friend[0]);
-            ((TextView) friendItem.findViewById(R.id.friend_level)).setText(friend[1]);
-            ((TextView) friendItem.findViewById(R.id.friend_team)).setText(friend[2]);
+        RecyclerView friendList = popupView.findViewById(R.id.friends_list);
+        layoutManager = new LinearLayoutManager(context);
+        friendList.setLayoutManager(layoutManager);
+        friendList.setHasFixedSize(true);
+        friendList.setAdapter(adapter);
+        friendList.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= friends.size() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+    }
 
-            friendList.addView(friendItem);
+    private void loadNextPage() {
+        if (loading || reachedEnd) {
+            return;
         }
+        loading = true;
+        repository.loadPage(nextCursor, new FriendsRepository.PageCallback() {
+            @Override
+            public void onPage(FriendPage page) {
+                loading = false;
+                friends.addAll(page.friends);
+                nextCursor = page.nextCursor;
+                reachedEnd = page.nextCursor == null;
+                countText.setText(page.total + " FRIENDS");
+                // ListAdapter diffs against the list it holds, so it gets a copy
+                adapter.submitList(new ArrayList<>(friends));
+            }
+
+            @Override
+            public void onError(IOException error) {
+                // The next scroll or show tries again
+                loading = false;
+                if (friends.isEmpty()) {
+                    countText.setText("Friends are offline");
+                }
+            }
+        });
     }
 
+    @Override
     public void show() {
+        if (friends.isEmpty()) {
+            loadNextPage();
+        }
         dialog.show();
     }
+
+    @Override
+    public void dismiss() {
+        dialog.dismiss();
+    }
+
+    @Override
+    public boolean isShowing() {
+        return dialog.isShowing();
+    }
 }
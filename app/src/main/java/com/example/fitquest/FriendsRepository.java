@@ -0,0 +1,146 @@
+package com.example.fitquest;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fetches the friend list a cursor page at a time from the friends service through
+ * {@link ServiceClient}.
+ *
+ * Pages are fetched one at a time on a background thread and the last few are kept on
+ * disk. A page cached less than {@link #FRESH_MS} ago is served without a request, so
+ * reopening the popup costs nothing, and an older one is still served when the service
+ * cannot be reached.
+ */
+public final class FriendsRepository {
+
+    interface PageCallback {
+        void onPage(FriendPage page);
+        void onError(IOException error);
+    }
+
+    static final int PAGE_SIZE = 20;
+
+    private static final String TAG = "FriendsRepository";
+    private static final long FRESH_MS = 5 * 60_000L;
+    private static final int MAX_CACHED_PAGES = 10;
+
+    private static FriendsRepository instance;
+
+    public static synchronized FriendsRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new FriendsRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final File cacheDir;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // One thread: pages are requested in order and the cache is only touched here
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "friends-fetch"));
+
+    private FriendsRepository(Context appContext) {
+        this.cacheDir = new File(appContext.getCacheDir(), "friends");
+    }
+
+    /**
+     * Loads the page after {@code cursor}, or the first page when it is null, and hands it
+     * to {@code callback} on the main thread.
+     */
+    void loadPage(String cursor, PageCallback callback) {
+        executor.execute(() -> {
+            try {
+                FriendPage page = load(cursor);
+                mainHandler.post(() -> callback.onPage(page));
+            } catch (IOException e) {
+                Log.w(TAG, "Cannot load friends page: " + e.getMessage());
+                mainHandler.post(() -> callback.onError(e));
+            }
+        });
+    }
+
+    // Fetch thread
+    private FriendPage load(String cursor) throws IOException {
+        File cached = cacheFile(cursor);
+        if (cached.isFile() && System.currentTimeMillis() - cached.lastModified() < FRESH_MS) {
+            try {
+                return FriendPage.parse(ServiceClient.readFully(new FileInputStream(cached)));
+            } catch (IOException e) {
+                // Damaged entry; fetch it again
+                cached.delete();
+            }
+        }
+        try {
+            String json = fetch(cursor);
+            FriendPage page = FriendPage.parse(json);
+            writeCache(cached, json);
+            return page;
+        } catch (IOException e) {
+            if (cached.isFile()) {
+                return FriendPage.parse(ServiceClient.readFully(new FileInputStream(cached)));
+            }
+            throw e;
+        }
+    }
+
+    private String fetch(String cursor) throws IOException {
+        String path = "/friends?limit=" + PAGE_SIZE;
+        if (cursor != null) {
+            path += "&cursor=" + URLEncoder.encode(cursor, "UTF-8");
+        }
+        return ServiceClient.request("GET", path);
+    }
+
+    // Cursors are opaque, so they are escaped rather than trusted as file names
+    private File cacheFile(String cursor) throws IOException {
+        String name = cursor == null ? "first" : "after-" + URLEncoder.encode(cursor, "UTF-8");
+        return new File(cacheDir, name + ".json");
+    }
+
+    private void writeCache(File file, String json) {
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            Log.w(TAG, "Cannot create " + cacheDir);
+            return;
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(temp)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            Log.w(TAG, "Could not cache " + file.getName() + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            return;
+        }
+        trimCache();
+    }
+
+    // Keeps the most recently written pages
+    private void trimCache() {
+        File[] files = cacheDir.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null || files.length <= MAX_CACHED_PAGES) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = MAX_CACHED_PAGES; i < files.length; i++) {
+            files[i].delete();
+        }
+    }
+}
@@ -2,36 +2,26 @@ package com.example.fitquest;
 
 import android.app.Dialog;
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.Window;
 import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.Toast;
 
-public class Gear {
+public class Gear implements HomePopup {
+    private final Context context;
     private final Dialog dialog;
+    private final ImageView avatarImage;
 
-    private static final String PREF_NAME = "FitQuestPrefs";
-    private static final String KEY_GENDER = "gender"; // "male" or "female"
-
-    public Gear(Context context) {
-        LayoutInflater inflater = LayoutInflater.from(context);
-        View popupView = inflater.inflate(R.layout.gear, null);
-
+    public Gear(Context context, View popupView) {
+        this.context = context;
         dialog = new Dialog(context);
         dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
         dialog.setContentView(popupView);
         dialog.setCancelable(true);
         dialog.getWindow().setBackgroundDrawableResource(android.R.color.transparent);
 
-        // Set avatar image from saved gender
-        ImageView avatarImage = popupView.findViewById(R.id.avatar_image);
-        SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        String gender = prefs.getString(KEY_GENDER, "male");
-        int drawableId = "female".equalsIgnoreCase(gender) ? R.drawable.female : R.drawable.male2;
-        avatarImage.setImageResource(drawableId);
+        avatarImage = popupView.findViewById(R.id.avatar_image);
 
         Button btnWeapon = popupView.findViewById(R.id.btn_weapon);
         Button btnArmor = popupView.findViewById(R.id.btn_armor);
@@ -52,7 +42,21 @@ public class Gear {
         Toast.makeText(context, msg, Toast.LENGTH_SHORT).show();
     }
 
+    @Override
     public void show() {
+        // Set avatar image from the saved avatar
+        AvatarCompositor.getInstance(context).into(avatarImage,
+                ProfileRepository.getInstance(context).getProfile().getAvatar());
         dialog.show();
     }
+
+    @Override
+    public void dismiss() {
+        dialog.dismiss();
+    }
+
+    @Override
+    public boolean isShowing() {
+        return dialog.isShowing();
+    }
 }
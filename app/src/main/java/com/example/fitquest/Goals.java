@@ -10,7 +10,7 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
-public class Goals {
+public class Goals implements HomePopup {
 
     private final Dialog dialog;
     private final LinearLayout goalsList;
@@ -28,11 +28,7 @@ public class Goals {
             "Complete 100,000 Steps"
     };
 
-    public Goals(Context context) {
-        // Inflate layout
-        LayoutInflater inflater = LayoutInflater.from(context);
-        View view = inflater.inflate(R.layout.goals, null);
-
+    public Goals(Context context, View view) {
         // Dialog setup
         dialog = new Dialog(context);
         dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
@@ -64,7 +60,18 @@ public class Goals {
         }
     }
 
+    @Override
     public void show() {
         dialog.show();
     }
+
+    @Override
+    public void dismiss() {
+        dialog.dismiss();
+    }
+
+    @Override
+    public boolean isShowing() {
+        return dialog.isShowing();
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.fitquest;
+
+// A home-screen popup that is built once and shown many times. Main thread only.
+interface HomePopup {
+
+    // Rebinds whatever may have changed since the popup was built, then shows it
+    void show();
+
+    void dismiss();
+
+    boolean isShowing();
+}
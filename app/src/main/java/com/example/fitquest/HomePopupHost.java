@@ -0,0 +1,95 @@
+package com.example.fitquest;
+
+import android.app.Activity;
+import android.content.ComponentCallbacks2;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
+
+/**
+ * Owns MainActivity's popups for the activity's lifetime.
+ *
+ * Each popup is registered by its layout. {@link #preinflate()} inflates every layout not
+ * yet built on a background thread and builds the popup when its view arrives, so a tap
+ * only rebinds data and shows the window. A tap that beats its inflation builds the popup
+ * synchronously instead, and the late view is dropped. Under memory pressure the hidden
+ * popups are released and rebuilt on demand.
+ */
+final class HomePopupHost {
+
+    interface Factory {
+        HomePopup create(Activity activity, View view);
+    }
+
+    private final Activity activity;
+    private final AsyncLayoutInflater asyncInflater;
+    private final SparseArray<Factory> factories = new SparseArray<>();
+    private final SparseArray<HomePopup> popups = new SparseArray<>();
+    private final SparseBooleanArray inflating = new SparseBooleanArray();
+    private boolean destroyed = false;
+
+    HomePopupHost(Activity activity) {
+        this.activity = activity;
+        this.asyncInflater = new AsyncLayoutInflater(activity);
+    }
+
+    void register(int layoutId, Factory factory) {
+        factories.put(layoutId, factory);
+    }
+
+    // Queues background inflation for every popup not built or already queued
+    void preinflate() {
+        for (int i = 0; i < factories.size(); i++) {
+            int layoutId = factories.keyAt(i);
+            if (popups.get(layoutId) != null || inflating.get(layoutId)) {
+                continue;
+            }
+            inflating.put(layoutId, true);
+            asyncInflater.inflate(layoutId, null, (view, resid, parent) -> {
+                inflating.delete(resid);
+                if (!destroyed && popups.get(resid) == null) {
+                    popups.put(resid, factories.get(resid).create(activity, view));
+                }
+            });
+        }
+    }
+
+    void show(int layoutId) {
+        HomePopup popup = popups.get(layoutId);
+        if (popup == null) {
+            View view = LayoutInflater.from(activity).inflate(layoutId, null);
+            popup = factories.get(layoutId).create(activity, view);
+            popups.put(layoutId, popup);
+        }
+        popup.show();
+    }
+
+    // From ComponentCallbacks2.onTrimMemory
+    void onTrimMemory(int level) {
+        // UI_HIDDEN alone just means the user left; keep the popups for their return
+        boolean lowWhileRunning = level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                && level < ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN;
+        if (lowWhileRunning || level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            releaseHidden();
+        }
+    }
+
+    private void releaseHidden() {
+        for (int i = popups.size() - 1; i >= 0; i--) {
+            if (!popups.valueAt(i).isShowing()) {
+                popups.removeAt(i);
+            }
+        }
+    }
+
+    void destroy() {
+        destroyed = true;
+        for (int i = 0; i < popups.size(); i++) {
+            popups.valueAt(i).dismiss();
+        }
+        popups.clear();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.fitquest;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.os.Bundle;
+
+/**
+ * Launcher entry point. Picks the first real screen from the preloaded profile and hands
+ * off before anything is inflated; it has no window of its own (Theme.NoDisplay), so new
+ * users go straight to account creation instead of through the home screen.
+ */
+public class LauncherActivity extends Activity {
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        UserProfile profile = ProfileRepository.getInstance(this).getProfile();
+
+        Class<? extends Activity> destination;
+        if (!profile.hasAccount()) {
+            StartupTrace.beginRoute(StartupTrace.ROUTE_ACCOUNT);
+            destination = AccountCreation.class;
+        } else if (!profile.isAvatarCreated()) {
+            StartupTrace.beginRoute(StartupTrace.ROUTE_AVATAR);
+            destination = AvatarCreationActivity.class;
+        } else {
+            StartupTrace.beginRoute(StartupTrace.ROUTE_HOME);
+            destination = MainActivity.class;
+        }
+        startActivity(new Intent(this, destination));
+        finish();
+        overridePendingTransition(0, 0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.fitquest;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+
+/**
+ * The player's place on the leaderboard service (:leaderboard behind :stub-server).
+ *
+ * The score is the number of challenge levels beaten. Requests run on one background
+ * thread, in order, so a rank asked for after a submission reflects it.
+ */
+public final class LeaderboardRepository {
+
+    /** Passed to rank callbacks when the player has no score or the service is unreachable. */
+    static final int UNRANKED = 0;
+
+    private static final String TAG = "LeaderboardRepository";
+
+    private static LeaderboardRepository instance;
+
+    public static synchronized LeaderboardRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new LeaderboardRepository();
+        }
+        return instance;
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "leaderboard-fetch"));
+
+    private LeaderboardRepository() {}
+
+    /** Records the player's score; failures are logged, and the next submission corrects it. */
+    void submitScore(String player, long score) {
+        executor.execute(() -> {
+            try {
+                ServiceClient.request("POST", "/leaderboard/score?player=" + encode(player) + "&score=" + score);
+            } catch (IOException e) {
+                Log.w(TAG, "Cannot submit score: " + e.getMessage());
+            }
+        });
+    }
+
+    /** Hands the player's 1-based rank, or {@link #UNRANKED}, to {@code onRank} on the main thread. */
+    void fetchRank(String player, IntConsumer onRank) {
+        executor.execute(() -> {
+            int rank = UNRANKED;
+            try {
+                String json = ServiceClient.request("GET", "/leaderboard/rank?player=" + encode(player));
+                rank = new JSONObject(json).getInt("rank");
+            } catch (ServiceClient.HttpStatusException e) {
+                // 404: no score yet
+                if (e.status != 404) {
+                    Log.w(TAG, "Cannot fetch rank: " + e.getMessage());
+                }
+            } catch (IOException | JSONException e) {
+                Log.w(TAG, "Cannot fetch rank: " + e.getMessage());
+            }
+            int result = rank;
+            mainHandler.post(() -> onRank.accept(result));
+        });
+    }
+
+    private static String encode(String player) throws IOException {
+        return URLEncoder.encode(player, "UTF-8");
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.fitquest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The challenge levels, parsed from assets/levels.bin (written by :app:packLevels from
+ * src/main/levels/levels.csv) into flat tables. Levels are numbered from 1.
+ *
+ * A level costs 4 bytes on disk and in memory, so thousands of levels load in one small
+ * read and any level is an array index away.
+ */
+public final class LevelCatalog {
+
+    static final LevelCatalog EMPTY = new LevelCatalog(new String[0], new byte[0], new byte[0], new char[0]);
+
+    private static final int MAGIC = ('F' << 24) | ('Q' << 16) | ('L' << 8) | 'V';
+    private static final int VERSION = 1;
+
+    private final String[] exerciseNames;
+    private final byte[] exercise;
+    private final byte[] difficulty;
+    // Unsigned 16-bit targets
+    private final char[] target;
+
+    private LevelCatalog(String[] exerciseNames, byte[] exercise, byte[] difficulty, char[] target) {
+        this.exerciseNames = exerciseNames;
+        this.exercise = exercise;
+        this.difficulty = difficulty;
+        this.target = target;
+    }
+
+    static LevelCatalog parse(ByteBuffer in) throws IOException {
+        try {
+            if (in.getInt() != MAGIC || in.get() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " level file");
+            }
+            String[] names = new String[in.get() & 0xFF];
+            for (int i = 0; i < names.length; i++) {
+                byte[] utf8 = new byte[in.get() & 0xFF];
+                in.get(utf8);
+                names[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            int count = in.getInt();
+            if (count < 0 || count * 4L > in.remaining()) {
+                throw new IOException("Level file truncated");
+            }
+            byte[] exercise = new byte[count];
+            byte[] difficulty = new byte[count];
+            char[] target = new char[count];
+            for (int i = 0; i < count; i++) {
+                exercise[i] = in.get();
+                difficulty[i] = in.get();
+                target[i] = in.getChar();
+                if ((exercise[i] & 0xFF) >= names.length) {
+                    throw new IOException("Level " + (i + 1) + " names no exercise");
+                }
+            }
+            return new LevelCatalog(names, exercise, difficulty, target);
+        } catch (RuntimeException e) {
+            // Buffer underflow from a short file
+            throw new IOException("Level file truncated", e);
+        }
+    }
+
+    public int getLevelCount() {
+        return target.length;
+    }
+
+    public String getExerciseType(int level) {
+        return exerciseNames[exercise[level - 1] & 0xFF];
+    }
+
+    // A com.example.fitquest.pose.Difficulty index
+    public int getDifficulty(int level) {
+        return difficulty[level - 1];
+    }
+
+    // Reps, or seconds for holds
+    public int getTarget(int level) {
+        return target[level - 1];
+    }
+}
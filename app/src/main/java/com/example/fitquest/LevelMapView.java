@@ -0,0 +1,366 @@
+package com.example.fitquest;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.util.AttributeSet;
+import android.view.GestureDetector;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.OverScroller;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import java.util.List;
+
+/**
+ * Scrolling grid of challenge levels, drawn directly rather than one Button per level.
+ *
+ * The view scrolls itself and draws only the rows inside its viewport, so the cost of a
+ * frame depends on the view's height, not the level count, and jumping to the current
+ * level is just setting the scroll offset. Cells reuse the three bg_challenge_*
+ * drawables, re-bounded per cell.
+ *
+ * For TalkBack and D-pad users the visible cells are exposed as virtual views, one per
+ * level with its number, state and a click action; keyboard focus scrolls its cell into view.
+ */
+public class LevelMapView extends View {
+
+    public interface OnLevelClickListener {
+        void onLevelClick(int level);
+    }
+
+    private static final int COLUMNS = 5;
+    private static final float MAX_CELL_DP = 56f;
+    private static final float GAP_DP = 8f;
+
+    private final OverScroller scroller;
+    private final GestureDetector gestures;
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint focusPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Rect cellRect = new Rect();
+    private final LevelAccessibility accessibility;
+    private final Drawable unlockedCell;
+    private final Drawable currentCell;
+    private final Drawable lockedCell;
+    private final float gap;
+
+    private int levelCount = 0;
+    private int currentLevel = 1;
+    private int pressedLevel = 0;
+    private OnLevelClickListener listener;
+
+    // Layout, from onSizeChanged
+    private float cellSize;
+    private float rowHeight;
+    private float leftInset;
+
+    public LevelMapView(Context context) {
+        this(context, null);
+    }
+
+    public LevelMapView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        float density = getResources().getDisplayMetrics().density;
+        gap = GAP_DP * density;
+        scroller = new OverScroller(context);
+        gestures = new GestureDetector(context, new Gestures());
+        unlockedCell = ContextCompat.getDrawable(context, R.drawable.bg_challenge_unlocked);
+        currentCell = ContextCompat.getDrawable(context, R.drawable.bg_challenge_current);
+        lockedCell = ContextCompat.getDrawable(context, R.drawable.bg_challenge_locked);
+        textPaint.setColor(Color.WHITE);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        focusPaint.setColor(Color.WHITE);
+        focusPaint.setStyle(Paint.Style.STROKE);
+        focusPaint.setStrokeWidth(2 * density);
+        setVerticalScrollBarEnabled(true);
+        setFocusable(true);
+        accessibility = new LevelAccessibility();
+        ViewCompat.setAccessibilityDelegate(this, accessibility);
+    }
+
+    public void setOnLevelClickListener(OnLevelClickListener listener) {
+        this.listener = listener;
+    }
+
+    public void setLevelCount(int levelCount) {
+        this.levelCount = levelCount;
+        scrollToLevel(currentLevel);
+        accessibility.invalidateRoot();
+    }
+
+    // Levels below current are unlocked, above it locked
+    public void setCurrentLevel(int currentLevel) {
+        this.currentLevel = currentLevel;
+        scrollToLevel(currentLevel);
+        accessibility.invalidateRoot();
+    }
+
+    // Puts the level's row in the middle of the viewport, or as near as the ends allow
+    private void scrollToLevel(int level) {
+        scroller.forceFinished(true);
+        if (rowHeight > 0) {
+            int row = (Math.max(1, Math.min(level, levelCount)) - 1) / COLUMNS;
+            float rowCentre = getPaddingTop() + row * rowHeight + rowHeight / 2f;
+            scrollTo(0, clampScroll(Math.round(rowCentre - getHeight() / 2f)));
+        }
+        invalidate();
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        float contentWidth = w - getPaddingLeft() - getPaddingRight();
+        float maxCell = MAX_CELL_DP * getResources().getDisplayMetrics().density;
+        cellSize = Math.min(maxCell, (contentWidth - gap * (COLUMNS - 1)) / COLUMNS);
+        rowHeight = cellSize + gap;
+        leftInset = getPaddingLeft() + (contentWidth - (cellSize * COLUMNS + gap * (COLUMNS - 1))) / 2f;
+        textPaint.setTextSize(cellSize * 0.35f);
+        scrollToLevel(currentLevel);
+    }
+
+    private int rowCount() {
+        return (levelCount + COLUMNS - 1) / COLUMNS;
+    }
+
+    private int maxScroll() {
+        float content = getPaddingTop() + rowCount() * rowHeight - gap + getPaddingBottom();
+        return Math.max(0, Math.round(content - getHeight()));
+    }
+
+    private int clampScroll(int y) {
+        return Math.max(0, Math.min(y, maxScroll()));
+    }
+
+    private int firstVisibleRow() {
+        return Math.max(0, (int) ((getScrollY() - getPaddingTop()) / rowHeight));
+    }
+
+    private int lastVisibleRow() {
+        return Math.min(rowCount() - 1, (int) ((getScrollY() + getHeight() - getPaddingTop()) / rowHeight));
+    }
+
+    // Bounds of a level's cell in content coordinates
+    private void cellBounds(int level, Rect out) {
+        int row = (level - 1) / COLUMNS;
+        int column = (level - 1) % COLUMNS;
+        int left = Math.round(leftInset + column * (cellSize + gap));
+        int top = Math.round(getPaddingTop() + row * rowHeight);
+        out.set(left, top, left + Math.round(cellSize), top + Math.round(cellSize));
+    }
+
+    private void performLevelClick(int level) {
+        if (level != 0 && level <= currentLevel && listener != null) {
+            playSoundEffect(SoundEffectConstants.CLICK);
+            accessibility.sendEventForVirtualView(level, AccessibilityEvent.TYPE_VIEW_CLICKED);
+            listener.onLevelClick(level);
+        }
+    }
+
+    private static String describeLevel(int level, int currentLevel) {
+        String state = level < currentLevel ? "completed" : level == currentLevel ? "current" : "locked";
+        return "Level " + level + ", " + state;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (levelCount == 0 || rowHeight <= 0) {
+            return;
+        }
+        int firstRow = firstVisibleRow();
+        int lastRow = lastVisibleRow();
+        int focusedLevel = accessibility.getKeyboardFocusedVirtualViewId();
+        float textOffset = (textPaint.descent() + textPaint.ascent()) / 2f;
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                int level = row * COLUMNS + column + 1;
+                if (level > levelCount) {
+                    break;
+                }
+                cellBounds(level, cellRect);
+                Drawable cell = level < currentLevel ? unlockedCell
+                        : level == currentLevel ? currentCell : lockedCell;
+                cell.setState(level == pressedLevel ? PRESSED_ENABLED_STATE_SET : ENABLED_STATE_SET);
+                cell.setBounds(cellRect);
+                cell.draw(canvas);
+                if (level == focusedLevel) {
+                    canvas.drawRect(cellRect, focusPaint);
+                }
+                textPaint.setAlpha(level > currentLevel ? 110 : 255);
+                canvas.drawText(Integer.toString(level), cellRect.exactCenterX(), cellRect.exactCenterY() - textOffset, textPaint);
+            }
+        }
+    }
+
+    // Level under a point in view coordinates, or 0
+    private int levelAt(float x, float y) {
+        float contentY = y + getScrollY() - getPaddingTop();
+        float contentX = x - leftInset;
+        if (contentX < 0 || contentY < 0) {
+            return 0;
+        }
+        int row = (int) (contentY / rowHeight);
+        int column = (int) (contentX / (cellSize + gap));
+        boolean inCell = contentY - row * rowHeight < cellSize && contentX - column * (cellSize + gap) < cellSize;
+        int level = row * COLUMNS + column + 1;
+        return inCell && column < COLUMNS && level <= levelCount ? level : 0;
+    }
+
+    @Override
+    protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+        super.onScrollChanged(l, t, oldl, oldt);
+        // Virtual views are the visible cells, so scrolling changes the set
+        accessibility.invalidateRoot();
+    }
+
+    @Override
+    public boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibility.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibility.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibility.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        boolean handled = gestures.onTouchEvent(event);
+        int action = event.getActionMasked();
+        if ((action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) && pressedLevel != 0) {
+            pressedLevel = 0;
+            invalidate();
+        }
+        return handled || super.onTouchEvent(event);
+    }
+
+    @Override
+    public void computeScroll() {
+        if (scroller.computeScrollOffset()) {
+            scrollTo(0, scroller.getCurrY());
+            postInvalidateOnAnimation();
+        }
+    }
+
+    @Override
+    protected int computeVerticalScrollRange() {
+        return maxScroll() + getHeight();
+    }
+
+    private final class Gestures extends GestureDetector.SimpleOnGestureListener {
+
+        @Override
+        public boolean onDown(MotionEvent e) {
+            scroller.forceFinished(true);
+            int level = levelAt(e.getX(), e.getY());
+            pressedLevel = level <= currentLevel ? level : 0;
+            invalidate();
+            return true;
+        }
+
+        @Override
+        public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+            pressedLevel = 0;
+            getParent().requestDisallowInterceptTouchEvent(true);
+            scrollTo(0, clampScroll(getScrollY() + Math.round(distanceY)));
+            awakenScrollBars();
+            return true;
+        }
+
+        @Override
+        public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+            scroller.fling(0, getScrollY(), 0, Math.round(-velocityY), 0, 0, 0, maxScroll());
+            postInvalidateOnAnimation();
+            return true;
+        }
+
+        @Override
+        public boolean onSingleTapUp(MotionEvent e) {
+            performLevelClick(levelAt(e.getX(), e.getY()));
+            return true;
+        }
+    }
+
+    // Virtual view ids are level numbers
+    private final class LevelAccessibility extends ExploreByTouchHelper {
+
+        LevelAccessibility() {
+            super(LevelMapView.this);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int level = levelAt(x, y);
+            return level == 0 ? INVALID_ID : level;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            if (levelCount == 0 || rowHeight <= 0) {
+                return;
+            }
+            int last = Math.min(levelCount, (lastVisibleRow() + 1) * COLUMNS);
+            for (int level = firstVisibleRow() * COLUMNS + 1; level <= last; level++) {
+                virtualViewIds.add(level);
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int level, @NonNull AccessibilityNodeInfoCompat node) {
+            node.setContentDescription(describeLevel(level, currentLevel));
+            cellBounds(level, cellRect);
+            cellRect.offset(0, -getScrollY());
+            node.setBoundsInParent(cellRect);
+            node.setFocusable(true);
+            boolean unlocked = level <= currentLevel;
+            node.setEnabled(unlocked);
+            if (unlocked) {
+                node.setClickable(true);
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+            }
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int level, int action, @Nullable Bundle arguments) {
+            if (action == AccessibilityNodeInfoCompat.ACTION_CLICK && level <= currentLevel) {
+                performLevelClick(level);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        protected void onVirtualViewKeyboardFocusChanged(int level, boolean hasFocus) {
+            if (hasFocus) {
+                // Keep the focused cell, and so the next row, in view as the D-pad moves
+                cellBounds(level, cellRect);
+                int scrollY = getScrollY();
+                if (cellRect.top - gap < scrollY) {
+                    scrollTo(0, clampScroll(Math.round(cellRect.top - gap)));
+                } else if (cellRect.bottom + gap > scrollY + getHeight()) {
+                    scrollTo(0, clampScroll(Math.round(cellRect.bottom + gap - getHeight())));
+                }
+            }
+            invalidate();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.fitquest;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Loads the {@link LevelCatalog} from assets once per process, off the main thread.
+ */
+public final class LevelRepository {
+
+    private static final String TAG = "LevelRepository";
+    private static final String ASSET = "levels.bin";
+
+    private static LevelRepository instance;
+
+    public static synchronized LevelRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new LevelRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final Context appContext;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Main thread only
+    private LevelCatalog catalog;
+    // Callbacks waiting on the one in-flight read; null when no read is running
+    private List<Consumer<LevelCatalog>> pending;
+
+    private LevelRepository(Context appContext) {
+        this.appContext = appContext;
+    }
+
+    /**
+     * Hands the catalog to {@code onLoaded} on the main thread, reading it first if needed.
+     * Main thread only; calls made while a read is running wait for that read.
+     */
+    public void whenLoaded(Consumer<LevelCatalog> onLoaded) {
+        if (catalog != null) {
+            onLoaded.accept(catalog);
+            return;
+        }
+        if (pending != null) {
+            pending.add(onLoaded);
+            return;
+        }
+        pending = new ArrayList<>();
+        pending.add(onLoaded);
+        new Thread(() -> {
+            LevelCatalog loaded = read();
+            mainHandler.post(() -> {
+                catalog = loaded;
+                List<Consumer<LevelCatalog>> callbacks = pending;
+                pending = null;
+                for (Consumer<LevelCatalog> callback : callbacks) {
+                    callback.accept(loaded);
+                }
+            });
+        }, "level-load").start();
+    }
+
+    private LevelCatalog read() {
+        try (InputStream in = appContext.getAssets().open(ASSET)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return LevelCatalog.parse(ByteBuffer.wrap(bytes.toByteArray()));
+        } catch (IOException e) {
+            Log.e(TAG, "Cannot read " + ASSET + ": " + e.getMessage());
+            return LevelCatalog.EMPTY;
+        }
+    }
+}
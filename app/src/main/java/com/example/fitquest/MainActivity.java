@@ -1,9 +1,7 @@
 package com.example.fitquest;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
-import android.view.View;
 import android.widget.ImageView;
 import android.widget.TextView;
 
@@ -15,10 +13,12 @@ import androidx.core.view.WindowInsetsCompat;
 
 public class MainActivity extends AppCompatActivity {
 
-    private static final String PREF_NAME = "FitQuestPrefs";
-    private static final String KEY_USERNAME = "username";
-    private static final String KEY_AVATAR_CREATED = "avatar_created";
-    private static final String KEY_GENDER = "gender"; // "male" or "female"
+    private ProfileRepository profiles;
+    // Keeps the header in step with profile edits made elsewhere
+    private final ProfileRepository.Listener profileListener = this::bindHeader;
+
+    // Popups live as long as the activity; created once the main UI is set up
+    private HomePopupHost popupHost;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -32,97 +32,70 @@ public class MainActivity extends AppCompatActivity {
             return insets;
         });
 
-        // Check if user has an account
-        checkUserAccount();
+        // LauncherActivity only routes here once the account and avatar exist
+        profiles = ProfileRepository.getInstance(this);
+        setupMainUI(profiles.getProfile());
+        StartupTrace.reportFirstFrame(this);
     }
 
-    private void checkUserAccount() {
-        SharedPreferences prefs = getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        String username = prefs.getString(KEY_USERNAME, null);
-        boolean avatarCreated = prefs.getBoolean(KEY_AVATAR_CREATED, false);
-
-        if (username == null) {
-            // No account exists, go to account creation
-            Intent intent = new Intent(this, AccountCreation.class);
-            startActivity(intent);
-            finish(); // Close MainActivity
-            return;
-        }
-
-        if (!avatarCreated) {
-            // Account exists but no avatar, go to avatar creation
-            Intent intent = new Intent(this, AvatarCreationActivity.class);
-            startActivity(intent);
-            finish(); // Close MainActivity
-            return;
-        }
-
-        // User has both account and avatar, setup the main UI
-        setupMainUI();
-    }
-
-    private void setupMainUI() {
-        // Populate header username and avatar image
-        SharedPreferences prefs = getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-        String username = prefs.getString(KEY_USERNAME, "Player");
-        String gender = prefs.getString(KEY_GENDER, "male");
-
+    // Populate header username and avatar image
+    private void bindHeader(UserProfile profile) {
         TextView playerName = findViewById(R.id.player_name);
         ImageView userIcon = findViewById(R.id.user_icon);
         ImageView characterView = findViewById(R.id.character_view);
 
         if (playerName != null) {
-            playerName.setText(username);
+            playerName.setText(profile.getDisplayName());
         }
-        int genderDrawable = "female".equalsIgnoreCase(gender) ? R.drawable.female : R.drawable.male2;
+        AvatarCompositor avatars = AvatarCompositor.getInstance(this);
         if (userIcon != null) {
-            userIcon.setImageResource(genderDrawable);
+            avatars.into(userIcon, profile.getAvatar());
         }
         if (characterView != null) {
-            characterView.setImageResource(genderDrawable);
+            avatars.into(characterView, profile.getAvatar());
         }
+    }
+
+    private void setupMainUI(UserProfile profile) {
+        // The backdrop is a megabyte PNG; it is decoded off the main thread at screen size
+        BitmapLoader.getInstance(this).intoBackground(findViewById(R.id.main), R.drawable.background);
+        bindHeader(profile);
+        profiles.addListener(profileListener);
+
+        // Popups are built off the critical path; a tap only rebinds their data and shows them
+        popupHost = new HomePopupHost(this);
+        popupHost.register(R.layout.quest, Quest::new);
+        popupHost.register(R.layout.goals, Goals::new);
+        popupHost.register(R.layout.store, Store::new);
+        popupHost.register(R.layout.friends, Friends::new);
+        popupHost.register(R.layout.settings, Settings::new);
+        popupHost.register(R.layout.challenge, Challenge::new);
+        popupHost.register(R.layout.profile, Profile::new);
+        popupHost.register(R.layout.stats, Stats::new);
+        popupHost.register(R.layout.gear, Gear::new);
+        popupHost.register(R.layout.arena, Arena::new);
 
         // Show popup UIs for right-side buttons
-        findViewById(R.id.quest_button).setOnClickListener(v ->
-                new Quest(MainActivity.this).show()
-        );
+        findViewById(R.id.quest_button).setOnClickListener(v -> popupHost.show(R.layout.quest));
 
-        findViewById(R.id.goals_button).setOnClickListener(v ->
-                new Goals(MainActivity.this).show()
-        );
+        findViewById(R.id.goals_button).setOnClickListener(v -> popupHost.show(R.layout.goals));
 
-        findViewById(R.id.store_button).setOnClickListener(v ->
-                new Store(MainActivity.this).show()
-        );
+        findViewById(R.id.store_button).setOnClickListener(v -> popupHost.show(R.layout.store));
 
-        findViewById(R.id.friends_button).setOnClickListener(v ->
-                new Friends(MainActivity.this).show()
-        );
+        findViewById(R.id.friends_button).setOnClickListener(v -> popupHost.show(R.layout.friends));
 
-        findViewById(R.id.settings_button).setOnClickListener(v ->
-                new Settings(MainActivity.this).show()
-        );
+        findViewById(R.id.settings_button).setOnClickListener(v -> popupHost.show(R.layout.settings));
 
-        findViewById(R.id.challenge_button).setOnClickListener(v ->
-                new Challenge(MainActivity.this).show()
-        );
+        findViewById(R.id.challenge_button).setOnClickListener(v -> popupHost.show(R.layout.challenge));
 
         // Show popup UIs for left-side major features
-        findViewById(R.id.profile_section).setOnClickListener(v ->
-                new Profile(MainActivity.this).show()
-        );
+        findViewById(R.id.profile_section).setOnClickListener(v -> popupHost.show(R.layout.profile));
 
-        findViewById(R.id.stats_button).setOnClickListener(v ->
-                new Stats(MainActivity.this).show()
-        );
+        findViewById(R.id.stats_button).setOnClickListener(v -> popupHost.show(R.layout.stats));
 
-        findViewById(R.id.gear_button).setOnClickListener(v ->
-                new Gear(MainActivity.this).show()
-        );
+        findViewById(R.id.gear_button).setOnClickListener(v -> popupHost.show(R.layout.gear));
 
-        findViewById(R.id.arena_button).setOnClickListener(v ->
-                new Arena(MainActivity.this).show()
-        );
+        findViewById(R.id.arena_button).setOnClickListener(v -> popupHost.show(R.layout.arena));
 
         // New: Open UserSettingsActivity to tweak user level/difficulty
         findViewById(R.id.user_settings_activity_button).setOnClickListener(v ->
@@ -132,10 +105,7 @@ public class MainActivity extends AppCompatActivity {
         // New: Reset account button for testing
         findViewById(R.id.reset_account_button).setOnClickListener(v -> {
             // Clear user data
-            SharedPreferences p = getSharedPreferences(PREF_NAME, MODE_PRIVATE);
-            SharedPreferences.Editor editor = p.edit();
-            editor.clear();
-            editor.apply();
+            profiles.edit().clear().apply();
 
             // Restart the app flow
             Intent intent = new Intent(this, AccountCreation.class);
@@ -144,4 +114,33 @@ public class MainActivity extends AppCompatActivity {
             finish();
         });
     }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Builds the popups, or rebuilds any released under memory pressure, once the
+        // screen is up so inflation never competes with it
+        if (popupHost != null) {
+            getWindow().getDecorView().post(popupHost::preinflate);
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (popupHost != null) {
+            popupHost.onTrimMemory(level);
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (popupHost != null) {
+            popupHost.destroy();
+        }
+        if (profiles != null) {
+            profiles.removeListener(profileListener);
+        }
+        super.onDestroy();
+    }
 }
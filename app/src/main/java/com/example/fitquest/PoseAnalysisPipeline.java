@@ -0,0 +1,635 @@
+package com.example.fitquest;
+
+import android.content.Context;
+import android.media.Image;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.Size;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+import androidx.camera.core.resolutionselector.ResolutionSelector;
+import androidx.camera.core.resolutionselector.ResolutionStrategy;
+
+import com.example.fitquest.pose.AnalysisGovernor;
+import com.example.fitquest.pose.Difficulty;
+import com.example.fitquest.pose.ExerciseCatalog;
+import com.example.fitquest.pose.ExerciseDetector;
+import com.example.fitquest.pose.FormChecker;
+import com.example.fitquest.pose.PoseFrame;
+import com.example.fitquest.pose.PoseFramePool;
+import com.example.fitquest.pose.PoseFrameRing;
+import com.example.fitquest.pose.StageLatencies;
+import com.example.fitquest.pose.trace.PoseTraceFormat;
+import com.example.fitquest.pose.trace.PoseTraceWriter;
+import com.google.mlkit.vision.common.InputImage;
+import com.google.mlkit.vision.pose.Pose;
+import com.google.mlkit.vision.pose.PoseDetection;
+import com.google.mlkit.vision.pose.PoseDetector;
+import com.google.mlkit.vision.pose.PoseLandmark;
+import com.google.mlkit.vision.pose.defaults.PoseDetectorOptions;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Background pose analysis for the tracking screen, split into stages:
+ *
+ * - capture and inference on "pose-analysis": CameraX hands us one frame at a time and
+ *   ML Kit turns it into a {@link PoseFrame}, published to a {@link PoseFrameRing};
+ * - detection on "pose-detect": the rep/hold detector reads every frame in order, and the
+ *   form checker samples the newest one;
+ * - recording on "pose-record": trace files are written off the detection path;
+ * - rendering on the main thread, once per vsync: the newest snapshot goes to the views
+ *   and the newest frame to the overlay; anything older is skipped.
+ *
+ * Stages share frames through the ring without copying and each has its own cursor, so
+ * a slow stage drops stale frames instead of holding up the others. Each stage's state
+ * is confined to its thread; the main thread receives finished {@link TrackingSnapshot}s.
+ *
+ * An {@link AnalysisGovernor} decides which camera frames reach ML Kit and at what
+ * resolution, based on measured inference latency and the device's thermal status.
+ * {@link StageLatencies} times every stage; the main thread records its own part when it
+ * applies a snapshot.
+ *
+ * Each set is journaled from the detection stage: a {@link SessionJournal} session opens
+ * on the first tracked frame and records every rep and hold segment as it happens. When
+ * the set ends its total goes to the {@link QuestProgressStore}.
+ */
+public class PoseAnalysisPipeline implements ImageAnalysis.Analyzer {
+
+    private static final String TAG = "PoseAnalysisPipeline";
+    private static final int RING_CAPACITY = 8;
+
+    // Main thread, from a Choreographer frame callback; at most one snapshot per vsync
+    public interface Listener {
+        void onSnapshot(TrackingSnapshot snapshot);
+    }
+
+    // Same render pass; the frame is only valid during the call unless the receiver retains it
+    public interface OverlayListener {
+        void onPoseFrame(PoseFrame frame, int imageWidth, int imageHeight, int rotationDegrees,
+                         boolean isFrontFacing, int viewWidth, int viewHeight);
+    }
+
+    /**
+     * One consumer of the ring: a handler thread, a cursor and a wake-up that coalesces,
+     * so a burst of frames costs one post rather than one per frame.
+     */
+    private static final class Stage {
+        final Handler handler;
+        final PoseFrameRing.Cursor cursor;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Runnable drain;
+        // When the pending drain was posted; read by the drain to time the handoff
+        volatile long wokenAtNanos;
+
+        Stage(Handler handler, PoseFrameRing.Cursor cursor, Runnable body) {
+            this.handler = handler;
+            this.cursor = cursor;
+            this.drain = () -> {
+                scheduled.set(false);
+                body.run();
+            };
+        }
+
+        void wake() {
+            if (scheduled.compareAndSet(false, true)) {
+                wokenAtNanos = SystemClock.elapsedRealtimeNanos();
+                handler.post(drain);
+            }
+        }
+    }
+
+    private final HandlerThread analysisThread;
+    private final Handler analysisHandler;
+    private final Executor analysisExecutor;
+    private final HandlerThread detectThread;
+    private final Handler detectHandler;
+    private final HandlerThread recordThread;
+    private final Handler recordHandler;
+    private final Handler mainHandler;
+    private final Listener listener;
+    private final OverlayListener overlayListener;
+    private final Context appContext;
+    private final StageLatencies latencies = new StageLatencies();
+
+    private final PoseFramePool framePool = new PoseFramePool(RING_CAPACITY + 8);
+    private final PoseFrameRing ring = new PoseFrameRing(RING_CAPACITY);
+    private final Stage detectStage;
+    private final Stage formStage;
+    private final Stage recordStage;
+    private final PoseFrameRing.Cursor overlayCursor;
+
+    // Render stage: detect and inference threads hand over, the main thread's vsync applies
+    private final Choreographer choreographer;
+    private final AtomicReference<TrackingSnapshot> pendingSnapshot = new AtomicReference<>();
+    private final AtomicBoolean renderScheduled = new AtomicBoolean();
+    private final Choreographer.FrameCallback renderFrame = frameTimeNanos -> render();
+
+    // Confined to the analysis thread
+    private final PoseDetector poseDetector;
+    private final AnalysisGovernor governor = new AnalysisGovernor();
+
+    // Confined to the detect thread
+    private final ExerciseDetector exerciseDetector;
+    private final FormChecker formChecker = new FormChecker(ExerciseCatalog.defaults());
+    private String exerciseType = "squats";
+    private int difficulty;
+    private int targetReps = 10;
+
+    // Detection thread only; opened there so the main thread never touches the disk
+    private SessionJournal journal;
+    private boolean sessionFinished = false;
+
+    // Confined to the record thread
+    private PoseTraceWriter traceWriter;
+
+    // Written by the main thread, read per frame
+    private volatile boolean isTrackingActive = false;
+    private volatile int viewWidth = 0;
+    private volatile int viewHeight = 0;
+    private volatile boolean isShutdown = false;
+
+    // Geometry of the newest published frame, written before it is published
+    private volatile int frameImageWidth;
+    private volatile int frameImageHeight;
+    private volatile int frameRotation;
+
+    private volatile boolean inferenceInFlight = false;
+    private volatile boolean isRecording = false;
+
+    // Governor output the main thread needs when (re)building the ImageAnalysis
+    private volatile int analysisWidth;
+    private volatile int analysisHeight;
+    private volatile Runnable onResolutionChanged;
+    private volatile String analysisTierText = "";
+
+    private final PowerManager powerManager;
+    private PowerManager.OnThermalStatusChangedListener thermalListener;
+
+    // Construct on the main thread; the render stage uses its Choreographer
+    public PoseAnalysisPipeline(Context context, String difficultyLevel, int targetReps, Listener listener,
+                                OverlayListener overlayListener) {
+        this.listener = listener;
+        this.overlayListener = overlayListener;
+        this.appContext = context.getApplicationContext();
+        this.targetReps = targetReps;
+        this.difficulty = Difficulty.indexOf(difficultyLevel);
+        this.mainHandler = new Handler(Looper.getMainLooper());
+        this.choreographer = Choreographer.getInstance();
+
+        analysisThread = new HandlerThread("pose-analysis");
+        analysisThread.start();
+        analysisHandler = new Handler(analysisThread.getLooper());
+        analysisExecutor = analysisHandler::post;
+
+        detectThread = new HandlerThread("pose-detect");
+        detectThread.start();
+        detectHandler = new Handler(detectThread.getLooper());
+
+        recordThread = new HandlerThread("pose-record");
+        recordThread.start();
+        recordHandler = new Handler(recordThread.getLooper());
+
+        detectHandler.post(() -> journal = new SessionJournal(SessionJournal.defaultFile(appContext.getFilesDir()),
+                QuestProgressStore.getInstance(appContext)));
+
+        detectStage = new Stage(detectHandler, ring.newCursor(), this::drainDetection);
+        formStage = new Stage(detectHandler, ring.newCursor(), this::drainFormCheck);
+        recordStage = new Stage(recordHandler, ring.newCursor(), this::drainRecording);
+        overlayCursor = ring.newCursor();
+
+        PoseDetectorOptions options = new PoseDetectorOptions.Builder()
+                .setDetectorMode(PoseDetectorOptions.STREAM_MODE)
+                .setExecutor(analysisExecutor)
+                .build();
+        poseDetector = PoseDetection.getClient(options);
+
+        exerciseDetector = new ExerciseDetector(difficultyLevel, targetReps);
+        exerciseDetector.setListener(new ExerciseDetector.Listener() {
+            @Override
+            public void onRep(int repNumber, long repMillis) {
+                journal(() -> journal.rep(repNumber, repMillis, System.currentTimeMillis()));
+            }
+
+            @Override
+            public void onHoldSegment(long segmentMillis) {
+                journal(() -> journal.holdSegment(segmentMillis, System.currentTimeMillis()));
+            }
+        });
+
+        // Start from the current thermal status so a hot device never binds full resolution
+        powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && powerManager != null) {
+            governor.setThermalStatus(powerManager.getCurrentThermalStatus(), SystemClock.elapsedRealtimeNanos());
+            thermalListener = status -> {
+                if (governor.setThermalStatus(status, SystemClock.elapsedRealtimeNanos())) {
+                    onTierChanged();
+                }
+            };
+            powerManager.addThermalStatusListener(analysisExecutor, thermalListener);
+        }
+        analysisWidth = governor.getAnalysisWidth();
+        analysisHeight = governor.getAnalysisHeight();
+        analysisTierText = describeTier();
+    }
+
+    // Builds an ImageAnalysis at the governor's current resolution with this analyzer attached
+    public ImageAnalysis createImageAnalysis() {
+        ResolutionSelector resolutionSelector = new ResolutionSelector.Builder()
+                .setResolutionStrategy(new ResolutionStrategy(new Size(analysisWidth, analysisHeight),
+                        ResolutionStrategy.FALLBACK_RULE_CLOSEST_LOWER_THEN_HIGHER))
+                .build();
+        ImageAnalysis imageAnalysis = new ImageAnalysis.Builder()
+                .setResolutionSelector(resolutionSelector)
+                .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST)
+                .build();
+        imageAnalysis.setAnalyzer(analysisExecutor, this);
+        return imageAnalysis;
+    }
+
+    // Runs on the main thread when the governor wants a different analysis resolution
+    public void setOnResolutionChanged(Runnable onResolutionChanged) {
+        this.onResolutionChanged = onResolutionChanged;
+    }
+
+    public void setTrackingActive(boolean isActive) {
+        isTrackingActive = isActive;
+    }
+
+    public void setViewSize(int width, int height) {
+        viewWidth = width;
+        viewHeight = height;
+    }
+
+    public void updateExercise(String exerciseType, String difficultyLevel, int targetReps) {
+        detectHandler.post(() -> {
+            endJournalSession(SessionJournal.FLAG_ABANDONED);
+            sessionFinished = false;
+            this.exerciseType = exerciseType;
+            this.difficulty = Difficulty.indexOf(difficultyLevel);
+            this.targetReps = targetReps;
+            exerciseDetector.updateExercise(exerciseType, difficultyLevel, targetReps);
+            formChecker.setExercise(exerciseType);
+        });
+    }
+
+    // Queue depths per stage, for diagnostics; inference is 0 or 1 frame in flight
+    public int getInferenceDepth() { return inferenceInFlight ? 1 : 0; }
+    public int getDetectionDepth() { return detectStage.cursor.depth(); }
+    public int getFormCheckDepth() { return formStage.cursor.depth(); }
+    public int getRecordingDepth() { return recordStage.cursor.depth(); }
+    public int getOverlayDepth() { return overlayCursor.depth(); }
+
+    public StageLatencies getLatencies() { return latencies; }
+
+    // Current governor tier, e.g. "tier 1 640x480@20"
+    public String getAnalysisTierText() { return analysisTierText; }
+
+    // Writes this session's per-stage latency table to filesDir/latency, off the main thread
+    public void writeLatencySummary(String fileName, String exerciseType) {
+        recordHandler.post(() -> {
+            File dir = new File(appContext.getFilesDir(), "latency");
+            File summaryFile = new File(dir, fileName);
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                Log.e(TAG, "Cannot create " + dir);
+                return;
+            }
+            try (Writer out = new OutputStreamWriter(new FileOutputStream(summaryFile), StandardCharsets.UTF_8)) {
+                out.write("# device\t" + Build.MANUFACTURER + " " + Build.MODEL + "\n");
+                out.write("# sdk\t" + Build.VERSION.SDK_INT + "\n");
+                out.write("# app\t" + appVersion() + "\n");
+                out.write("# exercise\t" + exerciseType + "\n");
+                out.write("# analysis\t" + analysisTierText + "\n");
+                out.write(latencies.formatSummary());
+                Log.i(TAG, "Latency summary written to " + summaryFile);
+            } catch (IOException e) {
+                Log.e(TAG, "Could not write latency summary: " + e.getMessage());
+            }
+        });
+    }
+
+    private String appVersion() {
+        try {
+            return appContext.getPackageManager().getPackageInfo(appContext.getPackageName(), 0).versionName;
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    // Streams every analyzed frame to a .fqtrace file in the app's pose-traces directory,
+    // for offline replay
+    public void startRecording(String exerciseType, String difficultyLevel, int targetReps) {
+        recordHandler.post(() -> {
+            if (traceWriter != null) {
+                return;
+            }
+            File dir = appContext.getExternalFilesDir("pose-traces");
+            if (dir == null) {
+                dir = new File(appContext.getFilesDir(), "pose-traces");
+            }
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                Log.e(TAG, "Cannot create " + dir);
+                return;
+            }
+            File traceFile = new File(dir, exerciseType + "-" + System.currentTimeMillis()
+                    + PoseTraceFormat.FILE_EXTENSION);
+            try {
+                traceWriter = new PoseTraceWriter(traceFile, exerciseType, difficultyLevel, targetReps,
+                        System.currentTimeMillis());
+                // Skip anything published before recording started
+                releaseAll(recordStage.cursor);
+                isRecording = true;
+                Log.i(TAG, "Recording pose trace to " + traceFile);
+            } catch (IOException e) {
+                Log.e(TAG, "Could not start pose trace: " + e.getMessage());
+            }
+        });
+    }
+
+    public void stopRecording() {
+        recordHandler.post(this::closeTraceWriter);
+    }
+
+    private void closeTraceWriter() {
+        isRecording = false;
+        if (traceWriter == null) {
+            return;
+        }
+        try {
+            traceWriter.close();
+            Log.i(TAG, "Pose trace closed after " + traceWriter.getFrameCount() + " frames");
+        } catch (IOException e) {
+            Log.e(TAG, "Could not close pose trace: " + e.getMessage());
+        }
+        traceWriter = null;
+    }
+
+    // Capture stage. STRATEGY_KEEP_ONLY_LATEST doesn't call us again until this ImageProxy
+    // is closed, so at most one frame is in inference and newer camera frames replace the
+    // one waiting behind it.
+    @Override
+    public void analyze(@NonNull ImageProxy imageProxy) {
+        @SuppressWarnings("UnsafeOptInUsageError")
+        Image mediaImage = imageProxy.getImage();
+        if (mediaImage == null) {
+            imageProxy.close();
+            return;
+        }
+
+        long timestampNanos = imageProxy.getImageInfo().getTimestamp();
+        if (!governor.shouldAnalyze(timestampNanos)) {
+            imageProxy.close();
+            return;
+        }
+
+        int rotation = imageProxy.getImageInfo().getRotationDegrees();
+        int imageWidth = mediaImage.getWidth();
+        int imageHeight = mediaImage.getHeight();
+        InputImage inputImage = InputImage.fromMediaImage(mediaImage, rotation);
+        long arrivalNanos = SystemClock.elapsedRealtimeNanos();
+        inferenceInFlight = true;
+
+        poseDetector.process(inputImage)
+                .addOnSuccessListener(analysisExecutor, pose -> publish(pose, timestampNanos, arrivalNanos,
+                        imageWidth, imageHeight, rotation))
+                .addOnFailureListener(analysisExecutor, e -> Log.e(TAG, "Pose detection failed: " + e.getMessage()))
+                .addOnCompleteListener(analysisExecutor, task -> {
+                    imageProxy.close();
+                    inferenceInFlight = false;
+                    if (governor.onFrameAnalyzed(timestampNanos, SystemClock.elapsedRealtimeNanos() - arrivalNanos)) {
+                        onTierChanged();
+                    }
+                });
+    }
+
+    // Inference stage output: one pooled frame into the ring, then wake the consumers
+    private void publish(Pose pose, long timestampNanos, long arrivalNanos, int imageWidth, int imageHeight,
+                         int rotation) {
+        if (isShutdown) {
+            return;
+        }
+        latencies.record(StageLatencies.INFERENCE, SystemClock.elapsedRealtimeNanos() - arrivalNanos);
+        PoseFrame frame = framePool.acquire();
+        fillFrame(pose, timestampNanos, frame);
+        frame.setArrivalNanos(arrivalNanos);
+        frameImageWidth = imageWidth;
+        frameImageHeight = imageHeight;
+        frameRotation = rotation;
+        ring.publish(frame);
+
+        detectStage.wake();
+        formStage.wake();
+        requestRender();
+        if (isRecording) {
+            recordStage.wake();
+        }
+    }
+
+    // Analysis thread: frame rate changes apply at once, resolution changes need a rebind
+    private void onTierChanged() {
+        Log.i(TAG, "Analysis tier " + governor.getTier() + ": " + governor.getAnalysisWidth() + "x"
+                + governor.getAnalysisHeight() + " @ " + governor.getTargetFps() + " fps (latency "
+                + governor.getLatencyEwmaNanos() / 1_000_000 + " ms, thermal " + governor.getThermalStatus()
+                + ", skipped " + governor.getSkippedFrames() + "/" + (governor.getSkippedFrames() + governor.getAnalyzedFrames()) + ")");
+        // Tiers 0 and 1 share a resolution, so the text changes even when no rebind is needed
+        analysisTierText = describeTier();
+        if (governor.getAnalysisWidth() == analysisWidth && governor.getAnalysisHeight() == analysisHeight) {
+            return;
+        }
+        analysisWidth = governor.getAnalysisWidth();
+        analysisHeight = governor.getAnalysisHeight();
+        mainHandler.post(() -> {
+            Runnable callback = onResolutionChanged;
+            if (!isShutdown && callback != null) {
+                callback.run();
+            }
+        });
+    }
+
+    private String describeTier() {
+        return "tier " + governor.getTier() + " " + governor.getAnalysisWidth() + "x" + governor.getAnalysisHeight()
+                + "@" + governor.getTargetFps();
+    }
+
+    // Detection stage: every frame in order, then one snapshot for the whole batch
+    private void drainDetection() {
+        latencies.record(StageLatencies.HANDOFF, SystemClock.elapsedRealtimeNanos() - detectStage.wokenAtNanos);
+        boolean countersUpdated = false;
+        String feedback = null;
+        long arrivalNanos = 0;
+        PoseFrame frame;
+        while ((frame = detectStage.cursor.pollNext()) != null) {
+            if (!isTrackingActive) {
+                feedback = "Say 'Start' to begin tracking";
+            } else if (!exerciseDetector.hasEnoughBodyLandmarks(frame)) {
+                feedback = "Please stand back to see your full body";
+            } else {
+                if (!sessionFinished && !journal.isSessionOpen()) {
+                    journal(() -> journal.startSession(exerciseType, difficulty, targetReps,
+                            System.currentTimeMillis()));
+                }
+                long startNanos = SystemClock.elapsedRealtimeNanos();
+                exerciseDetector.processPose(frame);
+                latencies.record(StageLatencies.DETECT, SystemClock.elapsedRealtimeNanos() - startNanos);
+                if (exerciseDetector.isExerciseCompleted()) {
+                    endJournalSession(SessionJournal.FLAG_COMPLETED);
+                }
+                countersUpdated = true;
+                feedback = exerciseDetector.getFeedbackText();
+            }
+            arrivalNanos = frame.getArrivalNanos();
+            frame.release();
+        }
+        journal(() -> journal.flushIfStale(System.currentTimeMillis()));
+        if (feedback == null) {
+            return;
+        }
+
+        TrackingSnapshot snapshot = new TrackingSnapshot(
+                exerciseType, exerciseDetector.isHoldExercise(), countersUpdated,
+                exerciseDetector.getCurrentReps(), targetReps, exerciseDetector.getHoldTimeSeconds(),
+                feedback, countersUpdated ? formChecker.getCue() : null,
+                exerciseDetector.isExerciseCompleted(),
+                arrivalNanos, SystemClock.elapsedRealtimeNanos());
+        // Replaces any snapshot the main thread hasn't rendered yet, unless it finished the set
+        pendingSnapshot.accumulateAndGet(snapshot, TrackingSnapshot::supersede);
+        requestRender();
+    }
+
+    // Detection thread. Closes the open journal session, if any, with the detector's totals;
+    // the journal credits the work done to quest progress whether or not the set was finished.
+    private void endJournalSession(byte flags) {
+        if (!journal.isSessionOpen()) {
+            return;
+        }
+        sessionFinished = true;
+        journal(() -> journal.endSession(flags, exerciseDetector.getCurrentReps(),
+                exerciseDetector.getHoldTimeMillis(), System.currentTimeMillis()));
+    }
+
+    private interface JournalWrite {
+        void run() throws IOException;
+    }
+
+    // The journal is best effort: a failed write is logged and never stops tracking
+    private static void journal(JournalWrite write) {
+        try {
+            write.run();
+        } catch (IOException e) {
+            Log.e(TAG, "Session journal write failed: " + e.getMessage());
+        }
+    }
+
+    // Form stage: cues don't need every frame, so it samples the newest one
+    private void drainFormCheck() {
+        PoseFrame frame = formStage.cursor.pollLatest();
+        if (frame != null) {
+            formChecker.check(frame);
+            frame.release();
+        }
+    }
+
+    // Record stage: every frame in order while a trace is open
+    private void drainRecording() {
+        PoseFrame frame;
+        while ((frame = recordStage.cursor.pollNext()) != null) {
+            if (traceWriter != null) {
+                recordFrame(frame);
+            }
+            frame.release();
+        }
+    }
+
+    // Any thread. Choreographer is thread-safe, and the flag keeps it to one callback per vsync.
+    private void requestRender() {
+        if (renderScheduled.compareAndSet(false, true)) {
+            choreographer.postFrameCallback(renderFrame);
+        }
+    }
+
+    // Render stage, on the main thread: only the newest snapshot and frame are worth drawing
+    private void render() {
+        renderScheduled.set(false);
+        if (isShutdown) {
+            return;
+        }
+        PoseFrame frame = overlayCursor.pollLatest();
+        if (frame != null) {
+            overlayListener.onPoseFrame(frame, frameImageWidth, frameImageHeight, frameRotation, true,
+                    viewWidth, viewHeight);
+            frame.release();
+        }
+        TrackingSnapshot snapshot = pendingSnapshot.getAndSet(null);
+        if (snapshot != null) {
+            listener.onSnapshot(snapshot);
+        }
+    }
+
+    private void recordFrame(PoseFrame frame) {
+        try {
+            traceWriter.write(frame, isTrackingActive);
+        } catch (IOException e) {
+            Log.e(TAG, "Pose trace write failed, recording stopped: " + e.getMessage());
+            closeTraceWriter();
+        }
+    }
+
+    private static void releaseAll(PoseFrameRing.Cursor cursor) {
+        PoseFrame frame;
+        while ((frame = cursor.pollLatest()) != null) {
+            frame.release();
+        }
+    }
+
+    // Copies ML Kit's landmark objects into the frame's packed array once per frame
+    private static void fillFrame(Pose pose, long timestampNanos, PoseFrame frame) {
+        frame.setTimestampNanos(timestampNanos);
+        for (int type = 0; type < PoseFrame.LANDMARK_COUNT; type++) {
+            PoseLandmark landmark = pose.getPoseLandmark(type);
+            if (landmark != null) {
+                frame.set(type, landmark.getPosition().x, landmark.getPosition().y,
+                        landmark.getPosition3D().getZ(), landmark.getInFrameLikelihood());
+            }
+        }
+    }
+
+    public void shutdown() {
+        isShutdown = true;
+        mainHandler.removeCallbacksAndMessages(null);
+        choreographer.removeFrameCallback(renderFrame);
+        detectHandler.removeCallbacksAndMessages(null);
+        detectHandler.post(() -> {
+            if (journal != null) {
+                endJournalSession(SessionJournal.FLAG_ABANDONED);
+                journal(journal::close);
+            }
+        });
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && thermalListener != null) {
+            powerManager.removeThermalStatusListener(thermalListener);
+        }
+        recordHandler.post(this::closeTraceWriter);
+        analysisHandler.post(() -> {
+            poseDetector.close();
+            ring.clear();
+        });
+        detectThread.quitSafely();
+        recordThread.quitSafely();
+        analysisThread.quitSafely();
+    }
+}
@@ -4,17 +4,44 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.PointF;
 import android.util.AttributeSet;
 import android.view.View;
 
-import com.google.mlkit.vision.pose.Pose;
-import com.google.mlkit.vision.pose.PoseLandmark;
-
-import java.util.List;
+import com.example.fitquest.pose.PoseFrame;
 
 public class PoseOverlayView extends View {
-    private Pose pose;
+    private static final int LANDMARK_COUNT = PoseFrame.LANDMARK_COUNT;
+    private static final float MIN_LIKELIHOOD = 0.5f;
+
+    // Skeleton as flat (from, to) landmark pairs
+    private static final int[] CONNECTIONS = {
+        // Face
+        PoseFrame.LEFT_EYE, PoseFrame.RIGHT_EYE,
+        PoseFrame.LEFT_EYE, PoseFrame.LEFT_EAR,
+        PoseFrame.RIGHT_EYE, PoseFrame.RIGHT_EAR,
+        PoseFrame.NOSE, PoseFrame.LEFT_EYE,
+        PoseFrame.NOSE, PoseFrame.RIGHT_EYE,
+
+        // Torso
+        PoseFrame.LEFT_SHOULDER, PoseFrame.RIGHT_SHOULDER,
+        PoseFrame.LEFT_SHOULDER, PoseFrame.LEFT_HIP,
+        PoseFrame.RIGHT_SHOULDER, PoseFrame.RIGHT_HIP,
+        PoseFrame.LEFT_HIP, PoseFrame.RIGHT_HIP,
+
+        // Arms
+        PoseFrame.LEFT_SHOULDER, PoseFrame.LEFT_ELBOW,
+        PoseFrame.LEFT_ELBOW, PoseFrame.LEFT_WRIST,
+        PoseFrame.RIGHT_SHOULDER, PoseFrame.RIGHT_ELBOW,
+        PoseFrame.RIGHT_ELBOW, PoseFrame.RIGHT_WRIST,
+
+        // Legs
+        PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE,
+        PoseFrame.LEFT_KNEE, PoseFrame.LEFT_ANKLE,
+        PoseFrame.RIGHT_HIP, PoseFrame.RIGHT_KNEE,
+        PoseFrame.RIGHT_KNEE, PoseFrame.RIGHT_ANKLE
+    };
+
+    private PoseFrame frame;
     private Paint landmarkPaint;
     private Paint connectionPaint;
     private Paint textPaint;
@@ -27,6 +54,17 @@ public class PoseOverlayView extends View {
     private int viewWidth = 0;
     private int viewHeight = 0;
 
+    // Cached fitCenter transform, recomputed only when setFrameInfo changes it
+    private float scale = 1f;
+    private float offsetX = 0f;
+    private float offsetY = 0f;
+
+    // Preallocated draw buffers, reused every frame
+    private final float[] mappedLandmarks = new float[LANDMARK_COUNT * 2];
+    private final boolean[] visibleLandmarks = new boolean[LANDMARK_COUNT];
+    private final float[] pointBuffer = new float[LANDMARK_COUNT * 2];
+    private final float[] lineBuffer = new float[CONNECTIONS.length * 2];
+
     public PoseOverlayView(Context context) {
         super(context);
         init();
@@ -38,10 +76,12 @@ public class PoseOverlayView extends View {
     }
 
     private void init() {
+        // drawPoints with a round 12px cap renders the same 6px-radius dots as drawCircle
         landmarkPaint = new Paint();
         landmarkPaint.setColor(Color.WHITE); // Changed to white to match the image
         landmarkPaint.setStyle(Paint.Style.FILL);
-        landmarkPaint.setStrokeWidth(8f);
+        landmarkPaint.setStrokeCap(Paint.Cap.ROUND);
+        landmarkPaint.setStrokeWidth(12f);
 
         connectionPaint = new Paint();
         connectionPaint.setColor(Color.WHITE); // Changed to white to match the image
@@ -54,115 +94,113 @@ public class PoseOverlayView extends View {
         textPaint.setStyle(Paint.Style.FILL);
     }
 
-    public void setPose(Pose pose) {
-        this.pose = pose;
+    // Retains the new frame and releases the previously drawn one
+    public void setPoseFrame(PoseFrame frame) {
+        if (frame != null) {
+            frame.retain();
+        }
+        if (this.frame != null) {
+            this.frame.release();
+        }
+        this.frame = frame;
         invalidate();
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        setPoseFrame(null);
+    }
+
     public void setFrameInfo(int imageWidth, int imageHeight, int rotationDegrees, boolean isFrontFacing, int viewWidth, int viewHeight) {
+        if (this.imageWidth == imageWidth && this.imageHeight == imageHeight
+                && this.rotationDegrees == rotationDegrees && this.isFrontFacing == isFrontFacing
+                && this.viewWidth == viewWidth && this.viewHeight == viewHeight) {
+            return;
+        }
         this.imageWidth = imageWidth;
         this.imageHeight = imageHeight;
         this.rotationDegrees = rotationDegrees;
         this.isFrontFacing = isFrontFacing;
         this.viewWidth = viewWidth;
         this.viewHeight = viewHeight;
+        updateTransform();
         invalidate();
     }
 
+    private void updateTransform() {
+        if (imageWidth == 0 || imageHeight == 0 || viewWidth == 0 || viewHeight == 0) {
+            scale = 1f;
+            offsetX = 0f;
+            offsetY = 0f;
+            return;
+        }
+
+        // Calculate scale factors for fitCenter
+        float scaleX = (float) viewWidth / imageWidth;
+        float scaleY = (float) viewHeight / imageHeight;
+        scale = Math.min(scaleX, scaleY);
+
+        // Calculate offsets to center the image
+        offsetX = (viewWidth - imageWidth * scale) / 2f;
+        offsetY = (viewHeight - imageHeight * scale) / 2f;
+    }
+
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        
-        if (pose == null || imageWidth == 0 || imageHeight == 0) return;
 
-        List<PoseLandmark> landmarks = pose.getAllPoseLandmarks();
-        
+        if (frame == null || !frame.hasPose() || imageWidth == 0 || imageHeight == 0) return;
+
+        int pointCount = mapLandmarks();
+
         // Draw connections first
-        drawConnections(canvas);
-        
-        // Draw landmarks
-        for (PoseLandmark landmark : landmarks) {
-            if (landmark.getInFrameLikelihood() > 0.5f) {
-                PointF mappedPoint = mapPoint(landmark.getPosition());
-                canvas.drawCircle(mappedPoint.x, mappedPoint.y, 6f, landmarkPaint);
+        int lineCount = 0;
+        for (int i = 0; i < CONNECTIONS.length; i += 2) {
+            int first = CONNECTIONS[i];
+            int second = CONNECTIONS[i + 1];
+            if (visibleLandmarks[first] && visibleLandmarks[second]) {
+                lineBuffer[lineCount++] = mappedLandmarks[first * 2];
+                lineBuffer[lineCount++] = mappedLandmarks[first * 2 + 1];
+                lineBuffer[lineCount++] = mappedLandmarks[second * 2];
+                lineBuffer[lineCount++] = mappedLandmarks[second * 2 + 1];
             }
         }
-    }
-
-    private PointF mapPoint(PointF imagePoint) {
-        if (imageWidth == 0 || imageHeight == 0 || viewWidth == 0 || viewHeight == 0) {
-            return imagePoint;
+        if (lineCount > 0) {
+            canvas.drawLines(lineBuffer, 0, lineCount, connectionPaint);
         }
 
-        float x = imagePoint.x;
-        float y = imagePoint.y;
-
-        // For front camera, mirror horizontally
-        if (isFrontFacing) {
-            x = imageWidth - x;
+        // Draw landmarks
+        if (pointCount > 0) {
+            canvas.drawPoints(pointBuffer, 0, pointCount, landmarkPaint);
         }
+    }
 
-        // Calculate scale factors for fitCenter
-        float scaleX = (float) viewWidth / imageWidth;
-        float scaleY = (float) viewHeight / imageHeight;
-        float scale = Math.min(scaleX, scaleY);
+    // Maps every visible landmark into view space; returns the number of floats written to pointBuffer
+    private int mapLandmarks() {
+        int pointCount = 0;
+        for (int type = 0; type < LANDMARK_COUNT; type++) {
+            if (frame.likelihood(type) <= MIN_LIKELIHOOD) {
+                visibleLandmarks[type] = false;
+                continue;
+            }
 
-        // Calculate offsets to center the image
-        float scaledWidth = imageWidth * scale;
-        float scaledHeight = imageHeight * scale;
-        float offsetX = (viewWidth - scaledWidth) / 2f;
-        float offsetY = (viewHeight - scaledHeight) / 2f;
+            float x = frame.x(type);
 
-        // Apply scaling and centering
-        float mappedX = x * scale + offsetX;
-        float mappedY = y * scale + offsetY;
+            // For front camera, mirror horizontally
+            if (isFrontFacing) {
+                x = imageWidth - x;
+            }
 
-        return new PointF(mappedX, mappedY);
-    }
+            float mappedX = x * scale + offsetX;
+            float mappedY = frame.y(type) * scale + offsetY;
 
-    private void drawConnections(Canvas canvas) {
-        if (pose == null) return;
-
-        int[][] connections = {
-            // Face
-            {PoseLandmark.LEFT_EYE, PoseLandmark.RIGHT_EYE},
-            {PoseLandmark.LEFT_EYE, PoseLandmark.LEFT_EAR},
-            {PoseLandmark.RIGHT_EYE, PoseLandmark.RIGHT_EAR},
-            {PoseLandmark.NOSE, PoseLandmark.LEFT_EYE},
-            {PoseLandmark.NOSE, PoseLandmark.RIGHT_EYE},
-            
-            // Torso
-            {PoseLandmark.LEFT_SHOULDER, PoseLandmark.RIGHT_SHOULDER},
-            {PoseLandmark.LEFT_SHOULDER, PoseLandmark.LEFT_HIP},
-            {PoseLandmark.RIGHT_SHOULDER, PoseLandmark.RIGHT_HIP},
-            {PoseLandmark.LEFT_HIP, PoseLandmark.RIGHT_HIP},
-            
-            // Arms
-            {PoseLandmark.LEFT_SHOULDER, PoseLandmark.LEFT_ELBOW},
-            {PoseLandmark.LEFT_ELBOW, PoseLandmark.LEFT_WRIST},
-            {PoseLandmark.RIGHT_SHOULDER, PoseLandmark.RIGHT_ELBOW},
-            {PoseLandmark.RIGHT_ELBOW, PoseLandmark.RIGHT_WRIST},
-            
-            // Legs
-            {PoseLandmark.LEFT_HIP, PoseLandmark.LEFT_KNEE},
-            {PoseLandmark.LEFT_KNEE, PoseLandmark.LEFT_ANKLE},
-            {PoseLandmark.RIGHT_HIP, PoseLandmark.RIGHT_KNEE},
-            {PoseLandmark.RIGHT_KNEE, PoseLandmark.RIGHT_ANKLE}
-        };
-
-        for (int[] connection : connections) {
-            PoseLandmark first = pose.getPoseLandmark(connection[0]);
-            PoseLandmark second = pose.getPoseLandmark(connection[1]);
-            
-            if (first != null && second != null && 
-                first.getInFrameLikelihood() > 0.5f && 
-                second.getInFrameLikelihood() > 0.5f) {
-                
-                PointF firstPoint = mapPoint(first.getPosition());
-                PointF secondPoint = mapPoint(second.getPosition());
-                
-                canvas.drawLine(firstPoint.x, firstPoint.y, secondPoint.x, secondPoint.y, connectionPaint);
-            }
+            visibleLandmarks[type] = true;
+            mappedLandmarks[type * 2] = mappedX;
+            mappedLandmarks[type * 2 + 1] = mappedY;
+            pointBuffer[pointCount++] = mappedX;
+            pointBuffer[pointCount++] = mappedY;
         }
+        return pointCount;
     }
 }
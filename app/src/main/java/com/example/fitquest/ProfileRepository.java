@@ -0,0 +1,212 @@
+package com.example.fitquest;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one place user profile state lives.
+ *
+ * The profile is loaded once on a background thread, started from
+ * {@link FitQuestApplication}, and served from an immutable in-memory
+ * {@link UserProfile}. Edits replace the snapshot at once and notify listeners on the main
+ * thread; the disk write is deferred by {@link #WRITE_DELAY_MS} so a burst of edits
+ * becomes one commit on the background thread.
+ *
+ * Older builds kept the profile in two preference files, "FitQuestPrefs" and
+ * "fitquest_prefs". The first load merges them into one file and clears them.
+ */
+public final class ProfileRepository {
+
+    public interface Listener {
+        // Main thread
+        void onProfileChanged(UserProfile profile);
+    }
+
+    private static final String TAG = "ProfileRepository";
+
+    private static final String PREFS_NAME = "fitquest_profile";
+    private static final String LEGACY_ACCOUNT_PREFS = "FitQuestPrefs";
+    private static final String LEGACY_USER_PREFS = "fitquest_prefs";
+
+    private static final String KEY_VERSION = "version";
+    private static final String KEY_USERNAME = "username";
+    private static final String KEY_GENDER = "gender"; // "male" or "female"
+    private static final String KEY_AVATAR_CREATED = "avatar_created";
+    private static final String KEY_USER_LEVEL = "user_level";
+    private static final String KEY_AVATAR_PARTS = "avatar_parts";
+    private static final String KEY_CHALLENGE_LEVEL = "challenge_level";
+    private static final int VERSION = 1;
+
+    static final long WRITE_DELAY_MS = 200;
+
+    private static ProfileRepository instance;
+
+    public static synchronized ProfileRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new ProfileRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final Context appContext;
+    private final ScheduledExecutorService io = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "profile-io"));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile UserProfile profile = UserProfile.EMPTY;
+    // Guarded by this
+    private boolean writeScheduled = false;
+
+    private ProfileRepository(Context appContext) {
+        this.appContext = appContext;
+        io.execute(this::load);
+    }
+
+    /**
+     * Current snapshot. Never touches disk; only waits if called before the startup load
+     * has finished, which the application start makes unlikely.
+     */
+    public UserProfile getProfile() {
+        try {
+            loaded.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return profile;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /** Collects changes; {@link #apply()} publishes them in one snapshot. */
+    public final class Editor {
+
+        private boolean clear;
+        private String username;
+        private String gender;
+        private Boolean avatarCreated;
+        private Integer level;
+        private AvatarParts avatarParts;
+        private Integer challengeLevel;
+
+        private Editor() {}
+
+        // Drops the whole profile; fields set on this editor still apply
+        public Editor clear() { clear = true; return this; }
+        public Editor setUsername(String username) { this.username = username; return this; }
+        public Editor setGender(String gender) { this.gender = gender; return this; }
+        public Editor setAvatarCreated(boolean avatarCreated) { this.avatarCreated = avatarCreated; return this; }
+        public Editor setLevel(int level) { this.level = level; return this; }
+        // The body layer is not saved; it follows the gender
+        public Editor setAvatarParts(AvatarParts avatarParts) { this.avatarParts = avatarParts; return this; }
+        public Editor setChallengeLevel(int challengeLevel) { this.challengeLevel = challengeLevel; return this; }
+
+        public void apply() {
+            publish(this);
+        }
+    }
+
+    private void publish(Editor edit) {
+        UserProfile next;
+        synchronized (this) {
+            UserProfile base = edit.clear ? UserProfile.EMPTY : getProfile();
+            next = new UserProfile(
+                    edit.username != null ? edit.username : base.getUsername(),
+                    edit.gender != null ? edit.gender : base.getGender(),
+                    edit.avatarCreated != null ? edit.avatarCreated : base.isAvatarCreated(),
+                    edit.level != null ? edit.level : base.getLevel(),
+                    edit.avatarParts != null ? edit.avatarParts : base.getAvatarParts(),
+                    edit.challengeLevel != null ? edit.challengeLevel : base.getChallengeLevel());
+            profile = next;
+            if (!writeScheduled) {
+                writeScheduled = true;
+                io.schedule(this::write, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+        notifyListeners(next);
+    }
+
+    private void notifyListeners(UserProfile snapshot) {
+        mainHandler.post(() -> {
+            for (Listener listener : listeners) {
+                listener.onProfileChanged(snapshot);
+            }
+        });
+    }
+
+    // ---- Background thread ----
+
+    private void load() {
+        SharedPreferences prefs = appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        if (prefs.getInt(KEY_VERSION, 0) < VERSION) {
+            migrateLegacy(prefs);
+        }
+        profile = new UserProfile(
+                prefs.getString(KEY_USERNAME, null),
+                prefs.getString(KEY_GENDER, "male"),
+                prefs.getBoolean(KEY_AVATAR_CREATED, false),
+                prefs.getInt(KEY_USER_LEVEL, 1),
+                AvatarParts.decodeOverlays(prefs.getString(KEY_AVATAR_PARTS, null)),
+                prefs.getInt(KEY_CHALLENGE_LEVEL, 1));
+        loaded.countDown();
+        notifyListeners(profile);
+    }
+
+    private void migrateLegacy(SharedPreferences prefs) {
+        SharedPreferences account = appContext.getSharedPreferences(LEGACY_ACCOUNT_PREFS, Context.MODE_PRIVATE);
+        SharedPreferences user = appContext.getSharedPreferences(LEGACY_USER_PREFS, Context.MODE_PRIVATE);
+        SharedPreferences.Editor editor = prefs.edit()
+                .putInt(KEY_VERSION, VERSION)
+                .putString(KEY_USERNAME, account.getString(KEY_USERNAME, null))
+                .putString(KEY_GENDER, account.getString(KEY_GENDER, "male"))
+                .putBoolean(KEY_AVATAR_CREATED, account.getBoolean(KEY_AVATAR_CREATED, false))
+                .putInt(KEY_USER_LEVEL, user.getInt(KEY_USER_LEVEL, 1));
+        if (editor.commit()) {
+            account.edit().clear().commit();
+            user.edit().clear().commit();
+        } else {
+            Log.e(TAG, "Could not migrate legacy profile");
+        }
+    }
+
+    // Writes whatever the newest snapshot is; edits made meanwhile schedule another pass
+    private void write() {
+        UserProfile snapshot;
+        synchronized (this) {
+            writeScheduled = false;
+            snapshot = profile;
+        }
+        boolean written = appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).edit()
+                .putInt(KEY_VERSION, VERSION)
+                .putString(KEY_USERNAME, snapshot.getUsername())
+                .putString(KEY_GENDER, snapshot.getGender())
+                .putBoolean(KEY_AVATAR_CREATED, snapshot.isAvatarCreated())
+                .putInt(KEY_USER_LEVEL, snapshot.getLevel())
+                .putString(KEY_AVATAR_PARTS, snapshot.getAvatarParts().encodeOverlays())
+                .putInt(KEY_CHALLENGE_LEVEL, snapshot.getChallengeLevel())
+                .commit();
+        if (!written) {
+            Log.e(TAG, "Could not save profile");
+        }
+    }
+}
@@ -3,27 +3,34 @@ package com.example.fitquest;
 import android.app.Dialog;
 import android.content.Context;
 import android.content.Intent;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.Window;
 import android.widget.Button;
-import android.widget.LinearLayout;
-import android.widget.ProgressBar;
-import android.widget.TextView;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+
+public class Quest implements HomePopup {
 
-public class Quest {
+
+	// Supported exercises only; plank is in seconds
+	private static final String[] QUEST_EXERCISES = {"pushups", "plank", "squats", "crunches", "lunges", "tricep_dips"};
+	private static final int[] DAILY_AMOUNTS = {10, 30, 15, 20, 12, 10};
 
 	private final Dialog dialog;
-	private final LinearLayout questList;
+	private final QuestAdapter adapter;
 	private final Context context;
-	private final List<QuestItem> dailyQuests;
-	private final List<QuestItem> weeklyQuests;
-	private final List<QuestItem> monthlyQuests;
+	// Replaced, never mutated: the adapter diffs the list it has against the next one
+	private List<QuestItem> dailyQuests;
+	private List<QuestItem> weeklyQuests;
+	private List<QuestItem> monthlyQuests;
+	private int shownPeriod = QuestPeriod.DAILY;
 
-	public Quest(Context context) {
+	public Quest(Context context, View view) {
 		this.context = context;
 		
 		// Initialize quest lists
@@ -31,10 +38,6 @@ public class Quest {
 		weeklyQuests = createWeeklyQuests();
 		monthlyQuests = createMonthlyQuests();
 
-		// Inflate quest layout
-		LayoutInflater inflater = LayoutInflater.from(context);
-		View view = inflater.inflate(R.layout.quest, null);
-
 		// Set up the dialog
 		dialog = new Dialog(context);
 		dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
@@ -42,8 +45,11 @@ public class Quest {
 		dialog.setCancelable(true);
 		dialog.getWindow().setBackgroundDrawableResource(android.R.color.transparent);
 
-		// Reference the quest list
-		questList = view.findViewById(R.id.quest_list);
+		// Set up the recycled quest list
+		adapter = new QuestAdapter(this::startQuest);
+		RecyclerView questList = view.findViewById(R.id.quest_list);
+		questList.setLayoutManager(new LinearLayoutManager(context));
+		questList.setAdapter(adapter);
 
 		// Set up tab buttons
 		setupTabButtons(view);
@@ -52,6 +58,31 @@ public class Quest {
 		showDailyQuests();
 	}
 
+	// Reads this day's, week's and month's totals off the main thread, then redraws the open tab
+	private void loadProgress() {
+		QuestProgressStore.getInstance(context).loadCurrentPeriodsAsync(System.currentTimeMillis(), totals -> {
+			dailyQuests = withProgress(dailyQuests, totals.get(QuestPeriod.DAILY));
+			weeklyQuests = withProgress(weeklyQuests, totals.get(QuestPeriod.WEEKLY));
+			monthlyQuests = withProgress(monthlyQuests, totals.get(QuestPeriod.MONTHLY));
+			if (shownPeriod == QuestPeriod.WEEKLY) {
+				showWeeklyQuests();
+			} else if (shownPeriod == QuestPeriod.MONTHLY) {
+				showMonthlyQuests();
+			} else {
+				showDailyQuests();
+			}
+		});
+	}
+
+	private static List<QuestItem> withProgress(List<QuestItem> quests, Map<String, Integer> totals) {
+		List<QuestItem> updated = new ArrayList<>(quests.size());
+		for (QuestItem quest : quests) {
+			Integer amount = totals.get(quest.exerciseType);
+			updated.add(quest.withProgress(amount != null ? Math.min(amount, quest.maxProgress) : 0));
+		}
+		return updated;
+	}
+
 	private void setupTabButtons(View view) {
 		Button dailyButton = view.findViewById(R.id.daily_button);
 		Button weeklyButton = view.findViewById(R.id.weekly_button);
@@ -85,85 +116,40 @@ public class Quest {
 	}
 
 	private void showDailyQuests() {
-		questList.removeAllViews();
-		for (QuestItem quest : dailyQuests) {
-			addQuestToView(quest);
-		}
+		shownPeriod = QuestPeriod.DAILY;
+		adapter.submitList(dailyQuests);
 	}
 
 	private void showWeeklyQuests() {
-		questList.removeAllViews();
-		for (QuestItem quest : weeklyQuests) {
-			addQuestToView(quest);
-		}
+		shownPeriod = QuestPeriod.WEEKLY;
+		adapter.submitList(weeklyQuests);
 	}
 
 	private void showMonthlyQuests() {
-		questList.removeAllViews();
-		for (QuestItem quest : monthlyQuests) {
-			addQuestToView(quest);
-		}
+		shownPeriod = QuestPeriod.MONTHLY;
+		adapter.submitList(monthlyQuests);
 	}
 
-	private void addQuestToView(QuestItem quest) {
-		View questItem = LayoutInflater.from(context).inflate(R.layout.quest_items, questList, false);
-
-		TextView titleText = questItem.findViewById(R.id.quest_title);
-		TextView progressText = questItem.findViewById(R.id.progress_text);
-		TextView progressPercentage = questItem.findViewById(R.id.progress_percentage);
-		TextView rewardText = questItem.findViewById(R.id.quest_reward);
-		ProgressBar progressBar = questItem.findViewById(R.id.quest_progress_bar);
-		Button doItButton = questItem.findViewById(R.id.do_it_button);
-
-		titleText.setText(quest.title);
-		progressBar.setMax(quest.maxProgress);
-		progressBar.setProgress(quest.currentProgress);
-		progressText.setText(quest.currentProgress + "/" + quest.maxProgress);
-
-		// Calculate and display percentage
-		int percentage = quest.maxProgress > 0 ? (quest.currentProgress * 100) / quest.maxProgress : 0;
-		progressPercentage.setText(percentage + "%");
-
-		// Set reward based on quest type
-		String reward = getRewardForQuest(quest);
-		rewardText.setText(reward);
-
-		// Update button text and state based on completion
-		if (quest.currentProgress >= quest.maxProgress) {
-			doItButton.setText("✅ COMPLETED");
-			doItButton.setBackgroundResource(android.R.color.holo_green_dark);
-			doItButton.setEnabled(false);
-			progressBar.setProgressTintList(android.content.res.ColorStateList.valueOf(android.graphics.Color.parseColor("#4CAF50")));
-		} else {
-			doItButton.setText("DO IT");
-			doItButton.setBackgroundResource(android.R.color.holo_blue_dark);
-			doItButton.setEnabled(true);
-			progressBar.setProgressTintList(android.content.res.ColorStateList.valueOf(android.graphics.Color.parseColor("#2196F3")));
-		}
-
-		doItButton.setOnClickListener(v -> {
-			Intent intent = new Intent(context, ExerciseTrackingActivity.class);
-			intent.putExtra("EXERCISE_TYPE", quest.exerciseType);
-			intent.putExtra("MAX_PROGRESS", quest.maxProgress);
-			intent.putExtra("QUEST_TITLE", quest.title);
-			// Always pass current user's difficulty so tracking matches settings
-			intent.putExtra("DIFFICULTY_LEVEL", User.getDifficultyLevel(context));
-			context.startActivity(intent);
-			dialog.dismiss();
-		});
-
-		questList.addView(questItem);
+	private void startQuest(QuestItem quest) {
+		Intent intent = new Intent(context, ExerciseTrackingActivity.class);
+		intent.putExtra("EXERCISE_TYPE", quest.exerciseType);
+		intent.putExtra("MAX_PROGRESS", quest.maxProgress);
+		intent.putExtra("QUEST_TITLE", quest.title);
+		// Always pass current user's difficulty so tracking matches settings
+		intent.putExtra("DIFFICULTY_LEVEL", User.getDifficultyLevel(context));
+		context.startActivity(intent);
+		dialog.dismiss();
 	}
 
-	private String getRewardForQuest(QuestItem quest) {
+	private static String getRewardForQuest(String exerciseType, int maxProgress) {
 		// Determine reward based on quest type and difficulty
-		if ("streak".equals(quest.exerciseType)) {
+		if ("streak".equals(exerciseType)) {
 			return "\uD83C\uDFC6 500 XP";
-		} else if (quest.maxProgress >= 1000) {
+		} else if (maxProgress >= 1000) {
 			return "\u2B50 500 XP";
-		} else if (quest.maxProgress >= 200) {
+		} else if (maxProgress >= 200) {
 			return "\u2B50 200 XP";
-		} else if (quest.maxProgress >= 50) {
+		} else if (maxProgress >= 50) {
 			return "\u2B50 100 XP";
 		} else {
 			return "\u2B50 50 XP";
@@ -171,32 +157,26 @@ public class Quest {
 	}
 
 	private List<QuestItem> createDailyQuests() {
-		List<QuestItem> quests = new ArrayList<>();
-		// Supported exercises only
-		quests.add(new QuestItem(formatTitle("pushups", 10), 10, "pushups", 0, User.getDifficultyLevel(context)));
-		quests.add(new QuestItem(formatTitle("plank", 30), 30, "plank", 0, User.getDifficultyLevel(context))); // seconds
-		quests.add(new QuestItem(formatTitle("squats", 15), 15, "squats", 0, User.getDifficultyLevel(context)));
-		quests.add(new QuestItem(formatTitle("crunches", 20), 20, "crunches", 0, User.getDifficultyLevel(context)));
-		quests.add(new QuestItem(formatTitle("lunges", 12), 12, "lunges", 0, User.getDifficultyLevel(context)));
-		return quests;
+		return createQuests(QuestPeriod.DAILY, 1);
 	}
 
 	private List<QuestItem> createWeeklyQuests() {
-		List<QuestItem> quests = new ArrayList<>();
-		int factor = 7; // 7 days
-		for (QuestItem d : dailyQuests) {
-			int total = d.maxProgress * factor;
-			quests.add(new QuestItem(formatTitle(d.exerciseType, total), total, d.exerciseType, 0, User.getDifficultyLevel(context)));
-		}
-		return quests;
+		return createQuests(QuestPeriod.WEEKLY, 7); // 7 days
 	}
 
 	private List<QuestItem> createMonthlyQuests() {
-		List<QuestItem> quests = new ArrayList<>();
-		int factor = 30; // approx month
-		for (QuestItem d : dailyQuests) {
-			int total = d.maxProgress * factor;
-			quests.add(new QuestItem(formatTitle(d.exerciseType, total), total, d.exerciseType, 0, User.getDifficultyLevel(context)));
+		return createQuests(QuestPeriod.MONTHLY, 30); // approx month
+	}
+
+	// Ids are unique across tabs, so a row is never mistaken for another tab's row
+	private List<QuestItem> createQuests(int period, int factor) {
+		String difficulty = User.getDifficultyLevel(context);
+		List<QuestItem> quests = new ArrayList<>(QUEST_EXERCISES.length);
+		for (int i = 0; i < QUEST_EXERCISES.length; i++) {
+			String exerciseType = QUEST_EXERCISES[i];
+			int total = DAILY_AMOUNTS[i] * factor;
+			quests.add(new QuestItem(((long) period << 32) | i, formatTitle(exerciseType, total), total,
+					exerciseType, 0, difficulty, getRewardForQuest(exerciseType, total)));
 		}
 		return quests;
 	}
@@ -217,27 +197,25 @@ public class Quest {
 		if ("lunges".equals(exerciseType)) {
 			return "Execute " + amount + " Lunges";
 		}
+		if ("tricep_dips".equals(exerciseType)) {
+			return "Complete " + amount + " Tricep Dips";
+		}
 		return exerciseType + ": " + amount;
 	}
 
+	@Override
 	public void show() {
+		loadProgress();
 		dialog.show();
 	}
 
-	// Inner class to represent a quest item
-	private static class QuestItem {
-		String title;
-		int maxProgress;
-		String exerciseType;
-		int currentProgress;
-		String difficultyLevel;
-
-		QuestItem(String title, int maxProgress, String exerciseType, int currentProgress, String difficultyLevel) {
-			this.title = title;
-			this.maxProgress = maxProgress;
-			this.exerciseType = exerciseType;
-			this.currentProgress = currentProgress;
-			this.difficultyLevel = difficultyLevel;
-		}
+	@Override
+	public void dismiss() {
+		dialog.dismiss();
+	}
+
+	@Override
+	public boolean isShowing() {
+		return dialog.isShowing();
 	}
 }
@@ -0,0 +1,118 @@
+package com.example.fitquest;
+
+import android.content.res.ColorStateList;
+import android.graphics.Color;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Recycling adapter for the quest dialog. Rows are diffed by quest id, so switching tabs or
+ * updating progress rebinds the rows already on screen instead of inflating new ones.
+ */
+class QuestAdapter extends ListAdapter<QuestItem, QuestAdapter.Holder> {
+
+    interface OnQuestClick {
+        void onQuestClick(QuestItem quest);
+    }
+
+    // Parsed once, shared by every row
+    private static final ColorStateList COMPLETED_TINT = ColorStateList.valueOf(Color.parseColor("#4CAF50"));
+    private static final ColorStateList ACTIVE_TINT = ColorStateList.valueOf(Color.parseColor("#2196F3"));
+
+    private static final DiffUtil.ItemCallback<QuestItem> DIFF = new DiffUtil.ItemCallback<QuestItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull QuestItem oldItem, @NonNull QuestItem newItem) {
+            return oldItem.id == newItem.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull QuestItem oldItem, @NonNull QuestItem newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    private final OnQuestClick onQuestClick;
+
+    QuestAdapter(OnQuestClick onQuestClick) {
+        super(DIFF);
+        this.onQuestClick = onQuestClick;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).id;
+    }
+
+    @NonNull
+    @Override
+    public Holder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.quest_items, parent, false);
+        return new Holder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull Holder holder, int position) {
+        holder.bind(getItem(position));
+    }
+
+    final class Holder extends RecyclerView.ViewHolder {
+
+        private final TextView titleText;
+        private final TextView progressText;
+        private final TextView progressPercentage;
+        private final TextView rewardText;
+        private final ProgressBar progressBar;
+        private final Button doItButton;
+        private QuestItem quest;
+
+        Holder(View view) {
+            super(view);
+            titleText = view.findViewById(R.id.quest_title);
+            progressText = view.findViewById(R.id.progress_text);
+            progressPercentage = view.findViewById(R.id.progress_percentage);
+            rewardText = view.findViewById(R.id.quest_reward);
+            progressBar = view.findViewById(R.id.quest_progress_bar);
+            doItButton = view.findViewById(R.id.do_it_button);
+            // One listener per row for its lifetime; it acts on whatever quest is bound
+            doItButton.setOnClickListener(v -> {
+                if (quest != null) {
+                    onQuestClick.onQuestClick(quest);
+                }
+            });
+        }
+
+        void bind(QuestItem quest) {
+            this.quest = quest;
+            titleText.setText(quest.title);
+            rewardText.setText(quest.reward);
+            progressBar.setMax(quest.maxProgress);
+            progressBar.setProgress(quest.currentProgress);
+            progressText.setText(quest.currentProgress + "/" + quest.maxProgress);
+
+            int percentage = quest.maxProgress > 0 ? (quest.currentProgress * 100) / quest.maxProgress : 0;
+            progressPercentage.setText(percentage + "%");
+
+            if (quest.isCompleted()) {
+                doItButton.setText("✅ COMPLETED");
+                doItButton.setBackgroundResource(android.R.color.holo_green_dark);
+                doItButton.setEnabled(false);
+                progressBar.setProgressTintList(COMPLETED_TINT);
+            } else {
+                doItButton.setText("DO IT");
+                doItButton.setBackgroundResource(android.R.color.holo_blue_dark);
+                doItButton.setEnabled(true);
+                progressBar.setProgressTintList(ACTIVE_TINT);
+            }
+        }
+    }
+}
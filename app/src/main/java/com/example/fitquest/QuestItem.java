@@ -0,0 +1,54 @@
+package com.example.fitquest;
+
+import java.util.Objects;
+
+// One row of the quest dialog. Immutable, so the list adapter can diff old and new rows.
+final class QuestItem {
+
+    final long id;
+    final String title;
+    final int maxProgress;
+    final String exerciseType;
+    final int currentProgress;
+    final String difficultyLevel;
+    final String reward;
+
+    QuestItem(long id, String title, int maxProgress, String exerciseType, int currentProgress,
+              String difficultyLevel, String reward) {
+        this.id = id;
+        this.title = title;
+        this.maxProgress = maxProgress;
+        this.exerciseType = exerciseType;
+        this.currentProgress = currentProgress;
+        this.difficultyLevel = difficultyLevel;
+        this.reward = reward;
+    }
+
+    QuestItem withProgress(int progress) {
+        return progress == currentProgress ? this
+                : new QuestItem(id, title, maxProgress, exerciseType, progress, difficultyLevel, reward);
+    }
+
+    boolean isCompleted() {
+        return currentProgress >= maxProgress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof QuestItem)) return false;
+        QuestItem other = (QuestItem) o;
+        return id == other.id
+                && maxProgress == other.maxProgress
+                && currentProgress == other.currentProgress
+                && title.equals(other.title)
+                && exerciseType.equals(other.exerciseType)
+                && Objects.equals(difficultyLevel, other.difficultyLevel)
+                && reward.equals(other.reward);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+}
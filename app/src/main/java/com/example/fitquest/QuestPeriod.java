@@ -0,0 +1,42 @@
+package com.example.fitquest;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Quest periods and their keys. A key names one concrete period as a sortable int:
+ * 20250314 for a day, 202511 for ISO week 11 of 2025, 202503 for March 2025.
+ */
+public final class QuestPeriod {
+
+    public static final int DAILY = 0;
+    public static final int WEEKLY = 1;
+    public static final int MONTHLY = 2;
+    public static final int COUNT = 3;
+
+    private QuestPeriod() {}
+
+    public static int keyOf(int period, long timeMillis, TimeZone timeZone) {
+        Calendar calendar = Calendar.getInstance(timeZone);
+        // ISO weeks: Monday first, week 1 holds the year's first Thursday
+        calendar.setFirstDayOfWeek(Calendar.MONDAY);
+        calendar.setMinimalDaysInFirstWeek(4);
+        calendar.setTimeInMillis(timeMillis);
+        switch (period) {
+            case DAILY:
+                return calendar.get(Calendar.YEAR) * 10000
+                        + (calendar.get(Calendar.MONTH) + 1) * 100
+                        + calendar.get(Calendar.DAY_OF_MONTH);
+            case WEEKLY:
+                return calendar.getWeekYear() * 100 + calendar.get(Calendar.WEEK_OF_YEAR);
+            case MONTHLY:
+                return calendar.get(Calendar.YEAR) * 100 + calendar.get(Calendar.MONTH) + 1;
+            default:
+                throw new IllegalArgumentException("Unknown quest period " + period);
+        }
+    }
+
+    public static int keyOf(int period, long timeMillis) {
+        return keyOf(period, timeMillis, TimeZone.getDefault());
+    }
+}
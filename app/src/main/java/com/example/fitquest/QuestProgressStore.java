@@ -0,0 +1,164 @@
+package com.example.fitquest;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.fitquest.pose.ExerciseCatalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * On-device quest progress: one running total per exercise and concrete period.
+ *
+ * Totals are rolled up as sets finish rather than derived from history: a finished set
+ * adds its reps (or held seconds) to its day, ISO week and month in one transaction. The
+ * primary key leads with (period_type, period_key), so the quest dialog reads all three
+ * tabs with one query of three index lookups.
+ *
+ * Sets arrive from the {@link SessionJournal}, which reports every session end it writes,
+ * including the ones crash recovery closes, so the journal is the only source.
+ *
+ * Thread-safe; the helper shares one connection. Call it off the main thread, or use
+ * {@link #loadCurrentPeriodsAsync}, which queues reads on the store's own thread.
+ */
+public final class QuestProgressStore extends SQLiteOpenHelper implements SessionJournal.SessionListener {
+
+    private static final String DATABASE_NAME = "quest_progress.db";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE = "quest_progress";
+    private static final String TAG = "QuestProgressStore";
+
+    private static QuestProgressStore instance;
+
+    public static synchronized QuestProgressStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new QuestProgressStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // One reader: re-opening the quest dialog queues behind the last read instead of overlapping it
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "quest-progress"));
+
+    private QuestProgressStore(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+                + "period_type INTEGER NOT NULL, "
+                + "period_key INTEGER NOT NULL, "
+                + "exercise TEXT NOT NULL, "
+                + "amount INTEGER NOT NULL DEFAULT 0, "
+                + "PRIMARY KEY (period_type, period_key, exercise)"
+                + ") WITHOUT ROWID");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Only one version so far
+    }
+
+    // Journal thread
+    @Override
+    public void onSessionEnded(String exerciseType, int reps, long holdMillis, long endMillis) {
+        try {
+            recordSet(exerciseType, amountOf(exerciseType, reps, holdMillis), endMillis);
+        } catch (SQLException e) {
+            Log.e(TAG, "Could not record quest progress: " + e.getMessage());
+        }
+    }
+
+    // Hold exercises earn their whole seconds held, the rest their reps
+    static int amountOf(String exerciseType, int reps, long holdMillis) {
+        return ExerciseCatalog.defaults().find(exerciseType).isHold() ? (int) (holdMillis / 1000) : reps;
+    }
+
+    // Adds a finished set to its day, week and month
+    public void recordSet(String exerciseType, int amount, long timeMillis) {
+        if (amount <= 0) {
+            return;
+        }
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            SQLiteStatement insert = db.compileStatement("INSERT OR IGNORE INTO " + TABLE
+                    + " (period_type, period_key, exercise, amount) VALUES (?, ?, ?, 0)");
+            SQLiteStatement add = db.compileStatement("UPDATE " + TABLE
+                    + " SET amount = amount + ? WHERE period_type = ? AND period_key = ? AND exercise = ?");
+            for (int period = 0; period < QuestPeriod.COUNT; period++) {
+                int key = QuestPeriod.keyOf(period, timeMillis);
+                insert.bindLong(1, period);
+                insert.bindLong(2, key);
+                insert.bindString(3, exerciseType);
+                insert.executeInsert();
+
+                add.bindLong(1, amount);
+                add.bindLong(2, period);
+                add.bindLong(3, key);
+                add.bindString(4, exerciseType);
+                add.executeUpdateDelete();
+            }
+            insert.close();
+            add.close();
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // Totals per exercise for the day, week and month containing timeMillis, indexed by
+    // QuestPeriod; exercises with no sets yet are absent. One query over the primary key.
+    public List<Map<String, Integer>> loadCurrentPeriods(long timeMillis) {
+        List<Map<String, Integer>> totals = new ArrayList<>(QuestPeriod.COUNT);
+        String[] args = new String[QuestPeriod.COUNT];
+        for (int period = 0; period < QuestPeriod.COUNT; period++) {
+            totals.add(new HashMap<>());
+            args[period] = Integer.toString(QuestPeriod.keyOf(period, timeMillis));
+        }
+        try (Cursor cursor = getReadableDatabase().rawQuery("SELECT period_type, exercise, amount FROM " + TABLE
+                + " WHERE (period_type = " + QuestPeriod.DAILY + " AND period_key = ?)"
+                + " OR (period_type = " + QuestPeriod.WEEKLY + " AND period_key = ?)"
+                + " OR (period_type = " + QuestPeriod.MONTHLY + " AND period_key = ?)", args)) {
+            while (cursor.moveToNext()) {
+                totals.get(cursor.getInt(0)).put(cursor.getString(1), cursor.getInt(2));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Runs {@link #loadCurrentPeriods} on the store's thread and hands the totals to
+     * {@code onLoaded} on the main thread. A failed read is logged and not delivered.
+     */
+    public void loadCurrentPeriodsAsync(long timeMillis, Consumer<List<Map<String, Integer>>> onLoaded) {
+        executor.execute(() -> {
+            List<Map<String, Integer>> totals;
+            try {
+                totals = loadCurrentPeriods(timeMillis);
+            } catch (SQLException e) {
+                Log.e(TAG, "Could not load quest progress: " + e.getMessage());
+                return;
+            }
+            mainHandler.post(() -> onLoaded.accept(totals));
+        });
+    }
+}
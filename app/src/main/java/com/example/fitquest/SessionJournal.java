@@ -0,0 +1,307 @@
+package com.example.fitquest;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of workout events: session start, rep, hold segment, session end.
+ *
+ * Records are fixed 64-byte little-endian blocks, each carrying a CRC32 of its other 60
+ * bytes, so a torn or corrupt tail is detected and cut off by {@link #recover}. Records
+ * are buffered and written in batches: when the buffer fills, when a session ends, or
+ * when the oldest buffered record is older than {@link #MAX_BATCH_AGE_MS}. A session end
+ * is also forced to disk. A crash therefore loses at most a couple of seconds of reps,
+ * and recovery closes any session it left open.
+ *
+ * Record layout:
+ *   0  int   crc32 of bytes 4..63
+ *   4  byte  type
+ *   5  byte  flags
+ *   6  short reserved
+ *   8  long  session id
+ *   16 long  wall-clock time, epoch millis
+ *   24 long  value1: target (start), rep number (rep), milliseconds (hold), reps (end)
+ *   32 long  value2: difficulty index (start), rep millis (rep), hold millis (end)
+ *   40 16    exercise name, UTF-8, zero padded
+ *   56 long  reserved
+ *
+ * Every session end, whether written by the app or by recovery, is handed to a
+ * {@link SessionListener} once it is on disk, so quest progress is credited from the
+ * journal alone.
+ *
+ * Not thread-safe: use one writer from one thread. Every file access takes
+ * {@link #FILE_LOCK}, so recovery and writing never interleave.
+ */
+public final class SessionJournal implements Closeable {
+
+    /** Told about each session end record once it is durable. */
+    public interface SessionListener {
+        void onSessionEnded(String exerciseType, int reps, long holdMillis, long endMillis);
+    }
+
+    public static final String FILE_NAME = "sessions.fqj";
+    public static final int RECORD_SIZE = 64;
+    public static final int NAME_SIZE = 16;
+
+    public static final byte TYPE_SESSION_START = 1;
+    public static final byte TYPE_REP = 2;
+    public static final byte TYPE_HOLD_SEGMENT = 3;
+    public static final byte TYPE_SESSION_END = 4;
+
+    public static final byte FLAG_COMPLETED = 1;
+    public static final byte FLAG_ABANDONED = 2;
+    public static final byte FLAG_RECOVERED = 4;
+
+    static final int OFFSET_CRC = 0;
+    static final int OFFSET_TYPE = 4;
+    static final int OFFSET_FLAGS = 5;
+    static final int OFFSET_SESSION = 8;
+    static final int OFFSET_TIME = 16;
+    static final int OFFSET_VALUE1 = 24;
+    static final int OFFSET_VALUE2 = 32;
+    static final int OFFSET_NAME = 40;
+
+    static final long MAX_BATCH_AGE_MS = 2000;
+    private static final int BATCH_RECORDS = 32;
+
+    static final Object FILE_LOCK = new Object();
+
+    private final File file;
+    private final SessionListener listener;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private final byte[] crcScratch = new byte[RECORD_SIZE];
+    private final CRC32 crc = new CRC32();
+    private long oldestBufferedMillis = -1;
+    private long lastSessionId = 0;
+
+    private long sessionId = 0;
+    private String exerciseType;
+
+    public SessionJournal(File file, SessionListener listener) {
+        this.file = file;
+        this.listener = listener;
+    }
+
+    public static File defaultFile(File filesDir) {
+        return new File(new File(filesDir, "journal"), FILE_NAME);
+    }
+
+    public boolean isSessionOpen() {
+        return sessionId != 0;
+    }
+
+    public long startSession(String exerciseType, int difficulty, int target, long nowMillis) throws IOException {
+        if (isSessionOpen()) {
+            endSession(FLAG_ABANDONED, 0, 0, nowMillis);
+        }
+        // Ids are start times, nudged forward so two quick sessions never share one
+        sessionId = Math.max(nowMillis, lastSessionId + 1);
+        lastSessionId = sessionId;
+        this.exerciseType = exerciseType;
+        append(TYPE_SESSION_START, (byte) 0, nowMillis, target, difficulty);
+        return sessionId;
+    }
+
+    public void rep(int repNumber, long repMillis, long nowMillis) throws IOException {
+        if (isSessionOpen()) {
+            append(TYPE_REP, (byte) 0, nowMillis, repNumber, repMillis);
+        }
+    }
+
+    public void holdSegment(long segmentMillis, long nowMillis) throws IOException {
+        if (isSessionOpen()) {
+            append(TYPE_HOLD_SEGMENT, (byte) 0, nowMillis, segmentMillis, 0);
+        }
+    }
+
+    // Ends the open session and makes everything so far durable
+    public void endSession(byte flags, int reps, long holdMillis, long nowMillis) throws IOException {
+        if (!isSessionOpen()) {
+            return;
+        }
+        append(TYPE_SESSION_END, flags, nowMillis, reps, holdMillis);
+        sessionId = 0;
+        flush(true);
+        listener.onSessionEnded(exerciseType, reps, holdMillis, nowMillis);
+    }
+
+    // Writes the batch if its oldest record has waited long enough; call on every event
+    public void flushIfStale(long nowMillis) throws IOException {
+        if (oldestBufferedMillis >= 0 && nowMillis - oldestBufferedMillis >= MAX_BATCH_AGE_MS) {
+            flush(false);
+        }
+    }
+
+    public void flush(boolean durable) throws IOException {
+        if (batch.position() == 0 && !durable) {
+            return;
+        }
+        synchronized (FILE_LOCK) {
+            recoverOnce(file, listener);
+            File dir = file.getParentFile();
+            if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Cannot create " + dir);
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+                channel.position(channel.size());
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                if (durable) {
+                    channel.force(false);
+                }
+            } finally {
+                batch.clear();
+                oldestBufferedMillis = -1;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush(false);
+    }
+
+    private void append(byte type, byte flags, long nowMillis, long value1, long value2) throws IOException {
+        if (!batch.hasRemaining()) {
+            flush(false);
+        }
+        int base = batch.position();
+        encode(batch, base, crc, crcScratch, type, flags, sessionId, nowMillis, value1, value2, exerciseType);
+        batch.position(base + RECORD_SIZE);
+        if (oldestBufferedMillis < 0) {
+            oldestBufferedMillis = nowMillis;
+        }
+        flushIfStale(nowMillis);
+    }
+
+    static void encode(ByteBuffer out, int base, CRC32 crc, byte[] scratch, byte type, byte flags, long sessionId,
+                       long timeMillis, long value1, long value2, String exerciseType) {
+        for (int i = 0; i < RECORD_SIZE; i++) {
+            out.put(base + i, (byte) 0);
+        }
+        out.put(base + OFFSET_TYPE, type);
+        out.put(base + OFFSET_FLAGS, flags);
+        out.putLong(base + OFFSET_SESSION, sessionId);
+        out.putLong(base + OFFSET_TIME, timeMillis);
+        out.putLong(base + OFFSET_VALUE1, value1);
+        out.putLong(base + OFFSET_VALUE2, value2);
+        byte[] name = exerciseType == null ? new byte[0] : exerciseType.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < Math.min(name.length, NAME_SIZE); i++) {
+            out.put(base + OFFSET_NAME + i, name[i]);
+        }
+        out.putInt(base + OFFSET_CRC, checksum(out, base, crc, scratch));
+    }
+
+    static int checksum(ByteBuffer in, int base, CRC32 crc, byte[] scratch) {
+        for (int i = 4; i < RECORD_SIZE; i++) {
+            scratch[i] = in.get(base + i);
+        }
+        crc.reset();
+        crc.update(scratch, 4, RECORD_SIZE - 4);
+        return (int) crc.getValue();
+    }
+
+    // ---- Recovery ----
+
+    private static final Map<String, Boolean> recoveredFiles = new HashMap<>();
+
+    /**
+     * Startup scan: cuts the file back to its last valid record, then appends a
+     * recovered session end for every session a crash left open, with the reps and hold
+     * time journaled so far, and passes each to {@code listener} like any other session
+     * end. Runs at most once per file per process; later calls are no-ops. Returns the
+     * number of sessions closed.
+     */
+    public static int recoverIfNeeded(File file, SessionListener listener) throws IOException {
+        synchronized (FILE_LOCK) {
+            return recoverOnce(file, listener);
+        }
+    }
+
+    // Caller holds FILE_LOCK
+    private static int recoverOnce(File file, SessionListener listener) throws IOException {
+        if (recoveredFiles.put(file.getAbsolutePath(), Boolean.TRUE) != null) {
+            return 0;
+        }
+        return recover(file, System.currentTimeMillis(), listener);
+    }
+
+    static int recover(File file, long nowMillis, SessionListener listener) throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+        Map<Long, long[]> open = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        long validRecords;
+        try (SessionJournalReader reader = new SessionJournalReader(file)) {
+            validRecords = reader.getRecordCount();
+            for (int i = 0; i < validRecords; i++) {
+                long id = reader.getSessionId(i);
+                switch (reader.getType(i)) {
+                    case TYPE_SESSION_START:
+                        // reps, hold millis
+                        open.put(id, new long[2]);
+                        names.put(id, reader.getExerciseType(i));
+                        break;
+                    case TYPE_REP:
+                        if (open.containsKey(id)) {
+                            open.get(id)[0] = reader.getValue1(i);
+                        }
+                        break;
+                    case TYPE_HOLD_SEGMENT:
+                        if (open.containsKey(id)) {
+                            open.get(id)[1] += reader.getValue1(i);
+                        }
+                        break;
+                    case TYPE_SESSION_END:
+                        open.remove(id);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            long validBytes = validRecords * RECORD_SIZE;
+            if (channel.size() > validBytes) {
+                channel.truncate(validBytes);
+            }
+            if (open.isEmpty()) {
+                return 0;
+            }
+            ByteBuffer out = ByteBuffer.allocate(open.size() * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = new CRC32();
+            byte[] scratch = new byte[RECORD_SIZE];
+            int base = 0;
+            for (Map.Entry<Long, long[]> session : open.entrySet()) {
+                encode(out, base, crc, scratch, TYPE_SESSION_END, (byte) (FLAG_ABANDONED | FLAG_RECOVERED),
+                        session.getKey(), nowMillis, session.getValue()[0], session.getValue()[1],
+                        names.get(session.getKey()));
+                base += RECORD_SIZE;
+            }
+            channel.position(validBytes);
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(false);
+        }
+        for (Map.Entry<Long, long[]> session : open.entrySet()) {
+            listener.onSessionEnded(names.get(session.getKey()), (int) session.getValue()[0],
+                    session.getValue()[1], nowMillis);
+        }
+        return open.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.fitquest;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped, read-only view of a {@link SessionJournal} file.
+ *
+ * Opening validates record checksums from the start and stops at the first bad one, so
+ * {@link #getRecordCount()} covers only the intact prefix. Records are then read in place
+ * by index, without copying the file.
+ */
+public final class SessionJournalReader implements Closeable {
+
+    private final RandomAccessFile raf;
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+
+    public SessionJournalReader(File file) throws IOException {
+        raf = new RandomAccessFile(file, "r");
+        FileChannel channel = raf.getChannel();
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        CRC32 crc = new CRC32();
+        byte[] scratch = new byte[SessionJournal.RECORD_SIZE];
+        int whole = (int) (channel.size() / SessionJournal.RECORD_SIZE);
+        int valid = 0;
+        while (valid < whole) {
+            int base = valid * SessionJournal.RECORD_SIZE;
+            if (buffer.getInt(base + SessionJournal.OFFSET_CRC) != SessionJournal.checksum(buffer, base, crc, scratch)) {
+                break;
+            }
+            valid++;
+        }
+        recordCount = valid;
+    }
+
+    public int getRecordCount() { return recordCount; }
+
+    public byte getType(int record) { return buffer.get(base(record) + SessionJournal.OFFSET_TYPE); }
+    public byte getFlags(int record) { return buffer.get(base(record) + SessionJournal.OFFSET_FLAGS); }
+    public long getSessionId(int record) { return buffer.getLong(base(record) + SessionJournal.OFFSET_SESSION); }
+    public long getTimeMillis(int record) { return buffer.getLong(base(record) + SessionJournal.OFFSET_TIME); }
+    public long getValue1(int record) { return buffer.getLong(base(record) + SessionJournal.OFFSET_VALUE1); }
+    public long getValue2(int record) { return buffer.getLong(base(record) + SessionJournal.OFFSET_VALUE2); }
+
+    public String getExerciseType(int record) {
+        int start = base(record) + SessionJournal.OFFSET_NAME;
+        byte[] name = new byte[SessionJournal.NAME_SIZE];
+        int length = 0;
+        while (length < SessionJournal.NAME_SIZE && buffer.get(start + length) != 0) {
+            name[length] = buffer.get(start + length);
+            length++;
+        }
+        return new String(name, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int base(int record) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("record " + record + " of " + recordCount);
+        }
+        return record * SessionJournal.RECORD_SIZE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        raf.close();
+    }
+}
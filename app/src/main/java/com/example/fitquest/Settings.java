@@ -2,7 +2,6 @@ package com.example.fitquest;
 
 import android.app.Dialog;
 import android.content.Context;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.Window;
 import android.widget.Button;
@@ -10,15 +9,11 @@ import android.widget.SeekBar;
 import android.widget.Switch;
 import android.widget.Toast;
 
-public class Settings {
+public class Settings implements HomePopup {
 
     private final Dialog dialog;
 
-    public Settings(Context context) {
-        // Inflate layout
-        LayoutInflater inflater = LayoutInflater.from(context);
-        View view = inflater.inflate(R.layout.settings, null);
-
+    public Settings(Context context, View view) {
         // Set up dialog
         dialog = new Dialog(context);
         dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
@@ -61,7 +56,18 @@ public class Settings {
         faqBtn.setOnClickListener(v -> Toast.makeText(context, "FAQ clicked", Toast.LENGTH_SHORT).show());
     }
 
+    @Override
     public void show() {
         dialog.show();
     }
+
+    @Override
+    public void dismiss() {
+        dialog.dismiss();
+    }
+
+    @Override
+    public boolean isShowing() {
+        return dialog.isShowing();
+    }
 }
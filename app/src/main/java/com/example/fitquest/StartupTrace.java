@@ -0,0 +1,75 @@
+package com.example.fitquest;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Cold-start timing per launch route. {@link LauncherActivity} names the route; the
+ * destination reports when its first frame is drawn, and the time since the process
+ * started is logged as "TTFF route=<route> ms=<n>" under this tag. The interval also
+ * appears as an async "startup:<route>" section in system traces. Only the first frame
+ * of the process counts.
+ */
+final class StartupTrace {
+
+    private static final String TAG = "StartupTrace";
+    private static final int TRACE_COOKIE = 0x5747;
+
+    static final String ROUTE_ACCOUNT = "account";
+    static final String ROUTE_AVATAR = "avatar";
+    static final String ROUTE_HOME = "home";
+
+    // Main thread only
+    private static String route;
+    private static boolean reported = false;
+
+    private StartupTrace() {}
+
+    static void beginRoute(String launchRoute) {
+        if (route != null) {
+            return;
+        }
+        route = launchRoute;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection("startup:" + route, TRACE_COOKIE);
+        }
+    }
+
+    // Call from the destination's onCreate, after setContentView
+    static void reportFirstFrame(Activity activity) {
+        if (reported || route == null) {
+            return;
+        }
+        reported = true;
+        View decor = activity.getWindow().getDecorView();
+        Handler handler = new Handler(Looper.getMainLooper());
+        decor.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+            private boolean drawn = false;
+
+            @Override
+            public void onDraw() {
+                if (drawn) {
+                    return;
+                }
+                drawn = true;
+                // Listeners can't be removed during dispatch; the frame is on its way now
+                handler.postAtFrontOfQueue(() -> {
+                    decor.getViewTreeObserver().removeOnDrawListener(this);
+                    long ms = SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime();
+                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                        Trace.endAsyncSection("startup:" + route, TRACE_COOKIE);
+                    }
+                    Log.i(TAG, "TTFF route=" + route + " ms=" + ms);
+                });
+            }
+        });
+    }
+}
@@ -2,7 +2,6 @@ package com.example.fitquest;
 
 import android.app.Dialog;
 import android.content.Context;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.Window;
 import android.widget.Button;
@@ -10,7 +9,7 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
-public class Stats {
+public class Stats implements HomePopup {
 
     private final Dialog dialog;
 
@@ -21,10 +20,7 @@ public class Stats {
     private TextView txtStrength, txtEndurance, txtAgility, txtFlexibility, txtStamina;
     private TextView physiqueTitle, attributesTitle;
 
-    public Stats(Context context) {
-        LayoutInflater inflater = LayoutInflater.from(context);
-        View popupView = inflater.inflate(R.layout.stats, null);
-
+    public Stats(Context context, View popupView) {
         // Dialog setup
         dialog = new Dialog(context);
         dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
@@ -105,7 +101,18 @@ public class Stats {
         attributesTitle.setText("ATTRIBUTES: 99    " + freeAttributePoints);
     }
 
+    @Override
     public void show() {
         dialog.show();
     }
+
+    @Override
+    public void dismiss() {
+        dialog.dismiss();
+    }
+
+    @Override
+    public boolean isShowing() {
+        return dialog.isShowing();
+    }
 }
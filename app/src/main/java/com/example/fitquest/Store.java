@@ -2,7 +2,6 @@ package com.example.fitquest;
 
 import android.app.Dialog;
 import android.content.Context;
-import android.content.SharedPreferences;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.Window;
@@ -10,12 +9,11 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-public class Store {
-
-    private static final String PREF_NAME = "FitQuestPrefs";
-    private static final String KEY_GENDER = "gender"; // "male" or "female"
+public class Store implements HomePopup {
 
+    private final Context context;
     private final Dialog dialog;
+    private final ImageView characterPreview;
 
     private final int[] itemPrices = {999, 1499, 2499, 4999};
     private final int[] itemIcons = {
@@ -25,9 +23,9 @@ public class Store {
             R.drawable.lock
     };
 
-    public Store(Context context) {
+    public Store(Context context, View view) {
+        this.context = context;
         LayoutInflater inflater = LayoutInflater.from(context);
-        View view = inflater.inflate(R.layout.store, null);
 
         // Dialog setup
         dialog = new Dialog(context);
@@ -36,12 +34,7 @@ public class Store {
         dialog.setCancelable(true);
         dialog.getWindow().setBackgroundDrawableResource(android.R.color.transparent);
 
-        // Character preview based on gender
-        ImageView characterPreview = view.findViewById(R.id.character_preview);
-        SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        String gender = prefs.getString(KEY_GENDER, "male");
-        int drawableId = "female".equalsIgnoreCase(gender) ? R.drawable.female : R.drawable.male2;
-        characterPreview.setImageResource(drawableId);
+        characterPreview = view.findViewById(R.id.character_preview);
 
         // Populate store items
         LinearLayout storeItemsContainer = view.findViewById(R.id.store_container);
@@ -63,7 +56,21 @@ public class Store {
         }
     }
 
+    @Override
     public void show() {
+        // Character preview of the saved avatar
+        AvatarCompositor.getInstance(context).into(characterPreview,
+                ProfileRepository.getInstance(context).getProfile().getAvatar());
         dialog.show();
     }
+
+    @Override
+    public void dismiss() {
+        dialog.dismiss();
+    }
+
+    @Override
+    public boolean isShowing() {
+        return dialog.isShowing();
+    }
 }
@@ -0,0 +1,113 @@
+package com.example.fitquest;
+
+import android.widget.TextView;
+
+/**
+ * Copies {@link TrackingSnapshot}s into the tracking screen's counters.
+ *
+ * Only fields that changed since the last snapshot reach their TextView, since every
+ * setText on these wrap_content views asks for a relayout. Rep and timer strings are
+ * built once per value and reused. Main thread only.
+ */
+final class TrackingScreenBinder {
+
+    private static final int MAX_CACHED_SECONDS = 600;
+
+    private final TextView repCounter;
+    private final TextView timerText;
+    private final TextView feedbackText;
+
+    private String displayName = "";
+    private int targetReps;
+    private String[] repTexts = new String[0];
+    private String[] timerTexts = new String[0];
+
+    // Last applied values; -1 and null mean "not shown yet"
+    private int shownReps = -1;
+    private long shownSeconds = -1;
+    private String shownFeedback;
+
+    TrackingScreenBinder(TextView repCounter, TextView timerText, TextView feedbackText) {
+        this.repCounter = repCounter;
+        this.timerText = timerText;
+        this.feedbackText = feedbackText;
+    }
+
+    // Starts a new exercise: drops cached strings and shows the zeroed counter
+    void setExercise(String displayName, int targetReps, boolean isHold) {
+        this.displayName = displayName;
+        this.targetReps = targetReps;
+        repTexts = new String[Math.max(0, targetReps) + 1];
+        timerTexts = new String[MAX_CACHED_SECONDS + 1];
+        shownReps = -1;
+        shownSeconds = -1;
+        if (isHold) {
+            showSeconds(0);
+        } else {
+            showReps(0);
+        }
+    }
+
+    void bind(TrackingSnapshot snapshot) {
+        if (snapshot.countersUpdated) {
+            if (snapshot.isHold) {
+                showSeconds(snapshot.holdTimeSeconds);
+            } else {
+                showReps(snapshot.currentReps);
+            }
+        }
+        // Form corrections take priority over the rep feedback
+        showFeedback(snapshot.formCue != null ? snapshot.formCue : snapshot.feedbackText);
+    }
+
+    // Text set from outside the binder, e.g. the completion message
+    void showFeedback(String text) {
+        // Feedback strings are mostly the same few constants, so identity usually decides
+        if (text == shownFeedback || (text != null && text.equals(shownFeedback))) {
+            return;
+        }
+        shownFeedback = text;
+        feedbackText.setText(text);
+    }
+
+    private void showReps(int reps) {
+        if (reps == shownReps) {
+            return;
+        }
+        shownReps = reps;
+        repCounter.setText(repText(reps));
+    }
+
+    private void showSeconds(long seconds) {
+        if (seconds == shownSeconds) {
+            return;
+        }
+        shownSeconds = seconds;
+        timerText.setText(timerText(seconds));
+    }
+
+    private String repText(int reps) {
+        if (reps < 0 || reps >= repTexts.length) {
+            return displayName + " Reps: " + reps + "/" + targetReps;
+        }
+        String text = repTexts[reps];
+        if (text == null) {
+            text = displayName + " Reps: " + reps + "/" + targetReps;
+            repTexts[reps] = text;
+        }
+        return text;
+    }
+
+    private String timerText(long seconds) {
+        if (seconds < 0 || seconds >= timerTexts.length) {
+            return displayName + " Time: " + seconds + "s";
+        }
+        int index = (int) seconds;
+        String text = timerTexts[index];
+        if (text == null) {
+            text = displayName + " Time: " + seconds + "s";
+            timerTexts[index] = text;
+        }
+        return text;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.fitquest;
+
+/**
+ * Immutable detector output for one batch of analyzed frames. Built on the detection
+ * thread and handed to the main thread, which only copies it into views. The pose
+ * itself reaches the overlay separately, through its own stage.
+ */
+public final class TrackingSnapshot {
+
+    public final String exerciseType;
+    public final boolean isHold;
+    public final boolean countersUpdated;
+    public final int currentReps;
+    public final int targetReps;
+    public final long holdTimeSeconds;
+    public final String feedbackText;
+    // Null unless the form checker has a correction to show
+    public final String formCue;
+    public final boolean exerciseCompleted;
+
+    // SystemClock.elapsedRealtimeNanos() of the newest frame's arrival and of posting
+    public final long frameArrivalNanos;
+    public final long postedNanos;
+
+    TrackingSnapshot(String exerciseType, boolean isHold, boolean countersUpdated, int currentReps, int targetReps,
+                     long holdTimeSeconds, String feedbackText, String formCue, boolean exerciseCompleted,
+                     long frameArrivalNanos, long postedNanos) {
+        this.exerciseType = exerciseType;
+        this.isHold = isHold;
+        this.countersUpdated = countersUpdated;
+        this.currentReps = currentReps;
+        this.targetReps = targetReps;
+        this.holdTimeSeconds = holdTimeSeconds;
+        this.feedbackText = feedbackText;
+        this.formCue = formCue;
+        this.exerciseCompleted = exerciseCompleted;
+        this.frameArrivalNanos = frameArrivalNanos;
+        this.postedNanos = postedNanos;
+    }
+
+    /**
+     * The snapshot to leave for the main thread when {@code next} is posted before
+     * {@code pending} was rendered. Newer wins, except that a completed set is never
+     * replaced: a later batch with nobody in frame would otherwise hide the completion.
+     */
+    static TrackingSnapshot supersede(TrackingSnapshot pending, TrackingSnapshot next) {
+        if (pending != null && pending.exerciseCompleted && !next.exerciseCompleted) {
+            return pending;
+        }
+        return next;
+    }
+}
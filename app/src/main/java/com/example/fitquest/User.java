@@ -1,22 +1,17 @@
 package com.example.fitquest;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 
+// Level shortcuts over the shared profile; reads come from its in-memory snapshot
 public class User {
 
-    private static final String PREFS_NAME = "fitquest_prefs";
-    private static final String KEY_USER_LEVEL = "user_level";
-
     public static int getLevel(Context context) {
-        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        return prefs.getInt(KEY_USER_LEVEL, 1); // default level 1
+        return ProfileRepository.getInstance(context).getProfile().getLevel();
     }
 
     public static void setLevel(Context context, int level) {
         int clamped = Math.max(1, Math.min(30, level));
-        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        prefs.edit().putInt(KEY_USER_LEVEL, clamped).apply();
+        ProfileRepository.getInstance(context).edit().setLevel(clamped).apply();
     }
 
     public static String getDifficultyLevel(Context context) {
@@ -0,0 +1,49 @@
+package com.example.fitquest;
+
+/**
+ * Immutable snapshot of the player's profile. Screens keep whichever snapshot they were
+ * handed and get a new one through {@link ProfileRepository.Listener} when anything changes.
+ */
+public final class UserProfile {
+
+    static final UserProfile EMPTY = new UserProfile(null, "male", false, 1, AvatarParts.NONE, 1);
+
+    private final String username;
+    private final String gender;
+    private final boolean avatarCreated;
+    private final int level;
+    // Overlay layers only; the body follows the gender
+    private final AvatarParts avatarParts;
+    private final int challengeLevel;
+
+    UserProfile(String username, String gender, boolean avatarCreated, int level, AvatarParts avatarParts,
+                int challengeLevel) {
+        this.username = username;
+        this.gender = gender;
+        this.avatarCreated = avatarCreated;
+        this.level = level;
+        this.avatarParts = avatarParts;
+        this.challengeLevel = challengeLevel;
+    }
+
+    // Null until an account has been created
+    public String getUsername() { return username; }
+    public String getDisplayName() { return username != null ? username : "Player"; }
+    public String getGender() { return gender; }
+    public boolean isFemale() { return "female".equalsIgnoreCase(gender); }
+    public boolean isAvatarCreated() { return avatarCreated; }
+    public int getLevel() { return level; }
+    public String getDifficultyLevel() { return User.difficultyFromLevel(level); }
+    AvatarParts getAvatarParts() { return avatarParts; }
+    // Lowest challenge level not yet beaten; every level below it is unlocked
+    public int getChallengeLevel() { return challengeLevel; }
+
+    public boolean hasAccount() {
+        return username != null;
+    }
+
+    // Every avatar layer, with the body for the saved gender; show it with AvatarCompositor
+    public AvatarParts getAvatar() {
+        return avatarParts.withBody(isFemale());
+    }
+}
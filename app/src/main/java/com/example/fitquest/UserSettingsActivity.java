@@ -12,6 +12,9 @@ import androidx.appcompat.app.AppCompatActivity;
 
 public class UserSettingsActivity extends AppCompatActivity {
 
+    private ProfileRepository profiles;
+    private ProfileRepository.Listener profileListener;
+
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -28,9 +31,10 @@ public class UserSettingsActivity extends AppCompatActivity {
         title.setPadding(0, 0, 0, padding);
         root.addView(title);
 
+        profiles = ProfileRepository.getInstance(this);
+
         TextView currentLevel = new TextView(this);
         currentLevel.setTextSize(18);
-        updateLevelText(currentLevel);
         root.addView(currentLevel);
 
         LinearLayout row = new LinearLayout(this);
@@ -41,10 +45,9 @@ public class UserSettingsActivity extends AppCompatActivity {
         Button minus = new Button(this);
         minus.setText("-");
         minus.setOnClickListener(v -> {
-            int level = User.getLevel(this);
+            int level = profiles.getProfile().getLevel();
             if (level > 1) {
                 User.setLevel(this, level - 1);
-                updateLevelText(currentLevel);
             }
         });
         row.addView(minus);
@@ -52,10 +55,9 @@ public class UserSettingsActivity extends AppCompatActivity {
         Button plus = new Button(this);
         plus.setText("+");
         plus.setOnClickListener(v -> {
-            int level = User.getLevel(this);
+            int level = profiles.getProfile().getLevel();
             if (level < 30) {
                 User.setLevel(this, level + 1);
-                updateLevelText(currentLevel);
             }
         });
         row.addView(plus);
@@ -66,7 +68,11 @@ public class UserSettingsActivity extends AppCompatActivity {
         diff.setTextSize(16);
         diff.setPadding(0, 0, 0, padding);
         root.addView(diff);
-        diff.post(() -> diff.setText("Difficulty: " + User.getDifficultyLevel(this)));
+
+        // Texts follow the profile, so a level change shows without re-reading anything
+        profileListener = profile -> bindLevel(profile, currentLevel, diff);
+        profiles.addListener(profileListener);
+        bindLevel(profiles.getProfile(), currentLevel, diff);
 
         Button close = new Button(this);
         close.setText("Close");
@@ -76,8 +82,14 @@ public class UserSettingsActivity extends AppCompatActivity {
         setContentView(root);
     }
 
-    private void updateLevelText(TextView tv) {
-        int level = User.getLevel(this);
-        tv.setText("Level: " + level + " (" + User.getDifficultyLevel(this) + ")");
+    private static void bindLevel(UserProfile profile, TextView level, TextView difficulty) {
+        level.setText("Level: " + profile.getLevel() + " (" + profile.getDifficultyLevel() + ")");
+        difficulty.setText("Difficulty: " + profile.getDifficultyLevel());
+    }
+
+    @Override
+    protected void onDestroy() {
+        profiles.removeListener(profileListener);
+        super.onDestroy();
     }
 }
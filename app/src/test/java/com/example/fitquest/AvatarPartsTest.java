@@ -0,0 +1,34 @@
+package com.example.fitquest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class AvatarPartsTest {
+
+    @Test
+    public void overlays_roundTripWithoutTheBody() {
+        AvatarParts parts = AvatarParts.NONE.withBody(true)
+                .with(AvatarParts.HAIR, "hair_3")
+                .with(AvatarParts.LIPS, "lips_1");
+
+        AvatarParts restored = AvatarParts.decodeOverlays(parts.encodeOverlays());
+
+        assertEquals("", restored.getLayer(AvatarParts.BODY));
+        assertEquals(parts, restored.withBody(true));
+        assertEquals(AvatarParts.NONE, AvatarParts.decodeOverlays(null));
+    }
+
+    @Test
+    public void cacheKeys_separateLayersSizesAndScaling() {
+        AvatarParts male = AvatarParts.NONE.withBody(false);
+        String key = male.cacheKey(180, 280, false);
+
+        assertEquals("male2.-.-.-.-.-.180x280f", key);
+        assertNotEquals(key, male.withBody(true).cacheKey(180, 280, false));
+        assertNotEquals(key, male.with(AvatarParts.HEAD, "head_2").cacheKey(180, 280, false));
+        assertNotEquals(key, male.cacheKey(120, 200, false));
+        assertNotEquals(key, male.cacheKey(180, 280, true));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.fitquest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class LevelCatalogTest {
+
+    // Same layout :app:packLevels writes
+    private static byte[] levelFile(String[] names, int[][] levels) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeBytes("FQLV");
+        out.writeByte(1);
+        out.writeByte(names.length);
+        for (String name : names) {
+            out.writeByte(name.length());
+            out.writeBytes(name);
+        }
+        out.writeInt(levels.length);
+        for (int[] level : levels) {
+            out.writeByte(level[0]);
+            out.writeByte(level[1]);
+            out.writeShort(level[2]);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void parse_readsLevelsFromOne() throws IOException {
+        byte[] file = levelFile(new String[]{"squats", "plank"},
+                new int[][]{{0, 0, 10}, {1, 3, 60000}});
+
+        LevelCatalog catalog = LevelCatalog.parse(ByteBuffer.wrap(file));
+
+        assertEquals(2, catalog.getLevelCount());
+        assertEquals("squats", catalog.getExerciseType(1));
+        assertEquals(0, catalog.getDifficulty(1));
+        assertEquals(10, catalog.getTarget(1));
+        assertEquals("plank", catalog.getExerciseType(2));
+        assertEquals(3, catalog.getDifficulty(2));
+        assertEquals(60000, catalog.getTarget(2));
+    }
+
+    @Test
+    public void parse_rejectsTruncatedAndForeignFiles() throws IOException {
+        byte[] file = levelFile(new String[]{"squats"}, new int[][]{{0, 0, 10}, {0, 1, 12}});
+        assertRejected(Arrays.copyOf(file, file.length - 3));
+        assertRejected(Arrays.copyOf(file, 6));
+        file[0] = 'X';
+        assertRejected(file);
+        assertRejected(levelFile(new String[]{"squats"}, new int[][]{{1, 0, 10}}));
+    }
+
+    private static void assertRejected(byte[] file) {
+        try {
+            LevelCatalog.parse(ByteBuffer.wrap(file));
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // ok
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.fitquest;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+public class QuestPeriodTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static long utc(int year, int month, int day, int hour) {
+        Calendar calendar = Calendar.getInstance(UTC);
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    @Test
+    public void keysNameTheDayMonthAndIsoWeek() {
+        long time = utc(2025, 3, 14, 12);
+        assertEquals(20250314, QuestPeriod.keyOf(QuestPeriod.DAILY, time, UTC));
+        assertEquals(202511, QuestPeriod.keyOf(QuestPeriod.WEEKLY, time, UTC));
+        assertEquals(202503, QuestPeriod.keyOf(QuestPeriod.MONTHLY, time, UTC));
+    }
+
+    @Test
+    public void isoWeeks_runMondayToSundayAcrossYearEnd() {
+        // Monday 2024-12-30 starts week 1 of 2025; Sunday 2024-12-29 ends week 52 of 2024
+        assertEquals(202501, QuestPeriod.keyOf(QuestPeriod.WEEKLY, utc(2024, 12, 30, 8), UTC));
+        assertEquals(202501, QuestPeriod.keyOf(QuestPeriod.WEEKLY, utc(2025, 1, 5, 23), UTC));
+        assertEquals(202452, QuestPeriod.keyOf(QuestPeriod.WEEKLY, utc(2024, 12, 29, 23), UTC));
+        assertEquals(202412, QuestPeriod.keyOf(QuestPeriod.MONTHLY, utc(2024, 12, 30, 8), UTC));
+    }
+}
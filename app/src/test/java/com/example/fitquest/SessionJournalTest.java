@@ -0,0 +1,150 @@
+package com.example.fitquest;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SessionJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // Rolls sets up by period the way QuestProgressStore does, keyed "exercise@periodKey"
+    private static final class QuestTotals implements SessionJournal.SessionListener {
+        final List<Map<String, Integer>> byPeriod = new ArrayList<>();
+
+        QuestTotals() {
+            for (int period = 0; period < QuestPeriod.COUNT; period++) {
+                byPeriod.add(new HashMap<>());
+            }
+        }
+
+        @Override
+        public void onSessionEnded(String exerciseType, int reps, long holdMillis, long endMillis) {
+            int amount = QuestProgressStore.amountOf(exerciseType, reps, holdMillis);
+            for (int period = 0; period < QuestPeriod.COUNT; period++) {
+                byPeriod.get(period).merge(exerciseType + "@" + QuestPeriod.keyOf(period, endMillis), amount, Integer::sum);
+            }
+        }
+
+        int total(int period, String exerciseType, long timeMillis) {
+            return byPeriod.get(period).getOrDefault(exerciseType + "@" + QuestPeriod.keyOf(period, timeMillis), 0);
+        }
+    }
+
+    private final QuestTotals totals = new QuestTotals();
+
+    @Test
+    public void recordsRoundTripThroughMappedReader() throws Exception {
+        File file = new File(folder.getRoot(), SessionJournal.FILE_NAME);
+        SessionJournal journal = new SessionJournal(file, totals);
+        long id = journal.startSession("squats", 2, 10, 1_000L);
+        journal.rep(1, 0, 2_000L);
+        journal.rep(2, 1_400L, 3_400L);
+        journal.endSession(SessionJournal.FLAG_COMPLETED, 2, 0, 4_000L);
+
+        try (SessionJournalReader reader = new SessionJournalReader(file)) {
+            assertEquals(4, reader.getRecordCount());
+            assertEquals(SessionJournal.TYPE_SESSION_START, reader.getType(0));
+            assertEquals(id, reader.getSessionId(0));
+            assertEquals(10, reader.getValue1(0));
+            assertEquals(2, reader.getValue2(0));
+            assertEquals("squats", reader.getExerciseType(0));
+            assertEquals(1_400L, reader.getValue2(2));
+            assertEquals(SessionJournal.TYPE_SESSION_END, reader.getType(3));
+            assertEquals(SessionJournal.FLAG_COMPLETED, reader.getFlags(3));
+        }
+    }
+
+    @Test
+    public void recovery_truncatesTornTailAndClosesOpenSession() throws Exception {
+        File file = new File(folder.getRoot(), SessionJournal.FILE_NAME);
+        SessionJournal journal = new SessionJournal(file, totals);
+        long id = journal.startSession("plank", 0, 30, 1_000L);
+        journal.holdSegment(4_000L, 5_000L);
+        journal.holdSegment(2_500L, 9_000L);
+        journal.flush(false);
+
+        // A crash mid-write leaves half a record at the end
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length());
+            raf.write(new byte[SessionJournal.RECORD_SIZE / 2]);
+        }
+
+        assertEquals(1, SessionJournal.recover(file, 20_000L, totals));
+        assertEquals(4 * SessionJournal.RECORD_SIZE, file.length());
+        try (SessionJournalReader reader = new SessionJournalReader(file)) {
+            assertEquals(4, reader.getRecordCount());
+            assertEquals(SessionJournal.TYPE_SESSION_END, reader.getType(3));
+            assertEquals(id, reader.getSessionId(3));
+            assertEquals(SessionJournal.FLAG_ABANDONED | SessionJournal.FLAG_RECOVERED, reader.getFlags(3));
+            assertEquals(6_500L, reader.getValue2(3));
+            assertEquals("plank", reader.getExerciseType(3));
+        }
+
+        // Nothing left open, so a second scan changes nothing
+        assertEquals(0, SessionJournal.recover(file, 30_000L, totals));
+    }
+
+    @Test
+    public void corruptRecord_endsTheValidPrefix() throws Exception {
+        File file = new File(folder.getRoot(), SessionJournal.FILE_NAME);
+        SessionJournal journal = new SessionJournal(file, totals);
+        journal.startSession("pushups", 0, 10, 1_000L);
+        journal.rep(1, 0, 2_000L);
+        journal.rep(2, 900L, 2_900L);
+        journal.flush(false);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(SessionJournal.RECORD_SIZE + SessionJournal.OFFSET_VALUE1);
+            raf.write(7);
+        }
+        try (SessionJournalReader reader = new SessionJournalReader(file)) {
+            assertEquals(1, reader.getRecordCount());
+        }
+    }
+
+    @Test
+    public void recoveredSession_isCreditedLikeAFinishedOne() throws Exception {
+        File file = new File(folder.getRoot(), SessionJournal.FILE_NAME);
+        SessionJournal journal = new SessionJournal(file, totals);
+        journal.startSession("squats", 0, 10, 1_000L);
+        journal.rep(1, 0, 2_000L);
+        journal.rep(2, 1_100L, 3_100L);
+        journal.endSession(SessionJournal.FLAG_ABANDONED, 2, 0, 4_000L);
+
+        // A crash after three more reps reached the disk
+        journal.startSession("squats", 0, 10, 5_000L);
+        journal.rep(1, 0, 6_000L);
+        journal.rep(2, 1_000L, 7_000L);
+        journal.rep(3, 1_000L, 8_000L);
+        journal.flush(false);
+
+        assertEquals(1, SessionJournal.recover(file, 9_000L, totals));
+        for (int period = 0; period < QuestPeriod.COUNT; period++) {
+            assertEquals(5, totals.total(period, "squats", 9_000L));
+        }
+    }
+
+    @Test
+    public void holdSessions_areCreditedInWholeSeconds() throws Exception {
+        File file = new File(folder.getRoot(), SessionJournal.FILE_NAME);
+        SessionJournal journal = new SessionJournal(file, totals);
+        journal.startSession("plank", 0, 30, 1_000L);
+        journal.holdSegment(4_000L, 5_000L);
+        journal.holdSegment(2_500L, 9_000L);
+        journal.flush(false);
+
+        assertEquals(1, SessionJournal.recover(file, 10_000L, totals));
+        assertEquals(6, totals.total(QuestPeriod.DAILY, "plank", 10_000L));
+    }
+}
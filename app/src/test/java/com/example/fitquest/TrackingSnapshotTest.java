@@ -0,0 +1,34 @@
+package com.example.fitquest;
+
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class TrackingSnapshotTest {
+
+    private static TrackingSnapshot snapshot(boolean countersUpdated, int reps, String feedback, boolean completed) {
+        return new TrackingSnapshot("squats", false, countersUpdated, reps, 10, 0, feedback, null, completed, 0, 0);
+    }
+
+    @Test
+    public void newerSnapshotReplacesAnUnrenderedOne() {
+        TrackingSnapshot pending = snapshot(true, 4, "Good", false);
+        TrackingSnapshot next = snapshot(true, 5, "Good", false);
+        assertSame(next, TrackingSnapshot.supersede(pending, next));
+        assertSame(next, TrackingSnapshot.supersede(null, next));
+    }
+
+    @Test
+    public void completionFollowedByNoBodyBatch_isStillRendered() {
+        TrackingSnapshot completed = snapshot(true, 10, "Done", true);
+        TrackingSnapshot noBody = snapshot(false, 10, "Please stand back to see your full body", false);
+        assertSame(completed, TrackingSnapshot.supersede(completed, noBody));
+    }
+
+    @Test
+    public void laterCompletedSnapshotReplacesAnEarlierOne() {
+        TrackingSnapshot completed = snapshot(true, 10, "Done", true);
+        TrackingSnapshot later = snapshot(false, 10, "Say 'Start' to begin tracking", true);
+        assertSame(later, TrackingSnapshot.supersede(completed, later));
+    }
+}
@@ -0,0 +1,33 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+// ./gradlew :leaderboard:jmh
+// Average ns per submit, rank lookup and around-me page at 10k and 1M players.
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+}
+
+// ./gradlew :leaderboard:loadTest --args="--players 1000000 --threads 4 --seconds 10"
+// Mixed concurrent load on one in-process board; prints operations/sec by kind.
+tasks.register<JavaExec>("loadTest") {
+    description = "Drives an in-process Leaderboard from several threads."
+    group = "verification"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.fitquest.leaderboard.LeaderboardLoad")
+    maxHeapSize = "2g"
+}
@@ -0,0 +1,56 @@
+package com.example.fitquest.leaderboard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of each leaderboard operation as the board grows. With O(log n)
+ * operations, a hundredfold more players should add only a few link hops per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LeaderboardBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int players;
+
+    private Leaderboard board;
+    private String[] names;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        board = LeaderboardLoad.fill(players, LeaderboardLoad.LOAD_MAX_SCORE, 1);
+        names = new String[players];
+        for (int i = 0; i < players; i++) {
+            names[i] = "player-" + (i + 1);
+        }
+        random = new SplittableRandom(2);
+    }
+
+    @Benchmark
+    public int submit() {
+        return board.submit(names[random.nextInt(players)], random.nextInt(LeaderboardLoad.LOAD_MAX_SCORE));
+    }
+
+    @Benchmark
+    public Leaderboard.Entry rank() {
+        return board.get(names[random.nextInt(players)]);
+    }
+
+    @Benchmark
+    public List<Leaderboard.Entry> aroundFive() {
+        return board.around(names[random.nextInt(players)], 5, 5);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.fitquest.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Player ranking by score. Submitting a score, a player's rank, and the page of ranks
+ * around a player are each O(log n) expected, plus the page length, so they stay flat
+ * at millions of players.
+ *
+ * Higher scores rank first; of equal scores, the one reached first ranks higher. Ranks
+ * start at 1. Safe for concurrent use: lookups share a read lock and submissions take
+ * the write lock.
+ */
+public final class Leaderboard {
+
+    public static final class Entry {
+        public final int rank;
+        public final String player;
+        public final long score;
+
+        Entry(int rank, String player, long score) {
+            this.rank = rank;
+            this.player = player;
+            this.score = score;
+        }
+
+        @Override
+        public String toString() {
+            return rank + ". " + player + " " + score;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RankedSkipList.Node> players = new HashMap<>();
+    private final RankedSkipList list;
+    private long sequence = 0;
+
+    public Leaderboard() {
+        this(System.nanoTime());
+    }
+
+    // Fixed seed for reproducible tests and benchmarks
+    public Leaderboard(long seed) {
+        list = new RankedSkipList(seed);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return list.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Sets the player's score, adding them if new, and returns their rank. */
+    public int submit(String player, long score) {
+        lock.writeLock().lock();
+        try {
+            RankedSkipList.Node node = players.get(player);
+            if (node != null) {
+                if (node.score == score) {
+                    return list.rank(node);
+                }
+                list.delete(node);
+            }
+            node = list.newNode(player, score, ++sequence);
+            players.put(player, node);
+            return list.insert(node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns true if the player was ranked. */
+    public boolean remove(String player) {
+        lock.writeLock().lock();
+        try {
+            RankedSkipList.Node node = players.remove(player);
+            if (node != null) {
+                list.delete(node);
+            }
+            return node != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The player's rank and score, or null if they have none. */
+    public Entry get(String player) {
+        lock.readLock().lock();
+        try {
+            RankedSkipList.Node node = players.get(player);
+            return node == null ? null : new Entry(list.rank(node), node.player, node.score);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code above} entries ranked above the player, the player, and up to
+     * {@code below} ranked below, best first. Empty if the player has no score.
+     */
+    public List<Entry> around(String player, int above, int below) {
+        lock.readLock().lock();
+        try {
+            RankedSkipList.Node node = players.get(player);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            int rank = list.rank(node);
+            // Step back from the player rather than seeking the first rank from the top
+            RankedSkipList.Node first = node;
+            int from = rank;
+            for (int i = 0; i < above && first.above != null; i++) {
+                first = first.above;
+                from--;
+            }
+            int to = rank + Math.max(0, Math.min(below, list.size() - rank));
+            return collect(first, from, to - from + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code count} entries from a 1-based rank, best first. */
+    public List<Entry> page(int fromRank, int count) {
+        lock.readLock().lock();
+        try {
+            int from = Math.max(1, fromRank);
+            return collect(list.byRank(from), from, Math.max(0, Math.min(count, list.size() - from + 1)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A walk along the bottom level from the node at fromRank; lock held
+    private static List<Entry> collect(RankedSkipList.Node node, int fromRank, int length) {
+        List<Entry> entries = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            entries.add(new Entry(fromRank + i, node.player, node.score));
+            node = node.below();
+        }
+        return entries;
+    }
+}
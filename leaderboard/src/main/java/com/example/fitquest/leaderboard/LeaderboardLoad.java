@@ -0,0 +1,123 @@
+package com.example.fitquest.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * In-process load generator: fills a {@link Leaderboard} and hammers it from several
+ * threads with a mix of score submissions, rank lookups and pages around a player.
+ *
+ * Usage: LeaderboardLoad [--players 1000000] [--threads 4] [--seconds 10]
+ *        [--submit-percent 20] [--around 5]
+ *
+ * Prints fill time, then operations/sec by kind. The rest of the mix is split evenly
+ * between rank lookups and around-me pages of --around either side.
+ */
+public final class LeaderboardLoad {
+
+    // Wide enough that ties are rare, so the load exercises the whole list
+    public static final int LOAD_MAX_SCORE = 1_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int players = 1_000_000;
+        int threads = 4;
+        int seconds = 10;
+        int submitPercent = 20;
+        int around = 5;
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--players": players = Integer.parseInt(value); i++; break;
+                case "--threads": threads = Integer.parseInt(value); i++; break;
+                case "--seconds": seconds = Integer.parseInt(value); i++; break;
+                case "--submit-percent": submitPercent = Integer.parseInt(value); i++; break;
+                case "--around": around = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("Unknown argument " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        long fillStart = System.nanoTime();
+        Leaderboard board = fill(players, LOAD_MAX_SCORE, 1);
+        double fillSeconds = (System.nanoTime() - fillStart) / 1e9;
+        System.out.printf("filled %,d players in %.2f s (%.0f submits/s)%n", players, fillSeconds, players / fillSeconds);
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(board, players, submitPercent, around, deadline, 1000 + i);
+            worker.setName("leaderboard-load-" + (i + 1));
+            worker.start();
+            workers.add(worker);
+        }
+        long[] counts = new long[3];
+        for (Worker worker : workers) {
+            worker.join();
+            for (int kind = 0; kind < counts.length; kind++) {
+                counts[kind] += worker.counts[kind];
+            }
+        }
+        long total = counts[0] + counts[1] + counts[2];
+        System.out.printf("%d threads, %d s: %,.0f ops/s (submit %,.0f, rank %,.0f, around %,.0f)%n",
+                threads, seconds, total / (double) seconds, counts[Worker.SUBMIT] / (double) seconds,
+                counts[Worker.RANK] / (double) seconds, counts[Worker.AROUND] / (double) seconds);
+    }
+
+    /** A board of {@code players} named "player-1".. with scores uniform in [0, maxScore). */
+    public static Leaderboard fill(int players, int maxScore, long seed) {
+        Leaderboard board = new Leaderboard(seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 1; i <= players; i++) {
+            board.submit("player-" + i, random.nextInt(maxScore));
+        }
+        return board;
+    }
+
+    private static final class Worker extends Thread {
+        static final int SUBMIT = 0;
+        static final int RANK = 1;
+        static final int AROUND = 2;
+
+        final long[] counts = new long[3];
+        private final Leaderboard board;
+        private final int players;
+        private final int submitPercent;
+        private final int around;
+        private final long deadline;
+        private final SplittableRandom random;
+
+        Worker(Leaderboard board, int players, int submitPercent, int around, long deadline, long seed) {
+            this.board = board;
+            this.players = players;
+            this.submitPercent = submitPercent;
+            this.around = around;
+            this.deadline = deadline;
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public void run() {
+            // The clock is read once per batch so it does not dominate cheap lookups
+            while (System.nanoTime() < deadline) {
+                for (int i = 0; i < 256; i++) {
+                    String player = "player-" + (1 + random.nextInt(players));
+                    int roll = random.nextInt(100);
+                    if (roll < submitPercent) {
+                        board.submit(player, random.nextInt(LOAD_MAX_SCORE));
+                        counts[SUBMIT]++;
+                    } else if ((roll & 1) == 0) {
+                        board.get(player);
+                        counts[RANK]++;
+                    } else {
+                        board.around(player, around, around);
+                        counts[AROUND]++;
+                    }
+                }
+            }
+        }
+    }
+
+    private LeaderboardLoad() {}
+}
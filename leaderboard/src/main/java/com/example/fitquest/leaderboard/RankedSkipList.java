@@ -0,0 +1,182 @@
+package com.example.fitquest.leaderboard;
+
+/**
+ * Skip list of players ordered best first, where every link also records how many
+ * players it jumps over. Summing those spans along a search path gives a player's rank,
+ * and following them finds the player at a rank, both in expected O(log n).
+ *
+ * Order is score descending, then sequence ascending: of two equal scores, the one
+ * submitted first ranks higher. Sequences are unique, so every node has a distinct
+ * position. Not thread-safe; {@link Leaderboard} guards it.
+ */
+final class RankedSkipList {
+
+    static final int MAX_LEVEL = 32;
+
+    static final class Node {
+        final String player;
+        final long score;
+        final long sequence;
+        final Node[] next;
+        // span[i]: positions from this node to next[i]
+        final int[] span;
+        // The node ranked just above this one, or null for the first
+        Node above;
+
+        Node(String player, long score, long sequence, int levels) {
+            this.player = player;
+            this.score = score;
+            this.sequence = sequence;
+            this.next = new Node[levels];
+            this.span = new int[levels];
+        }
+
+        // The node ranked just below this one, or null
+        Node below() {
+            return next[0];
+        }
+    }
+
+    private final Node head = new Node(null, 0, 0, MAX_LEVEL);
+    // Reused by insert and delete; callers are serialised
+    private final Node[] update = new Node[MAX_LEVEL];
+    private final int[] passed = new int[MAX_LEVEL];
+    private int level = 1;
+    private int size = 0;
+    private long random;
+
+    RankedSkipList(long seed) {
+        // xorshift state must not be zero
+        random = seed == 0 ? 0x9E3779B97F4A7C15L : seed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // True if node ranks above a node with this score and sequence
+    private static boolean ranksAbove(Node node, long score, long sequence) {
+        return node.score > score || (node.score == score && node.sequence < sequence);
+    }
+
+    Node newNode(String player, long score, long sequence) {
+        return new Node(player, score, sequence, randomLevel());
+    }
+
+    /** Links a node from {@link #newNode} into place and returns its 1-based rank. */
+    int insert(Node node) {
+        long score = node.score;
+        long sequence = node.sequence;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            passed[i] = i == level - 1 ? 0 : passed[i + 1];
+            while (x.next[i] != null && ranksAbove(x.next[i], score, sequence)) {
+                passed[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int levels = node.next.length;
+        if (levels > level) {
+            for (int i = level; i < levels; i++) {
+                passed[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = levels;
+        }
+
+        for (int i = 0; i < levels; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (passed[0] - passed[i]);
+            update[i].span[i] = passed[0] - passed[i] + 1;
+        }
+        // Higher links now jump over one more node
+        for (int i = levels; i < level; i++) {
+            update[i].span[i]++;
+        }
+        node.above = update[0] == head ? null : update[0];
+        if (node.next[0] != null) {
+            node.next[0].above = node;
+        }
+        size++;
+        // The search already counted every node ranked above this one
+        return passed[0] + 1;
+    }
+
+    void delete(Node node) {
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && ranksAbove(x.next[i], node.score, node.sequence)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        if (node.next[0] != null) {
+            node.next[0].above = node.above;
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    /** 1-based rank of a node in the list. */
+    int rank(Node node) {
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (x.next[i] == node || ranksAbove(x.next[i], node.score, node.sequence))) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x == node) {
+                return rank;
+            }
+        }
+        throw new IllegalArgumentException("Node not in list");
+    }
+
+    /** Node at a 1-based rank, or null past the end. */
+    Node byRank(int rank) {
+        if (rank < 1 || rank > size) {
+            return null;
+        }
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank) {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    // Geometric with p = 1/4: one level in four is promoted, as in Redis sorted sets
+    private int randomLevel() {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        long bits = random;
+        int levels = 1;
+        while ((bits & 3) == 0 && levels < MAX_LEVEL) {
+            levels++;
+            bits >>>= 2;
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.fitquest.leaderboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class LeaderboardTest {
+
+    @Test
+    public void ranksMatchASortedModelThroughRandomUpdates() {
+        Leaderboard board = new Leaderboard(42);
+        Map<String, long[]> model = new HashMap<>();   // player -> {score, sequence}
+        Random random = new Random(7);
+        long sequence = 0;
+        for (int step = 0; step < 20_000; step++) {
+            String player = "p" + random.nextInt(600);
+            if (random.nextInt(10) == 0) {
+                assertEquals(model.remove(player) != null, board.remove(player));
+                continue;
+            }
+            // Narrow score range so ties are common
+            long score = random.nextInt(50);
+            long[] previous = model.get(player);
+            if (previous == null || previous[0] != score) {
+                model.put(player, new long[] {score, ++sequence});
+            }
+            board.submit(player, score);
+        }
+
+        List<String> expected = new ArrayList<>(model.keySet());
+        expected.sort(Comparator.<String>comparingLong(p -> -model.get(p)[0])
+                .thenComparingLong(p -> model.get(p)[1]));
+        assertEquals(expected.size(), board.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Leaderboard.Entry entry = board.get(expected.get(i));
+            assertEquals(expected.get(i), i + 1, entry.rank);
+            assertEquals(model.get(expected.get(i))[0], entry.score);
+        }
+        List<Leaderboard.Entry> all = board.page(1, Integer.MAX_VALUE);
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(expected.get(i), all.get(i).player);
+        }
+    }
+
+    @Test
+    public void equalScoresRankInOrderReached() {
+        Leaderboard board = new Leaderboard(1);
+        board.submit("first", 10);
+        board.submit("second", 10);
+        board.submit("best", 20);
+
+        assertEquals(1, board.get("best").rank);
+        assertEquals(2, board.get("first").rank);
+        assertEquals(3, board.get("second").rank);
+        // Resubmitting the same score keeps the earlier place
+        assertEquals(2, board.submit("first", 10));
+    }
+
+    @Test
+    public void aroundIsClippedAtBothEnds() {
+        Leaderboard board = new Leaderboard(1);
+        for (int i = 1; i <= 10; i++) {
+            board.submit("p" + i, 100 - i);
+        }
+
+        List<Leaderboard.Entry> top = board.around("p1", 3, 2);
+        assertEquals(3, top.size());
+        assertEquals("p1", top.get(0).player);
+
+        List<Leaderboard.Entry> middle = board.around("p5", 2, 2);
+        assertEquals(3, middle.get(0).rank);
+        assertEquals(7, middle.get(4).rank);
+
+        List<Leaderboard.Entry> bottom = board.around("p10", 1, 5);
+        assertEquals(2, bottom.size());
+        assertEquals(10, bottom.get(1).rank);
+
+        assertTrue(board.around("nobody", 5, 5).isEmpty());
+        assertNull(board.get("nobody"));
+        assertTrue(board.page(11, 5).isEmpty());
+    }
+}
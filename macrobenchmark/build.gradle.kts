@@ -0,0 +1,62 @@
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.baselineprofile)
+}
+
+android {
+    namespace = "com.example.fitquest.macrobenchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 28
+        targetSdk = 35
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+
+    targetProjectPath = ":app"
+
+    // Emulator for local CI-like runs: ./gradlew :macrobenchmark:pixel6Api34BenchmarkReleaseAndroidTest
+    testOptions.managedDevices.localDevices {
+        create("pixel6Api34") {
+            device = "Pixel 6"
+            apiLevel = 34
+            systemImageSource = "aosp"
+        }
+    }
+}
+
+// ./gradlew :app:generateBaselineProfile
+// Runs BaselineProfileGenerator on the emulator above and writes the profile into
+// app/src/release/generated/baselineProfiles, where release builds pick it up.
+baselineProfile {
+    managedDevices += "pixel6Api34"
+    useConnectedDevices = false
+}
+
+dependencies {
+    implementation(libs.ext.junit)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+}
+
+// ./gradlew :macrobenchmark:connectedBenchmarkReleaseAndroidTest :macrobenchmark:collectBenchmarkResults
+// Copies each run's benchmarkData.json (startup ms and frame-time percentiles) to
+// benchmark-results/<app version>-<commit>/ so builds can be compared over time.
+tasks.register<Copy>("collectBenchmarkResults") {
+    description = "Files macrobenchmark JSON results under benchmark-results/ by build."
+    group = "verification"
+    val commit = providers.exec { commandLine("git", "rev-parse", "--short", "HEAD") }
+            .standardOutput.asText.map { it.trim() }
+    val versionName = project(":app").extensions
+            .getByType<com.android.build.api.dsl.ApplicationExtension>().defaultConfig.versionName
+    from(layout.buildDirectory.dir("outputs/connected_android_test_additional_output"))
+    from(layout.buildDirectory.dir("outputs/managed_device_android_test_additional_output"))
+    include("**/*benchmarkData.json")
+    includeEmptyDirs = false
+    into(rootProject.layout.projectDirectory.dir("benchmark-results").dir(commit.map { "$versionName-$it" }))
+}
@@ -0,0 +1,33 @@
+package com.example.fitquest.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Records the classes and methods used by cold start and the benchmarked journeys. Run
+ * through ./gradlew :app:generateBaselineProfile, never on its own.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    @Rule
+    public BaselineProfileRule rule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        rule.collect(Journeys.PACKAGE, scope -> {
+            Journeys.grantTrackingPermissions(scope);
+            scope.pressHome();
+            Journeys.ensureAccount(scope);
+            Journeys.openQuestDialog(scope);
+            Journeys.startSquats(scope);
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.fitquest.macrobenchmark;
+
+import android.os.SystemClock;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Scripted user journeys shared by the benchmarks and the Baseline Profile generator.
+ * Each step waits for the screen it leads to, so a broken journey fails loudly instead
+ * of timing an empty screen.
+ */
+final class Journeys {
+
+    static final String PACKAGE = "com.example.fitquest";
+
+    private static final long TIMEOUT_MS = 5_000;
+    // Long enough for the tracking screen to settle into steady camera and analysis frames
+    private static final long TRACKING_MS = 5_000;
+
+    private Journeys() {}
+
+    private static BySelector res(String id) {
+        return By.res(PACKAGE, id);
+    }
+
+    private static UiObject2 waitFor(UiDevice device, BySelector selector, String what) {
+        UiObject2 found = device.wait(Until.findObject(selector), TIMEOUT_MS);
+        if (found == null) {
+            throw new AssertionError("Timed out waiting for " + what);
+        }
+        return found;
+    }
+
+    // Signs up and creates an avatar the first time, so later launches route straight home
+    static void ensureAccount(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        scope.startActivityAndWait();
+        UiObject2 username = device.wait(Until.findObject(res("etUser")), TIMEOUT_MS);
+        if (username != null) {
+            username.setText("bench");
+            waitFor(device, res("btnSignUp"), "sign up").click();
+            waitFor(device, res("btn_create"), "avatar creation").click();
+        }
+        waitFor(device, res("quest_button"), "home screen");
+    }
+
+    static void grantTrackingPermissions(MacrobenchmarkScope scope) {
+        try {
+            scope.getDevice().executeShellCommand("pm grant " + PACKAGE + " android.permission.CAMERA");
+            scope.getDevice().executeShellCommand("pm grant " + PACKAGE + " android.permission.RECORD_AUDIO");
+        } catch (IOException e) {
+            throw new AssertionError("Could not grant permissions", e);
+        }
+    }
+
+    // Home -> Quest dialog -> each tab -> close
+    static void openQuestDialog(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        waitFor(device, res("quest_button"), "home screen").click();
+        waitFor(device, res("quest_list"), "quest list");
+        device.findObject(res("weekly_button")).click();
+        device.waitForIdle();
+        device.findObject(res("monthly_button")).click();
+        device.waitForIdle();
+        device.findObject(res("daily_button")).click();
+        device.waitForIdle();
+        device.pressBack();
+        waitFor(device, res("quest_button"), "home screen");
+    }
+
+    // Home -> Quest dialog -> daily squats -> tracking screen for a few seconds -> home
+    static void startSquats(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        waitFor(device, res("quest_button"), "home screen").click();
+        UiObject2 title = waitFor(device, By.text(Pattern.compile("Execute \\d+ Squats")), "squats quest");
+        // Title sits in the row's header; the button is in the row itself
+        UiObject2 row = title.getParent().getParent();
+        row.findObject(res("do_it_button")).click();
+        waitFor(device, res("repCounter"), "tracking screen");
+        SystemClock.sleep(TRACKING_MS);
+        device.pressBack();
+        waitFor(device, res("quest_button"), "home screen");
+    }
+}
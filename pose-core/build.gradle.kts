@@ -0,0 +1,34 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+// ./gradlew :pose-core:jmh
+// Reports frames/sec and ns/frame per exercise; the gc profiler's
+// gc.alloc.rate.norm column is bytes allocated per frame.
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    includeTests.set(true)
+    profilers.add("gc")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+}
+
+// ./gradlew :pose-core:replayTraces --args="traces/ [--golden traces/golden.tsv]"
+tasks.register<JavaExec>("replayTraces") {
+    description = "Replays recorded .fqtrace files through ExerciseDetector."
+    group = "verification"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.fitquest.pose.trace.PoseTraceReplay")
+}
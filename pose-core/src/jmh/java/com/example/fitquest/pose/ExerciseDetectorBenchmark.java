@@ -0,0 +1,61 @@
+package com.example.fitquest.pose;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame cost of ExerciseDetector.processPose for each exercise.
+ *
+ * One op is one frame, so framesPerSecond is throughput and nanosPerFrame is latency.
+ * Run with the gc profiler (configured in build.gradle.kts) to get bytes per frame.
+ */
+@State(Scope.Thread)
+public class ExerciseDetectorBenchmark {
+
+    private static final int FRAMES_PER_CYCLE = 90;
+
+    @Param({"squats", "pushups", "plank", "crunches", "lunges", "tricep_dips"})
+    public String exerciseType;
+
+    private ExerciseDetector detector;
+    private PoseFrame[] frames;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        frames = SyntheticPoses.repCycle(exerciseType, FRAMES_PER_CYCLE, 0);
+        // Unreachable target so the state machine never stops counting
+        detector = new ExerciseDetector("beginner", Integer.MAX_VALUE);
+        detector.updateExercise(exerciseType, "beginner", Integer.MAX_VALUE);
+        next = 0;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int framesPerSecond() {
+        return processNextFrame();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int nanosPerFrame() {
+        return processNextFrame();
+    }
+
+    private int processNextFrame() {
+        PoseFrame frame = frames[next];
+        next = next + 1 == FRAMES_PER_CYCLE ? 0 : next + 1;
+        detector.processPose(frame);
+        return detector.getCurrentReps();
+    }
+}
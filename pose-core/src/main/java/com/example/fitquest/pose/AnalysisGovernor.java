@@ -0,0 +1,143 @@
+package com.example.fitquest.pose;
+
+/**
+ * Chooses how much pose analysis the device can afford.
+ *
+ * Quality tiers trade analysis resolution and target fps against load. The governor
+ * follows an EWMA of inference latency and the platform thermal status: it steps down
+ * quickly when a tier's frame budget is blown or the device heats up, and steps back up
+ * only after latency has stayed well under budget for a while, so tiers don't flap.
+ * Frames are admitted at the tier's rate from their timestamps; the rest are skipped.
+ *
+ * The floor tier still delivers 12 fps, which is enough for the rep and hold detectors.
+ * Not thread-safe: feed it from the analysis thread.
+ */
+public final class AnalysisGovernor {
+
+    // Same values as android.os.PowerManager.THERMAL_STATUS_*
+    public static final int THERMAL_NONE = 0;
+    public static final int THERMAL_LIGHT = 1;
+    public static final int THERMAL_MODERATE = 2;
+    public static final int THERMAL_SEVERE = 3;
+
+    // Tier 0 is full quality; higher tiers are cheaper. Sizes are in sensor orientation.
+    private static final int[] TIER_WIDTH = {640, 640, 480, 320};
+    private static final int[] TIER_HEIGHT = {480, 480, 360, 240};
+    private static final int[] TIER_FPS = {30, 20, 15, 12};
+    public static final int TIER_COUNT = TIER_FPS.length;
+
+    private static final float LATENCY_EWMA_WEIGHT = 0.1f;
+    // Step down when latency exceeds the frame budget for this long
+    private static final long DEGRADE_AFTER_NANOS = 2_000_000_000L;
+    // Step up when latency fits the better tier's budget with this much room, for this long
+    private static final float UPGRADE_HEADROOM = 0.6f;
+    private static final long UPGRADE_AFTER_NANOS = 8_000_000_000L;
+    // No latency-driven change this soon after the previous one
+    private static final long MIN_DWELL_NANOS = 3_000_000_000L;
+
+    private int tier = 0;
+    private int thermalStatus = THERMAL_NONE;
+    private float latencyEwmaNanos = 0f;
+    private long lastChangeNanos = Long.MIN_VALUE;
+    private long overBudgetSinceNanos = -1;
+    private long underBudgetSinceNanos = -1;
+    private long nextDueNanos = Long.MIN_VALUE;
+    private long analyzedFrames = 0;
+    private long skippedFrames = 0;
+
+    // Admits frames at the tier's target fps; skipped frames should be closed unanalyzed
+    public boolean shouldAnalyze(long frameNanos) {
+        long interval = frameIntervalNanos(tier);
+        if (nextDueNanos == Long.MIN_VALUE || frameNanos - nextDueNanos > interval) {
+            // First frame, or we fell behind: restart the schedule from this frame
+            nextDueNanos = frameNanos;
+        }
+        if (frameNanos < nextDueNanos) {
+            skippedFrames++;
+            return false;
+        }
+        nextDueNanos += interval;
+        analyzedFrames++;
+        return true;
+    }
+
+    // Returns true when the tier changed
+    public boolean onFrameAnalyzed(long frameNanos, long latencyNanos) {
+        latencyEwmaNanos = latencyEwmaNanos == 0f
+                ? latencyNanos
+                : latencyEwmaNanos + LATENCY_EWMA_WEIGHT * (latencyNanos - latencyEwmaNanos);
+
+        if (latencyEwmaNanos > frameIntervalNanos(tier)) {
+            underBudgetSinceNanos = -1;
+            if (overBudgetSinceNanos < 0) {
+                overBudgetSinceNanos = frameNanos;
+            }
+            if (tier < TIER_COUNT - 1 && frameNanos - overBudgetSinceNanos >= DEGRADE_AFTER_NANOS
+                    && dwellElapsed(frameNanos)) {
+                return changeTier(tier + 1, frameNanos);
+            }
+        } else if (tier > thermalFloorTier()
+                && latencyEwmaNanos < UPGRADE_HEADROOM * frameIntervalNanos(tier - 1)) {
+            overBudgetSinceNanos = -1;
+            if (underBudgetSinceNanos < 0) {
+                underBudgetSinceNanos = frameNanos;
+            }
+            if (frameNanos - underBudgetSinceNanos >= UPGRADE_AFTER_NANOS && dwellElapsed(frameNanos)) {
+                return changeTier(tier - 1, frameNanos);
+            }
+        } else {
+            overBudgetSinceNanos = -1;
+            underBudgetSinceNanos = -1;
+        }
+        return false;
+    }
+
+    // Heat caps the best tier immediately; cooling only lifts the cap, latency earns the way back
+    public boolean setThermalStatus(int status, long nowNanos) {
+        thermalStatus = status;
+        int floor = thermalFloorTier();
+        if (tier < floor) {
+            return changeTier(floor, nowNanos);
+        }
+        return false;
+    }
+
+    private int thermalFloorTier() {
+        if (thermalStatus >= THERMAL_SEVERE) {
+            return TIER_COUNT - 1;
+        }
+        if (thermalStatus == THERMAL_MODERATE) {
+            return 2;
+        }
+        if (thermalStatus == THERMAL_LIGHT) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private boolean dwellElapsed(long nowNanos) {
+        return lastChangeNanos == Long.MIN_VALUE || nowNanos - lastChangeNanos >= MIN_DWELL_NANOS;
+    }
+
+    private boolean changeTier(int newTier, long nowNanos) {
+        tier = newTier;
+        lastChangeNanos = nowNanos;
+        overBudgetSinceNanos = -1;
+        underBudgetSinceNanos = -1;
+        nextDueNanos = Long.MIN_VALUE;
+        return true;
+    }
+
+    private static long frameIntervalNanos(int tier) {
+        return 1_000_000_000L / TIER_FPS[tier];
+    }
+
+    public int getTier() { return tier; }
+    public int getTargetFps() { return TIER_FPS[tier]; }
+    public int getAnalysisWidth() { return TIER_WIDTH[tier]; }
+    public int getAnalysisHeight() { return TIER_HEIGHT[tier]; }
+    public int getThermalStatus() { return thermalStatus; }
+    public long getLatencyEwmaNanos() { return (long) latencyEwmaNanos; }
+    public long getAnalyzedFrames() { return analyzedFrames; }
+    public long getSkippedFrames() { return skippedFrames; }
+}
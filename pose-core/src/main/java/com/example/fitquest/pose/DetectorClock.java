@@ -0,0 +1,15 @@
+package com.example.fitquest.pose;
+
+/**
+ * Time source for ExerciseDetector. Hold time, rep spacing and tempo are measured on
+ * this clock, never on the wall clock, so live runs, trace replays and tests agree
+ * however fast frames are fed.
+ */
+public interface DetectorClock {
+
+    // Monotonic nanoseconds for the given frame
+    long nowNanos(PoseFrame frame);
+
+    // Camera capture time carried by the frame (ImageInfo.getTimestamp() on device)
+    DetectorClock FRAME_TIMESTAMP = PoseFrame::getTimestampNanos;
+}
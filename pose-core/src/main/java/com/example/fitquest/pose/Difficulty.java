@@ -0,0 +1,32 @@
+package com.example.fitquest.pose;
+
+/**
+ * Difficulty levels as small ints, used to index per-difficulty threshold tables.
+ * Strings are only resolved when an exercise is configured, never per frame.
+ */
+public final class Difficulty {
+
+    public static final int BEGINNER = 0;
+    public static final int ADVANCED = 1;
+    public static final int EXPERT = 2;
+    public static final int MASTER = 3;
+    public static final int COUNT = 4;
+
+    private static final String[] NAMES = {"beginner", "advanced", "expert", "master"};
+
+    private Difficulty() {}
+
+    // Unknown names fall back to beginner, like the old threshold switches did
+    public static int indexOf(String difficultyLevel) {
+        for (int i = 0; i < COUNT; i++) {
+            if (NAMES[i].equals(difficultyLevel)) {
+                return i;
+            }
+        }
+        return BEGINNER;
+    }
+
+    public static String nameOf(int difficulty) {
+        return NAMES[difficulty];
+    }
+}
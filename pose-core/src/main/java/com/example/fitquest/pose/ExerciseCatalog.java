@@ -0,0 +1,153 @@
+package com.example.fitquest.pose;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The set of supported exercises, compiled into flat primitive tables indexed by small
+ * ints. ExerciseDetector reads only these tables per frame: no string switches, no
+ * hashing. Adding a movement means adding a definition to {@link #defaults()}.
+ */
+public final class ExerciseCatalog {
+
+    private static final ExerciseCatalog DEFAULT = compile(Arrays.asList(
+            ExerciseDefinition.reps("squats", "Squat")
+                    .joints(PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE, PoseFrame.LEFT_ANKLE)
+                    .down(140, 130, 120, 110)
+                    .up(150, 155, 160, 165)
+                    .feedback("Good! Keep going down", "Great rep! Keep it up!")
+                    .instructions("Stand with feet shoulder-width apart\nBend your knees and lower your body\nKeep your back straight")
+                    .announcement("Starting squats."),
+            ExerciseDefinition.reps("pushups", "Pushup")
+                    .joints(PoseFrame.LEFT_SHOULDER, PoseFrame.LEFT_ELBOW, PoseFrame.LEFT_WRIST)
+                    .down(120, 110, 100, 90)
+                    .up(140, 150, 160, 165)
+                    .feedback("Good! Lower your body", "Excellent pushup! Keep going!")
+                    .instructions("Start in plank position\nLower your body by bending elbows\nPush back up to starting position")
+                    .announcement("Starting push ups."),
+            ExerciseDefinition.hold("plank", "Plank")
+                    .joints(PoseFrame.LEFT_SHOULDER, PoseFrame.LEFT_HIP, PoseFrame.LEFT_ANKLE)
+                    .down(120, 130, 140, 145)
+                    .up(140, 150, 160, 165)
+                    .feedback("Perfect plank position! Hold it!", "Get back into plank position")
+                    .smoothing(0.5f, 0.005f)
+                    .instructions("Hold your body in a straight line\nKeep your core tight\nDon't let your hips sag")
+                    .announcement("Starting plank. Hold the position."),
+            ExerciseDefinition.reps("crunches", "Crunch")
+                    .joints(PoseFrame.LEFT_SHOULDER, PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE)
+                    .down(120, 110, 100, 95)
+                    .up(150, 155, 160, 165)
+                    .feedback("Crunch up", "Good crunch!")
+                    .instructions("Lie on your back\nLift shoulders off the ground\nControl down slowly")
+                    .announcement("Starting crunches."),
+            ExerciseDefinition.reps("lunges", "Lunge")
+                    .joints(PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE, PoseFrame.LEFT_ANKLE)
+                    .down(140, 130, 120, 110)
+                    .up(150, 155, 160, 165)
+                    .feedback("Go down into lunge", "Nice lunge!")
+                    .instructions("Step forward\nLower until both knees are bent\nPush back to start")
+                    .announcement("Starting lunges."),
+            ExerciseDefinition.reps("tricep_dips", "Tricep Dip")
+                    .joints(PoseFrame.LEFT_SHOULDER, PoseFrame.LEFT_ELBOW, PoseFrame.LEFT_WRIST)
+                    .down(110, 100, 95, 90)
+                    .up(150, 155, 160, 165)
+                    .feedback("Good! Lower with control", "Strong dip! Keep going!")
+                    .instructions("Hands on a bench behind you\nBend your elbows to lower your body\nPress back up until arms are straight")
+                    .announcement("Starting tricep dips.")
+    ));
+
+    private final List<ExerciseDefinition> definitions;
+
+    // Per exercise
+    final int[] mode;
+    final int[] firstJoint;
+    final int[] midJoint;
+    final int[] lastJoint;
+    final String[] downFeedback;
+    final String[] completeFeedback;
+    final float[] smoothingMinCutoffHz;
+    final float[] smoothingBeta;
+
+    // Per (exercise, difficulty), at exercise * Difficulty.COUNT + difficulty
+    final float[] downThreshold;
+    final float[] upThreshold;
+
+    private ExerciseCatalog(List<ExerciseDefinition> definitions) {
+        int count = definitions.size();
+        this.definitions = Collections.unmodifiableList(new ArrayList<>(definitions));
+        mode = new int[count];
+        firstJoint = new int[count];
+        midJoint = new int[count];
+        lastJoint = new int[count];
+        downFeedback = new String[count];
+        completeFeedback = new String[count];
+        smoothingMinCutoffHz = new float[count];
+        smoothingBeta = new float[count];
+        downThreshold = new float[count * Difficulty.COUNT];
+        upThreshold = new float[count * Difficulty.COUNT];
+
+        for (int e = 0; e < count; e++) {
+            ExerciseDefinition d = definitions.get(e);
+            mode[e] = d.mode;
+            firstJoint[e] = d.firstJoint;
+            midJoint[e] = d.midJoint;
+            lastJoint[e] = d.lastJoint;
+            downFeedback[e] = d.downFeedback;
+            completeFeedback[e] = d.completeFeedback;
+            smoothingMinCutoffHz[e] = d.smoothingMinCutoffHz;
+            smoothingBeta[e] = d.smoothingBeta;
+            System.arraycopy(d.downThresholds, 0, downThreshold, e * Difficulty.COUNT, Difficulty.COUNT);
+            System.arraycopy(d.upThresholds, 0, upThreshold, e * Difficulty.COUNT, Difficulty.COUNT);
+        }
+    }
+
+    public static ExerciseCatalog compile(List<ExerciseDefinition> definitions) {
+        if (definitions.isEmpty()) {
+            throw new IllegalArgumentException("An exercise catalog needs at least one exercise");
+        }
+        for (int i = 0; i < definitions.size(); i++) {
+            ExerciseDefinition d = definitions.get(i);
+            if (d.firstJoint == d.midJoint || d.midJoint == d.lastJoint || d.firstJoint == d.lastJoint) {
+                throw new IllegalArgumentException(d.name + ": joints must be three distinct landmarks");
+            }
+            for (int j = 0; j < i; j++) {
+                if (definitions.get(j).name.equals(d.name)) {
+                    throw new IllegalArgumentException("Duplicate exercise: " + d.name);
+                }
+            }
+        }
+        return new ExerciseCatalog(definitions);
+    }
+
+    public static ExerciseCatalog defaults() {
+        return DEFAULT;
+    }
+
+    public int size() {
+        return definitions.size();
+    }
+
+    // Unknown names fall back to the first exercise, like the old squat default
+    public int indexOf(String exerciseType) {
+        for (int i = 0; i < definitions.size(); i++) {
+            if (definitions.get(i).name.equals(exerciseType)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    public ExerciseDefinition get(int exercise) {
+        return definitions.get(exercise);
+    }
+
+    public ExerciseDefinition find(String exerciseType) {
+        return definitions.get(indexOf(exerciseType));
+    }
+
+    public boolean isHold(int exercise) {
+        return mode[exercise] == ExerciseDefinition.MODE_HOLD;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.fitquest.pose;
+
+/**
+ * Declarative description of one movement: which joint angle to watch, the thresholds
+ * per difficulty, whether it counts reps or accumulates hold time, and its texts.
+ *
+ * Rep exercises go "down" when the angle drops below the down threshold and count a rep
+ * when it rises back above the up threshold. Hold exercises are in position while the
+ * angle stays above the up threshold and break once it falls below the down threshold.
+ *
+ * Definitions are only read when an {@link ExerciseCatalog} is compiled.
+ */
+public final class ExerciseDefinition {
+
+    public static final int MODE_REPS = 0;
+    public static final int MODE_HOLD = 1;
+
+    final String name;
+    final String displayName;
+    final int mode;
+    int firstJoint;
+    int midJoint;
+    int lastJoint;
+    final float[] downThresholds = new float[Difficulty.COUNT];
+    final float[] upThresholds = new float[Difficulty.COUNT];
+    String downFeedback = "";
+    String completeFeedback = "";
+    String instructions = "";
+    String announcement = "";
+    float smoothingMinCutoffHz = LandmarkSmoother.DEFAULT_MIN_CUTOFF_HZ;
+    float smoothingBeta = LandmarkSmoother.DEFAULT_BETA;
+
+    private ExerciseDefinition(String name, String displayName, int mode) {
+        this.name = name;
+        this.displayName = displayName;
+        this.mode = mode;
+    }
+
+    public static ExerciseDefinition reps(String name, String displayName) {
+        return new ExerciseDefinition(name, displayName, MODE_REPS);
+    }
+
+    public static ExerciseDefinition hold(String name, String displayName) {
+        return new ExerciseDefinition(name, displayName, MODE_HOLD);
+    }
+
+    // Angle measured at mid, between first and last
+    public ExerciseDefinition joints(int first, int mid, int last) {
+        firstJoint = first;
+        midJoint = mid;
+        lastJoint = last;
+        return this;
+    }
+
+    // Beginner, advanced, expert, master
+    public ExerciseDefinition down(float beginner, float advanced, float expert, float master) {
+        setThresholds(downThresholds, beginner, advanced, expert, master);
+        return this;
+    }
+
+    public ExerciseDefinition up(float beginner, float advanced, float expert, float master) {
+        setThresholds(upThresholds, beginner, advanced, expert, master);
+        return this;
+    }
+
+    // For reps: entering the down phase / counting a rep. For holds: entering / breaking position.
+    public ExerciseDefinition feedback(String onDown, String onComplete) {
+        downFeedback = onDown;
+        completeFeedback = onComplete;
+        return this;
+    }
+
+    // One Euro parameters for this movement's landmark smoothing; see LandmarkSmoother
+    public ExerciseDefinition smoothing(float minCutoffHz, float beta) {
+        smoothingMinCutoffHz = minCutoffHz;
+        smoothingBeta = beta;
+        return this;
+    }
+
+    public ExerciseDefinition instructions(String instructions) {
+        this.instructions = instructions;
+        return this;
+    }
+
+    public ExerciseDefinition announcement(String announcement) {
+        this.announcement = announcement;
+        return this;
+    }
+
+    public String getName() { return name; }
+    public String getDisplayName() { return displayName; }
+    public boolean isHold() { return mode == MODE_HOLD; }
+    public String getInstructions() { return instructions; }
+    public String getAnnouncement() { return announcement; }
+
+    private static void setThresholds(float[] into, float beginner, float advanced, float expert, float master) {
+        into[Difficulty.BEGINNER] = beginner;
+        into[Difficulty.ADVANCED] = advanced;
+        into[Difficulty.EXPERT] = expert;
+        into[Difficulty.MASTER] = master;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.fitquest.pose;
+
+import static java.lang.Math.atan2;
+
+/**
+ * Angle thresholds and rep/hold state machines for the supported exercises.
+ *
+ * Plain Java with no Android dependencies, so it can be unit tested and benchmarked on a
+ * desktop JVM. Exercises come from an {@link ExerciseCatalog}; the per-frame path only
+ * indexes its tables. Not thread-safe: feed it from a single thread.
+ *
+ * All timing comes from a {@link DetectorClock}, by default the frames' own capture
+ * timestamps: hold time is the sum of frame intervals spent in position, and rep spacing
+ * and tempo are measured between frames. Nothing polls a timer.
+ */
+public class ExerciseDetector {
+
+    // Called synchronously from processPose, on the detector's thread
+    public interface Listener {
+        void onRep(int repNumber, long repMillis);
+        void onHoldSegment(long segmentMillis);
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {
+        @Override public void onRep(int repNumber, long repMillis) {}
+        @Override public void onHoldSegment(long segmentMillis) {}
+    };
+
+    private final ExerciseCatalog catalog;
+    private final DetectorClock clock;
+    private final LandmarkSmoother smoother = new LandmarkSmoother();
+    // Smoothed copy of the current frame; input frames may be shared and stay untouched
+    private final PoseFrame smoothed = new PoseFrame();
+
+    // Exercise state
+    private int exercise = 0;
+    private int thresholdRow = 0;
+    private boolean isHold = false;
+    private int targetReps = 10;
+    private int currentReps = 0;
+    private boolean exerciseCompleted = false;
+
+    // Down phase for rep exercises, in position for holds
+    private boolean isEngaged = false;
+
+    // Hold timing. A gap longer than this (person out of frame, tracking paused) credits
+    // only this much, so time we didn't see is never counted as held.
+    private static final long MAX_FRAME_GAP_NANOS = 250_000_000L;
+    private long holdTotalNanos = 0;
+    private long holdSegmentStartNanos = 0;
+    private long lastFrameNanos = Long.MIN_VALUE;
+
+    // Two rep completions closer than this are one flapping rep, not two
+    private static final long MIN_REP_INTERVAL_NANOS = 400_000_000L;
+    private long lastRepNanos = Long.MIN_VALUE;
+    private long lastRepDurationNanos = 0;
+    private long firstRepNanos = Long.MIN_VALUE;
+
+    // Landmarks that must be confidently in frame before we track
+    private static final float MIN_LIKELIHOOD = 0.5f;
+    private static final int[] REQUIRED_LANDMARKS = {
+            PoseFrame.NOSE,
+            PoseFrame.LEFT_SHOULDER, PoseFrame.RIGHT_SHOULDER,
+            PoseFrame.LEFT_ELBOW, PoseFrame.RIGHT_ELBOW,
+            PoseFrame.LEFT_WRIST, PoseFrame.RIGHT_WRIST,
+            PoseFrame.LEFT_HIP, PoseFrame.RIGHT_HIP,
+            PoseFrame.LEFT_KNEE, PoseFrame.RIGHT_KNEE,
+            PoseFrame.LEFT_ANKLE, PoseFrame.RIGHT_ANKLE
+    };
+
+    // Feedback text
+    private String feedbackText = "Ready to start!";
+
+    private Listener listener = NO_LISTENER;
+
+    public ExerciseDetector(String difficultyLevel, int targetReps) {
+        this(ExerciseCatalog.defaults(), difficultyLevel, targetReps);
+    }
+
+    public ExerciseDetector(ExerciseCatalog catalog, String difficultyLevel, int targetReps) {
+        this(catalog, DetectorClock.FRAME_TIMESTAMP, difficultyLevel, targetReps);
+    }
+
+    public ExerciseDetector(ExerciseCatalog catalog, DetectorClock clock, String difficultyLevel, int targetReps) {
+        this.catalog = catalog;
+        this.clock = clock;
+        this.targetReps = targetReps;
+        selectExercise(0, Difficulty.indexOf(difficultyLevel));
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener != null ? listener : NO_LISTENER;
+    }
+
+    // Resolves names to table indices once; processPose never looks at strings
+    public void updateExercise(String exerciseType, String difficultyLevel, int targetReps) {
+        this.targetReps = targetReps;
+        selectExercise(catalog.indexOf(exerciseType), Difficulty.indexOf(difficultyLevel));
+        resetExercise();
+    }
+
+    private void selectExercise(int exercise, int difficulty) {
+        this.exercise = exercise;
+        this.thresholdRow = exercise * Difficulty.COUNT + difficulty;
+        this.isHold = catalog.isHold(exercise);
+        smoother.configure(catalog.smoothingMinCutoffHz[exercise], catalog.smoothingBeta[exercise]);
+    }
+
+    // Smooths a private copy of the landmarks, then advances the state machine
+    public void processPose(PoseFrame frame) {
+        smoother.apply(frame, smoothed);
+        if (!smoothed.hasPose()) {
+            return;
+        }
+
+        long now = clock.nowNanos(frame);
+        long elapsed = lastFrameNanos == Long.MIN_VALUE ? 0 : Math.max(0, now - lastFrameNanos);
+        lastFrameNanos = now;
+
+        double angle = getAngle(smoothed, catalog.firstJoint[exercise], catalog.midJoint[exercise],
+                catalog.lastJoint[exercise]);
+        if (isHold) {
+            updateHold(angle, Math.min(elapsed, MAX_FRAME_GAP_NANOS));
+        } else {
+            updateReps(angle, now);
+        }
+    }
+
+    public boolean hasEnoughBodyLandmarks(PoseFrame frame) {
+        if (!frame.hasPose()) {
+            return false;
+        }
+        for (int landmark : REQUIRED_LANDMARKS) {
+            if (frame.likelihood(landmark) <= MIN_LIKELIHOOD) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updateReps(double angle, long now) {
+        if (angle < catalog.downThreshold[thresholdRow] && !isEngaged) {
+            isEngaged = true;
+            feedbackText = catalog.downFeedback[exercise];
+        } else if (angle > catalog.upThreshold[thresholdRow] && isEngaged) {
+            if (lastRepNanos != Long.MIN_VALUE && now - lastRepNanos < MIN_REP_INTERVAL_NANOS) {
+                isEngaged = false;
+                return;
+            }
+            if (lastRepNanos != Long.MIN_VALUE) {
+                lastRepDurationNanos = now - lastRepNanos;
+            } else {
+                firstRepNanos = now;
+            }
+            lastRepNanos = now;
+            currentReps++;
+            feedbackText = catalog.completeFeedback[exercise];
+            listener.onRep(currentReps, lastRepDurationNanos / 1_000_000L);
+
+            if (currentReps >= targetReps) {
+                exerciseCompleted = true;
+                return;
+            }
+            isEngaged = false;
+        }
+    }
+
+    // The interval since the previous frame counts when the position was held through it
+    private void updateHold(double angle, long elapsed) {
+        if (isEngaged && !exerciseCompleted) {
+            holdTotalNanos += elapsed;
+        }
+        if (exerciseCompleted) {
+            return;
+        }
+        if (angle > catalog.upThreshold[thresholdRow] && !isEngaged) {
+            isEngaged = true;
+            holdSegmentStartNanos = holdTotalNanos;
+            feedbackText = catalog.downFeedback[exercise];
+        } else if (angle < catalog.downThreshold[thresholdRow] && isEngaged) {
+            isEngaged = false;
+            feedbackText = catalog.completeFeedback[exercise];
+            listener.onHoldSegment((holdTotalNanos - holdSegmentStartNanos) / 1_000_000L);
+        }
+
+        if (holdTotalNanos >= targetReps * 1_000_000_000L) {
+            exerciseCompleted = true;
+            if (isEngaged) {
+                listener.onHoldSegment((holdTotalNanos - holdSegmentStartNanos) / 1_000_000L);
+            }
+        }
+    }
+
+    public void resetExercise() {
+        currentReps = 0;
+        holdTotalNanos = 0;
+        holdSegmentStartNanos = 0;
+        lastFrameNanos = Long.MIN_VALUE;
+        lastRepNanos = Long.MIN_VALUE;
+        firstRepNanos = Long.MIN_VALUE;
+        lastRepDurationNanos = 0;
+        exerciseCompleted = false;
+        isEngaged = false;
+        smoother.reset();
+        feedbackText = "Exercise reset! Ready to start.";
+    }
+
+    // Getters
+    public int getCurrentReps() { return currentReps; }
+    public long getHoldTimeSeconds() { return holdTotalNanos / 1_000_000_000L; }
+    public long getHoldTimeMillis() { return holdTotalNanos / 1_000_000L; }
+
+    // Time between the last two reps; 0 until there have been two
+    public long getLastRepMillis() { return lastRepDurationNanos / 1_000_000L; }
+
+    // Mean time per rep since the first one; 0 until there have been two
+    public long getAverageRepMillis() {
+        return currentReps < 2 ? 0 : (lastRepNanos - firstRepNanos) / (currentReps - 1) / 1_000_000L;
+    }
+    public boolean isHoldExercise() { return isHold; }
+    public boolean isExerciseCompleted() { return exerciseCompleted; }
+    public String getFeedbackText() { return feedbackText; }
+
+    public static double getAngle(PoseFrame frame, int firstPoint, int midPoint, int lastPoint) {
+        double result = Math.toDegrees(
+                atan2(frame.y(lastPoint) - frame.y(midPoint),
+                        frame.x(lastPoint) - frame.x(midPoint))
+                        - atan2(frame.y(firstPoint) - frame.y(midPoint),
+                        frame.x(firstPoint) - frame.x(midPoint)));
+        result = Math.abs(result);
+        if (result > 180) {
+            result = (360.0 - result);
+        }
+        return result;
+    }
+}
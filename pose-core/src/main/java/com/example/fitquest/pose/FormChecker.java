@@ -0,0 +1,66 @@
+package com.example.fitquest.pose;
+
+/**
+ * Flags lopsided form by comparing the exercise's measured joint angle on the left side
+ * with the same joint on the right side.
+ *
+ * The catalog measures left-side joints; ML Kit numbers every right-side body landmark
+ * one above its left twin, so the mirrored triple is found by index. A cue is raised
+ * only after the sides disagree for several frames in a row and cleared the same way,
+ * so a single bad detection does not flash a message. Not thread-safe.
+ */
+public final class FormChecker {
+
+    private static final double MAX_SIDE_DIFFERENCE_DEGREES = 25.0;
+    private static final int FRAMES_TO_CHANGE = 8;
+    private static final float MIN_LIKELIHOOD = 0.5f;
+    private static final String UNEVEN_CUE = "Keep both sides even";
+
+    private final ExerciseCatalog catalog;
+    private int first;
+    private int mid;
+    private int last;
+    private int streak = 0;
+    private String cue = null;
+
+    public FormChecker(ExerciseCatalog catalog) {
+        this.catalog = catalog;
+        setExercise(null);
+    }
+
+    public void setExercise(String exerciseType) {
+        int exercise = catalog.indexOf(exerciseType);
+        first = catalog.firstJoint[exercise];
+        mid = catalog.midJoint[exercise];
+        last = catalog.lastJoint[exercise];
+        streak = 0;
+        cue = null;
+    }
+
+    public void check(PoseFrame frame) {
+        if (!frame.hasPose() || !visible(frame, first) || !visible(frame, mid) || !visible(frame, last)
+                || !visible(frame, first + 1) || !visible(frame, mid + 1) || !visible(frame, last + 1)) {
+            return;
+        }
+        double left = ExerciseDetector.getAngle(frame, first, mid, last);
+        double right = ExerciseDetector.getAngle(frame, first + 1, mid + 1, last + 1);
+        boolean uneven = Math.abs(left - right) > MAX_SIDE_DIFFERENCE_DEGREES;
+
+        // Count frames that disagree with the current cue; flip once there are enough in a row
+        if (uneven == (cue != null)) {
+            streak = 0;
+        } else if (++streak >= FRAMES_TO_CHANGE) {
+            cue = uneven ? UNEVEN_CUE : null;
+            streak = 0;
+        }
+    }
+
+    // Null while form looks fine
+    public String getCue() {
+        return cue;
+    }
+
+    private static boolean visible(PoseFrame frame, int landmark) {
+        return frame.likelihood(landmark) > MIN_LIKELIHOOD;
+    }
+}
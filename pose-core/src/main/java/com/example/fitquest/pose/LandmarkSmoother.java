@@ -0,0 +1,104 @@
+package com.example.fitquest.pose;
+
+/**
+ * One Euro filter over every landmark coordinate (x, y, z of all 33 landmarks).
+ *
+ * Each coordinate is low-passed with a cutoff that rises with its own smoothed speed:
+ * slow, jittery motion near a threshold is smoothed hard, while fast reps pass with
+ * little lag. Filter state lives in flat arrays and {@link #apply} writes into a frame the
+ * caller owns, so the stage allocates nothing per frame and never touches shared frames.
+ *
+ * See Casiez et al., "1 Euro Filter: A Simple Speed-based Low-pass Filter for Noisy
+ * Input in Interactive Systems" (CHI 2012).
+ */
+public final class LandmarkSmoother {
+
+    public static final float DEFAULT_MIN_CUTOFF_HZ = 1.0f;
+    public static final float DEFAULT_BETA = 0.01f;
+
+    private static final int CHANNELS = PoseFrame.LANDMARK_COUNT * 3;
+    private static final float DERIVATIVE_CUTOFF_HZ = 1.0f;
+
+    // Frames further apart than this restart the filter instead of smoothing across the gap
+    private static final long MAX_GAP_NANOS = 500_000_000L;
+
+    private final float[] value = new float[CHANNELS];
+    private final float[] derivative = new float[CHANNELS];
+    private float minCutoffHz = DEFAULT_MIN_CUTOFF_HZ;
+    private float beta = DEFAULT_BETA;
+    private long lastTimestampNanos;
+    private boolean primed = false;
+
+    // minCutoffHz sets smoothing at rest; beta sets how fast the cutoff opens up with speed
+    public void configure(float minCutoffHz, float beta) {
+        this.minCutoffHz = minCutoffHz;
+        this.beta = beta;
+        reset();
+    }
+
+    public void reset() {
+        primed = false;
+    }
+
+    // Writes the smoothed pose into target; source may be target to smooth in place
+    public void apply(PoseFrame source, PoseFrame target) {
+        target.setTimestampNanos(source.getTimestampNanos());
+        if (!source.hasPose()) {
+            target.clear();
+            target.setTimestampNanos(source.getTimestampNanos());
+            reset();
+            return;
+        }
+
+        long timestamp = source.getTimestampNanos();
+        long elapsed = timestamp - lastTimestampNanos;
+        if (!primed || elapsed <= 0 || elapsed > MAX_GAP_NANOS) {
+            prime(source, target);
+            return;
+        }
+        lastTimestampNanos = timestamp;
+
+        float dt = elapsed / 1e9f;
+        float derivativeAlpha = alpha(DERIVATIVE_CUTOFF_HZ, dt);
+        for (int landmark = 0; landmark < PoseFrame.LANDMARK_COUNT; landmark++) {
+            int channel = landmark * 3;
+            float x = filter(channel, source.x(landmark), dt, derivativeAlpha);
+            float y = filter(channel + 1, source.y(landmark), dt, derivativeAlpha);
+            float z = filter(channel + 2, source.z(landmark), dt, derivativeAlpha);
+            target.set(landmark, x, y, z, source.likelihood(landmark));
+        }
+    }
+
+    private float filter(int channel, float raw, float dt, float derivativeAlpha) {
+        float previous = value[channel];
+        float rawDerivative = (raw - previous) / dt;
+        float smoothedDerivative = derivative[channel] + derivativeAlpha * (rawDerivative - derivative[channel]);
+        derivative[channel] = smoothedDerivative;
+
+        float cutoff = minCutoffHz + beta * Math.abs(smoothedDerivative);
+        float smoothed = previous + alpha(cutoff, dt) * (raw - previous);
+        value[channel] = smoothed;
+        return smoothed;
+    }
+
+    private void prime(PoseFrame source, PoseFrame target) {
+        for (int landmark = 0; landmark < PoseFrame.LANDMARK_COUNT; landmark++) {
+            int channel = landmark * 3;
+            value[channel] = source.x(landmark);
+            value[channel + 1] = source.y(landmark);
+            value[channel + 2] = source.z(landmark);
+            derivative[channel] = 0f;
+            derivative[channel + 1] = 0f;
+            derivative[channel + 2] = 0f;
+            target.set(landmark, source.x(landmark), source.y(landmark), source.z(landmark),
+                    source.likelihood(landmark));
+        }
+        lastTimestampNanos = source.getTimestampNanos();
+        primed = true;
+    }
+
+    private static float alpha(float cutoffHz, float dt) {
+        float tau = 1f / (2f * (float) Math.PI * cutoffHz);
+        return 1f / (1f + tau / dt);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.fitquest.pose;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-bucket latency histogram with about 6% resolution from 1 microsecond to 16 seconds.
+ *
+ * Buckets are log-linear: values below 16 us get one bucket each, and every power of two
+ * above that is split into 16 equal buckets. Recording is an index computation and one
+ * counter bump, with no allocation. Each histogram should be recorded from a single
+ * thread; any thread may read it, seeing counts that are at most slightly stale.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 24;
+    private static final long MAX_MICROS = (1L << MAX_EXPONENT) - 1;
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private volatile long count;
+    private volatile long totalMicros;
+    private volatile long maxMicros;
+
+    // Single writer per histogram, so plain read-modify-write on the volatiles is enough
+    public void record(long nanos) {
+        long micros = Math.max(0, Math.min(MAX_MICROS, nanos / 1000));
+        int bucket = bucketOf(micros);
+        counts.lazySet(bucket, counts.get(bucket) + 1);
+        totalMicros += micros;
+        if (micros > maxMicros) {
+            maxMicros = micros;
+        }
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return maxMicros * 1000;
+    }
+
+    public long getMeanNanos() {
+        long n = count;
+        return n == 0 ? 0 : totalMicros * 1000 / n;
+    }
+
+    // Upper edge of the bucket holding the given percentile (0-100), so never an underestimate
+    public long getPercentileNanos(double percentile) {
+        long n = count;
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(n * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperMicros(bucket), maxMicros) * 1000;
+            }
+        }
+        return maxMicros * 1000;
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts.set(bucket, 0);
+        }
+        count = 0;
+        totalMicros = 0;
+        maxMicros = 0;
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (micros >> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    static long upperMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.fitquest.pose;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One camera frame's pose as primitives: 33 landmarks packed into a single float[] as
+ * (x, y, z, likelihood) plus the frame timestamp.
+ *
+ * Frames come from a {@link PoseFramePool} and are reference counted. Every holder that
+ * keeps a frame past the call it received it in must {@link #retain()} it and
+ * {@link #release()} it when done; the last release returns the frame to its pool.
+ */
+public final class PoseFrame {
+
+    public static final int LANDMARK_COUNT = 33;
+    public static final int STRIDE = 4;
+
+    // Landmark indices, numbered like ML Kit's PoseLandmark
+    public static final int NOSE = 0;
+    public static final int LEFT_EYE_INNER = 1;
+    public static final int LEFT_EYE = 2;
+    public static final int LEFT_EYE_OUTER = 3;
+    public static final int RIGHT_EYE_INNER = 4;
+    public static final int RIGHT_EYE = 5;
+    public static final int RIGHT_EYE_OUTER = 6;
+    public static final int LEFT_EAR = 7;
+    public static final int RIGHT_EAR = 8;
+    public static final int LEFT_MOUTH = 9;
+    public static final int RIGHT_MOUTH = 10;
+    public static final int LEFT_SHOULDER = 11;
+    public static final int RIGHT_SHOULDER = 12;
+    public static final int LEFT_ELBOW = 13;
+    public static final int RIGHT_ELBOW = 14;
+    public static final int LEFT_WRIST = 15;
+    public static final int RIGHT_WRIST = 16;
+    public static final int LEFT_PINKY = 17;
+    public static final int RIGHT_PINKY = 18;
+    public static final int LEFT_INDEX = 19;
+    public static final int RIGHT_INDEX = 20;
+    public static final int LEFT_THUMB = 21;
+    public static final int RIGHT_THUMB = 22;
+    public static final int LEFT_HIP = 23;
+    public static final int RIGHT_HIP = 24;
+    public static final int LEFT_KNEE = 25;
+    public static final int RIGHT_KNEE = 26;
+    public static final int LEFT_ANKLE = 27;
+    public static final int RIGHT_ANKLE = 28;
+    public static final int LEFT_HEEL = 29;
+    public static final int RIGHT_HEEL = 30;
+    public static final int LEFT_FOOT_INDEX = 31;
+    public static final int RIGHT_FOOT_INDEX = 32;
+
+    private final float[] landmarks = new float[LANDMARK_COUNT * STRIDE];
+    private final PoseFramePool pool;
+    private final AtomicInteger refCount = new AtomicInteger();
+    private long timestampNanos;
+    private long arrivalNanos;
+    private boolean hasPose;
+
+    PoseFrame(PoseFramePool pool) {
+        this.pool = pool;
+    }
+
+    // Standalone frame for tests and tools; release() never recycles it
+    public PoseFrame() {
+        this(null);
+    }
+
+    public float x(int landmark) { return landmarks[landmark * STRIDE]; }
+    public float y(int landmark) { return landmarks[landmark * STRIDE + 1]; }
+    public float z(int landmark) { return landmarks[landmark * STRIDE + 2]; }
+    public float likelihood(int landmark) { return landmarks[landmark * STRIDE + 3]; }
+
+    public long getTimestampNanos() { return timestampNanos; }
+
+    // Host monotonic clock when the camera frame reached the app; for latency tracking only
+    public long getArrivalNanos() { return arrivalNanos; }
+
+    // False when the detector found no person in the frame
+    public boolean hasPose() { return hasPose; }
+
+    public void set(int landmark, float x, float y, float z, float likelihood) {
+        int base = landmark * STRIDE;
+        landmarks[base] = x;
+        landmarks[base + 1] = y;
+        landmarks[base + 2] = z;
+        landmarks[base + 3] = likelihood;
+        hasPose = true;
+    }
+
+    public void setTimestampNanos(long timestampNanos) {
+        this.timestampNanos = timestampNanos;
+    }
+
+    public void setArrivalNanos(long arrivalNanos) {
+        this.arrivalNanos = arrivalNanos;
+    }
+
+    public void clear() {
+        Arrays.fill(landmarks, 0f);
+        timestampNanos = 0;
+        arrivalNanos = 0;
+        hasPose = false;
+    }
+
+    public PoseFrame retain() {
+        refCount.incrementAndGet();
+        return this;
+    }
+
+    // Retains unless the frame has already gone back to its pool; for readers racing a producer
+    public boolean tryRetain() {
+        while (true) {
+            int count = refCount.get();
+            if (count <= 0) {
+                return false;
+            }
+            if (refCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        int remaining = refCount.decrementAndGet();
+        if (remaining == 0 && pool != null) {
+            pool.recycle(this);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("PoseFrame released more times than retained");
+        }
+    }
+
+    void onAcquired() {
+        refCount.set(1);
+    }
+}
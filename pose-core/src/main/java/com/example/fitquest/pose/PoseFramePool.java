@@ -0,0 +1,44 @@
+package com.example.fitquest.pose;
+
+/**
+ * Small free-list of {@link PoseFrame}s so the per-frame path allocates nothing once warm.
+ * Acquire and release may happen on different threads.
+ */
+public final class PoseFramePool {
+
+    private final PoseFrame[] free;
+    private int freeCount = 0;
+
+    public PoseFramePool(int capacity) {
+        free = new PoseFrame[capacity];
+        for (int i = 0; i < capacity; i++) {
+            free[freeCount++] = new PoseFrame(this);
+        }
+    }
+
+    // Returns a cleared frame holding one reference owned by the caller
+    public PoseFrame acquire() {
+        PoseFrame frame = null;
+        synchronized (this) {
+            if (freeCount > 0) {
+                frame = free[--freeCount];
+                free[freeCount] = null;
+            }
+        }
+        if (frame == null) {
+            // Every pooled frame is still referenced; grow rather than block the camera
+            frame = new PoseFrame(this);
+        }
+        frame.clear();
+        frame.onAcquired();
+        return frame;
+    }
+
+    void recycle(PoseFrame frame) {
+        synchronized (this) {
+            if (freeCount < free.length) {
+                free[freeCount++] = frame;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.fitquest.pose;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free broadcast ring of {@link PoseFrame}s: one producer, any number of consumers.
+ *
+ * Every consumer reads the same frames through its own {@link Cursor}, at its own pace
+ * and without copying. The producer never waits: a consumer that falls more than a ring
+ * behind skips the frames that were overwritten, and a frame is dropped rather than
+ * queued. Readers retain the frames they take and release them when done.
+ *
+ * Each slot records the sequence number of the frame it holds. A reader retains the
+ * frame and then checks that the slot still holds the same sequence, so a frame the
+ * producer overwrote and recycled in the meantime is never handed out.
+ */
+public final class PoseFrameRing {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<PoseFrame> slots;
+    private final AtomicLongArray slotSequence;
+    private final AtomicLong published = new AtomicLong(-1);
+
+    // Capacity is rounded up to a power of two
+    public PoseFrameRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.slotSequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slotSequence.set(i, -1);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Producer only. Takes over the caller's reference to the frame.
+    public void publish(PoseFrame frame) {
+        long sequence = published.get() + 1;
+        int index = (int) (sequence & mask);
+        slotSequence.set(index, -1);
+        PoseFrame overwritten = slots.getAndSet(index, frame);
+        slotSequence.set(index, sequence);
+        published.set(sequence);
+        if (overwritten != null) {
+            overwritten.release();
+        }
+    }
+
+    // Producer only, after the consumers have stopped: drops the ring's references
+    public void clear() {
+        for (int i = 0; i < capacity; i++) {
+            slotSequence.set(i, -1);
+            PoseFrame frame = slots.getAndSet(i, null);
+            if (frame != null) {
+                frame.release();
+            }
+        }
+    }
+
+    // Starts at the next frame to be published
+    public Cursor newCursor() {
+        return new Cursor(published.get() + 1);
+    }
+
+    private PoseFrame tryRead(long sequence) {
+        int index = (int) (sequence & mask);
+        if (slotSequence.get(index) != sequence) {
+            return null;
+        }
+        PoseFrame frame = slots.get(index);
+        if (frame == null || !frame.tryRetain()) {
+            return null;
+        }
+        if (slotSequence.get(index) != sequence || slots.get(index) != frame) {
+            frame.release();
+            return null;
+        }
+        return frame;
+    }
+
+    /**
+     * One consumer's read position. Use each cursor from a single thread; {@link #depth()}
+     * and {@link #getDropped()} may be read from anywhere.
+     */
+    public final class Cursor {
+
+        private volatile long next;
+        private volatile long dropped;
+
+        private Cursor(long next) {
+            this.next = next;
+        }
+
+        // Next frame in order, skipping anything already overwritten; null when caught up
+        public PoseFrame pollNext() {
+            while (true) {
+                long head = published.get();
+                long position = next;
+                if (position > head) {
+                    return null;
+                }
+                long oldest = head - capacity + 1;
+                if (position < oldest) {
+                    dropped += oldest - position;
+                    position = oldest;
+                }
+                PoseFrame frame = tryRead(position);
+                if (frame != null) {
+                    next = position + 1;
+                    return frame;
+                }
+                // Overwritten while we looked; the next pass skips past it
+                dropped++;
+                next = position + 1;
+            }
+        }
+
+        // Newest frame, dropping any older ones not yet read; null when caught up
+        public PoseFrame pollLatest() {
+            while (true) {
+                long head = published.get();
+                long position = next;
+                if (position > head) {
+                    return null;
+                }
+                PoseFrame frame = tryRead(head);
+                if (frame != null) {
+                    dropped += head - position;
+                    next = head + 1;
+                    return frame;
+                }
+            }
+        }
+
+        // Frames published but not yet read, at most one ring
+        public int depth() {
+            long pending = published.get() - next + 1;
+            return (int) Math.max(0, Math.min(capacity, pending));
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.fitquest.pose;
+
+import java.util.Locale;
+
+/**
+ * One {@link LatencyHistogram} per stage of the pose pipeline, from a camera frame
+ * arriving to its result reaching the screen.
+ */
+public final class StageLatencies {
+
+    // Frame arrival to ML Kit result
+    public static final int INFERENCE = 0;
+    // Frame published to picked up by the detection stage
+    public static final int HANDOFF = 1;
+    // ExerciseDetector.processPose
+    public static final int DETECT = 2;
+    // Snapshot posted to views updated, including the wait for the next vsync
+    public static final int UI = 3;
+    // Main-thread time spent applying one snapshot to the views
+    public static final int RENDER = 4;
+    // Frame arrival to views updated
+    public static final int END_TO_END = 5;
+    public static final int COUNT = 6;
+
+    private static final String[] NAMES = {"inference", "handoff", "detect", "ui", "render", "end_to_end"};
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[COUNT];
+
+    public StageLatencies() {
+        for (int stage = 0; stage < COUNT; stage++) {
+            histograms[stage] = new LatencyHistogram();
+        }
+    }
+
+    public void record(int stage, long nanos) {
+        histograms[stage].record(nanos);
+    }
+
+    public LatencyHistogram get(int stage) {
+        return histograms[stage];
+    }
+
+    public static String nameOf(int stage) {
+        return NAMES[stage];
+    }
+
+    // Compact text for an on-screen HUD: one line per stage, milliseconds
+    public String formatHud() {
+        StringBuilder out = new StringBuilder();
+        for (int stage = 0; stage < COUNT; stage++) {
+            LatencyHistogram h = histograms[stage];
+            out.append(String.format(Locale.US, "%-10s p50 %5.1f  p95 %5.1f  p99 %5.1f ms%n", NAMES[stage],
+                    millis(h.getPercentileNanos(50)), millis(h.getPercentileNanos(95)),
+                    millis(h.getPercentileNanos(99))));
+        }
+        return out.toString();
+    }
+
+    // Tab-separated summary with a header row, for comparing sessions across devices and builds
+    public String formatSummary() {
+        StringBuilder out = new StringBuilder("stage\tcount\tmean_ms\tp50_ms\tp95_ms\tp99_ms\tmax_ms\n");
+        for (int stage = 0; stage < COUNT; stage++) {
+            LatencyHistogram h = histograms[stage];
+            out.append(String.format(Locale.US, "%s\t%d\t%.2f\t%.2f\t%.2f\t%.2f\t%.2f%n", NAMES[stage],
+                    h.getCount(), millis(h.getMeanNanos()), millis(h.getPercentileNanos(50)),
+                    millis(h.getPercentileNanos(95)), millis(h.getPercentileNanos(99)), millis(h.getMaxNanos())));
+        }
+        return out.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.fitquest.pose.trace;
+
+import com.example.fitquest.pose.PoseFrame;
+
+/**
+ * Layout of a recorded pose trace (.fqtrace). All values are little-endian.
+ *
+ * Header, {@link #HEADER_SIZE} bytes:
+ *   int magic, short version, short landmarkCount, int recordSize, int targetReps,
+ *   long startEpochMillis, 16-byte exercise type, 16-byte difficulty, 8 bytes reserved.
+ *
+ * Then fixed-size records, one per analyzed frame:
+ *   long timestampNanos, int flags, then landmarkCount x (float x, y, z, likelihood).
+ *
+ * Fixed records let a reader jump straight to frame N and let a torn final record
+ * be ignored by truncating to a whole number of records.
+ */
+public final class PoseTraceFormat {
+
+    public static final int MAGIC = 0x54505146; // "FQPT" read little-endian
+    public static final short VERSION = 1;
+    public static final String FILE_EXTENSION = ".fqtrace";
+
+    public static final int HEADER_SIZE = 64;
+    public static final int NAME_SIZE = 16;
+    public static final int RECORD_SIZE = 8 + 4 + PoseFrame.LANDMARK_COUNT * PoseFrame.STRIDE * 4;
+
+    // Record flags
+    public static final int FLAG_HAS_POSE = 1;
+    public static final int FLAG_TRACKING_ACTIVE = 1 << 1;
+
+    // Header offsets
+    static final int OFFSET_MAGIC = 0;
+    static final int OFFSET_VERSION = 4;
+    static final int OFFSET_LANDMARK_COUNT = 6;
+    static final int OFFSET_RECORD_SIZE = 8;
+    static final int OFFSET_TARGET_REPS = 12;
+    static final int OFFSET_START_MILLIS = 16;
+    static final int OFFSET_EXERCISE = 24;
+    static final int OFFSET_DIFFICULTY = OFFSET_EXERCISE + NAME_SIZE;
+
+    private PoseTraceFormat() {}
+}
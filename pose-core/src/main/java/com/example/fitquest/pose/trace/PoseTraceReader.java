@@ -0,0 +1,114 @@
+package com.example.fitquest.pose.trace;
+
+import com.example.fitquest.pose.PoseFrame;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Memory-maps a trace file for random access to its frames. Reading a frame copies
+ * straight from the page cache into a caller-owned PoseFrame, with no allocation.
+ */
+public final class PoseTraceReader implements Closeable {
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer mapped;
+    private final int frameCount;
+    private final int targetReps;
+    private final long startEpochMillis;
+    private final String exerciseType;
+    private final String difficultyLevel;
+
+    public PoseTraceReader(File source) throws IOException {
+        file = new RandomAccessFile(source, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            long size = channel.size();
+            if (size < PoseTraceFormat.HEADER_SIZE) {
+                throw new IOException("Not a pose trace (too short): " + source);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (mapped.getInt(PoseTraceFormat.OFFSET_MAGIC) != PoseTraceFormat.MAGIC) {
+                throw new IOException("Not a pose trace (bad magic): " + source);
+            }
+            if (mapped.getShort(PoseTraceFormat.OFFSET_VERSION) != PoseTraceFormat.VERSION
+                    || mapped.getShort(PoseTraceFormat.OFFSET_LANDMARK_COUNT) != PoseFrame.LANDMARK_COUNT
+                    || mapped.getInt(PoseTraceFormat.OFFSET_RECORD_SIZE) != PoseTraceFormat.RECORD_SIZE) {
+                throw new IOException("Unsupported pose trace layout: " + source);
+            }
+
+            // A crash mid-write can leave a partial last record; ignore it
+            frameCount = (int) ((size - PoseTraceFormat.HEADER_SIZE) / PoseTraceFormat.RECORD_SIZE);
+            targetReps = mapped.getInt(PoseTraceFormat.OFFSET_TARGET_REPS);
+            startEpochMillis = mapped.getLong(PoseTraceFormat.OFFSET_START_MILLIS);
+            exerciseType = getName(PoseTraceFormat.OFFSET_EXERCISE);
+            difficultyLevel = getName(PoseTraceFormat.OFFSET_DIFFICULTY);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    public int getFrameCount() { return frameCount; }
+    public int getTargetReps() { return targetReps; }
+    public long getStartEpochMillis() { return startEpochMillis; }
+    public String getExerciseType() { return exerciseType; }
+    public String getDifficultyLevel() { return difficultyLevel; }
+
+    public int getFlags(int index) {
+        return mapped.getInt(recordOffset(index) + 8);
+    }
+
+    public boolean isTrackingActive(int index) {
+        return (getFlags(index) & PoseTraceFormat.FLAG_TRACKING_ACTIVE) != 0;
+    }
+
+    // Overwrites the given frame with record {@code index}
+    public void readFrame(int index, PoseFrame into) {
+        int offset = recordOffset(index);
+        into.clear();
+        into.setTimestampNanos(mapped.getLong(offset));
+        if ((mapped.getInt(offset + 8) & PoseTraceFormat.FLAG_HAS_POSE) == 0) {
+            return;
+        }
+        int position = offset + 12;
+        for (int i = 0; i < PoseFrame.LANDMARK_COUNT; i++) {
+            into.set(i,
+                    mapped.getFloat(position),
+                    mapped.getFloat(position + 4),
+                    mapped.getFloat(position + 8),
+                    mapped.getFloat(position + 12));
+            position += PoseFrame.STRIDE * 4;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= frameCount) {
+            throw new IndexOutOfBoundsException("Frame " + index + " of " + frameCount);
+        }
+        return PoseTraceFormat.HEADER_SIZE + index * PoseTraceFormat.RECORD_SIZE;
+    }
+
+    private String getName(int offset) {
+        byte[] bytes = new byte[PoseTraceFormat.NAME_SIZE];
+        int length = 0;
+        while (length < bytes.length && mapped.get(offset + length) != 0) {
+            bytes[length] = mapped.get(offset + length);
+            length++;
+        }
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.fitquest.pose.trace;
+
+import com.example.fitquest.pose.ExerciseDetector;
+import com.example.fitquest.pose.PoseFrame;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drives ExerciseDetector from recorded traces as fast as the CPU allows.
+ *
+ * Usage: PoseTraceReplay [--golden results.tsv] trace-or-directory...
+ *
+ * Prints one tab-separated line per trace (name, frames, reps, hold seconds, completed,
+ * frames/sec). With --golden, compares reps and hold seconds against a previous run's
+ * output and exits with status 1 on any difference.
+ */
+public final class PoseTraceReplay {
+
+    public static final class Result {
+        public final int frames;
+        public final int reps;
+        public final long holdTimeSeconds;
+        public final boolean completed;
+        public final long elapsedNanos;
+
+        Result(int frames, int reps, long holdTimeSeconds, boolean completed, long elapsedNanos) {
+            this.frames = frames;
+            this.reps = reps;
+            this.holdTimeSeconds = holdTimeSeconds;
+            this.completed = completed;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    private PoseTraceReplay() {}
+
+    // Replays with the same gating as the live pipeline: only tracked frames with a full body count
+    public static Result replay(PoseTraceReader reader) {
+        String exerciseType = reader.getExerciseType();
+        ExerciseDetector detector = new ExerciseDetector(reader.getDifficultyLevel(), reader.getTargetReps());
+        detector.updateExercise(exerciseType, reader.getDifficultyLevel(), reader.getTargetReps());
+        PoseFrame frame = new PoseFrame();
+
+        // The detector times everything from frame timestamps, so replay speed doesn't matter
+        long start = System.nanoTime();
+        int frameCount = reader.getFrameCount();
+        for (int i = 0; i < frameCount; i++) {
+            reader.readFrame(i, frame);
+            if (reader.isTrackingActive(i) && detector.hasEnoughBodyLandmarks(frame)) {
+                detector.processPose(frame);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new Result(frameCount, detector.getCurrentReps(), detector.getHoldTimeSeconds(),
+                detector.isExerciseCompleted(), elapsed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        File golden = null;
+        List<File> traces = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--golden".equals(args[i]) && i + 1 < args.length) {
+                golden = new File(args[++i]);
+            } else {
+                collectTraces(new File(args[i]), traces);
+            }
+        }
+        if (traces.isEmpty()) {
+            System.err.println("Usage: PoseTraceReplay [--golden results.tsv] trace-or-directory...");
+            System.exit(2);
+        }
+        Collections.sort(traces);
+
+        Map<String, long[]> expected = golden != null ? readGolden(golden) : null;
+        int mismatches = 0;
+        long totalFrames = 0;
+        long totalNanos = 0;
+
+        for (File trace : traces) {
+            Result result;
+            try (PoseTraceReader reader = new PoseTraceReader(trace)) {
+                result = replay(reader);
+            }
+            totalFrames += result.frames;
+            totalNanos += result.elapsedNanos;
+
+            System.out.println(trace.getName() + "\t" + result.frames + "\t" + result.reps + "\t"
+                    + result.holdTimeSeconds + "\t" + result.completed + "\t"
+                    + framesPerSecond(result.frames, result.elapsedNanos));
+
+            if (expected != null) {
+                long[] want = expected.get(trace.getName());
+                if (want == null) {
+                    System.err.println("MISSING " + trace.getName() + ": not in golden file");
+                    mismatches++;
+                } else if (want[0] != result.reps || want[1] != result.holdTimeSeconds) {
+                    System.err.println("MISMATCH " + trace.getName() + ": expected reps=" + want[0]
+                            + " hold=" + want[1] + "s, got reps=" + result.reps
+                            + " hold=" + result.holdTimeSeconds + "s");
+                    mismatches++;
+                }
+            }
+        }
+
+        System.err.println(traces.size() + " traces, " + totalFrames + " frames, "
+                + framesPerSecond(totalFrames, totalNanos) + " frames/sec");
+        if (mismatches > 0) {
+            System.err.println(mismatches + " trace(s) differ from " + golden);
+            System.exit(1);
+        }
+    }
+
+    private static long framesPerSecond(long frames, long nanos) {
+        return nanos > 0 ? frames * 1_000_000_000L / nanos : 0;
+    }
+
+    private static void collectTraces(File file, List<File> into) {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    collectTraces(child, into);
+                }
+            }
+        } else if (file.getName().endsWith(PoseTraceFormat.FILE_EXTENSION)) {
+            into.add(file);
+        }
+    }
+
+    // Reads a previous run's stdout: name, frames, reps, hold seconds, ...
+    private static Map<String, long[]> readGolden(File golden) throws IOException {
+        Map<String, long[]> expected = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(golden))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split("\t");
+                if (columns.length >= 4) {
+                    expected.put(columns[0], new long[]{Long.parseLong(columns[2]), Long.parseLong(columns[3])});
+                }
+            }
+        }
+        return expected;
+    }
+}
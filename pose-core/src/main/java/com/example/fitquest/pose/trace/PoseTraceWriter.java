@@ -0,0 +1,97 @@
+package com.example.fitquest.pose.trace;
+
+import com.example.fitquest.pose.PoseFrame;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams PoseFrames to a trace file. Records are staged in a preallocated buffer and
+ * written in batches, so {@link #write} does no allocation and rarely touches the disk.
+ */
+public final class PoseTraceWriter implements Closeable {
+
+    private static final int RECORDS_PER_BATCH = 64;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private int frameCount = 0;
+
+    public PoseTraceWriter(File target, String exerciseType, String difficultyLevel, int targetReps,
+                           long startEpochMillis) throws IOException {
+        file = new RandomAccessFile(target, "rw");
+        file.setLength(0);
+        channel = file.getChannel();
+        buffer = ByteBuffer.allocateDirect(PoseTraceFormat.RECORD_SIZE * RECORDS_PER_BATCH)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        ByteBuffer header = ByteBuffer.allocate(PoseTraceFormat.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(PoseTraceFormat.OFFSET_MAGIC, PoseTraceFormat.MAGIC);
+        header.putShort(PoseTraceFormat.OFFSET_VERSION, PoseTraceFormat.VERSION);
+        header.putShort(PoseTraceFormat.OFFSET_LANDMARK_COUNT, (short) PoseFrame.LANDMARK_COUNT);
+        header.putInt(PoseTraceFormat.OFFSET_RECORD_SIZE, PoseTraceFormat.RECORD_SIZE);
+        header.putInt(PoseTraceFormat.OFFSET_TARGET_REPS, targetReps);
+        header.putLong(PoseTraceFormat.OFFSET_START_MILLIS, startEpochMillis);
+        putName(header, PoseTraceFormat.OFFSET_EXERCISE, exerciseType);
+        putName(header, PoseTraceFormat.OFFSET_DIFFICULTY, difficultyLevel);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    public void write(PoseFrame frame, boolean trackingActive) throws IOException {
+        if (buffer.remaining() < PoseTraceFormat.RECORD_SIZE) {
+            flush();
+        }
+
+        int flags = 0;
+        if (frame.hasPose()) flags |= PoseTraceFormat.FLAG_HAS_POSE;
+        if (trackingActive) flags |= PoseTraceFormat.FLAG_TRACKING_ACTIVE;
+
+        buffer.putLong(frame.getTimestampNanos());
+        buffer.putInt(flags);
+        for (int i = 0; i < PoseFrame.LANDMARK_COUNT; i++) {
+            buffer.putFloat(frame.x(i));
+            buffer.putFloat(frame.y(i));
+            buffer.putFloat(frame.z(i));
+            buffer.putFloat(frame.likelihood(i));
+        }
+        frameCount++;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            file.close();
+        }
+    }
+
+    private static void putName(ByteBuffer header, int offset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        int length = Math.min(bytes.length, PoseTraceFormat.NAME_SIZE);
+        for (int i = 0; i < length; i++) {
+            header.put(offset + i, bytes[i]);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.fitquest.pose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class AnalysisGovernorTest {
+
+    private static final long CAMERA_FRAME_NANOS = 33_333_333L;
+
+    // Feeds 30 fps camera frames for the given seconds, analyzing the admitted ones
+    private static long run(AnalysisGovernor governor, long startNanos, int seconds, long latencyNanos) {
+        long t = startNanos;
+        for (int i = 0; i < seconds * 30; i++) {
+            if (governor.shouldAnalyze(t)) {
+                governor.onFrameAnalyzed(t, latencyNanos);
+            }
+            t += CAMERA_FRAME_NANOS;
+        }
+        return t;
+    }
+
+    @Test
+    public void admitsFramesAtTargetFps() {
+        AnalysisGovernor governor = new AnalysisGovernor();
+        governor.setThermalStatus(AnalysisGovernor.THERMAL_MODERATE, 0);
+        assertEquals(15, governor.getTargetFps());
+
+        int admitted = 0;
+        for (int i = 0; i < 300; i++) {
+            if (governor.shouldAnalyze(i * CAMERA_FRAME_NANOS)) {
+                admitted++;
+            }
+        }
+        assertEquals(150, admitted);
+        assertEquals(150, governor.getSkippedFrames());
+    }
+
+    @Test
+    public void sustainedSlowInference_stepsDownOneTierAtATime() {
+        AnalysisGovernor governor = new AnalysisGovernor();
+        long t = run(governor, 0, 4, 45_000_000L);
+        assertEquals(1, governor.getTier());
+
+        // 45 ms fits the 20 fps budget, so it settles there instead of dropping further
+        run(governor, t, 20, 45_000_000L);
+        assertEquals(1, governor.getTier());
+    }
+
+    @Test
+    public void briefSpike_doesNotChangeTier() {
+        AnalysisGovernor governor = new AnalysisGovernor();
+        long t = run(governor, 0, 1, 80_000_000L);
+        t = run(governor, t, 10, 10_000_000L);
+        assertEquals(0, governor.getTier());
+    }
+
+    @Test
+    public void recovery_waitsForSustainedHeadroom() {
+        AnalysisGovernor governor = new AnalysisGovernor();
+        long t = run(governor, 0, 4, 45_000_000L);
+        assertEquals(1, governor.getTier());
+
+        t = run(governor, t, 5, 10_000_000L);
+        assertEquals(1, governor.getTier());
+        run(governor, t, 10, 10_000_000L);
+        assertEquals(0, governor.getTier());
+    }
+
+    @Test
+    public void thermalStatus_capsQualityUntilLatencyEarnsItBack() {
+        AnalysisGovernor governor = new AnalysisGovernor();
+        assertTrue(governor.setThermalStatus(AnalysisGovernor.THERMAL_SEVERE, 0));
+        assertEquals(AnalysisGovernor.TIER_COUNT - 1, governor.getTier());
+        assertEquals(320, governor.getAnalysisWidth());
+
+        // Still hot: fast inference does not lift the cap
+        long t = run(governor, 0, 15, 5_000_000L);
+        assertEquals(AnalysisGovernor.TIER_COUNT - 1, governor.getTier());
+
+        assertFalse(governor.setThermalStatus(AnalysisGovernor.THERMAL_NONE, t));
+        run(governor, t, 12, 5_000_000L);
+        assertEquals(AnalysisGovernor.TIER_COUNT - 2, governor.getTier());
+    }
+}
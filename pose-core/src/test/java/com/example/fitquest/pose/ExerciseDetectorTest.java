@@ -0,0 +1,230 @@
+package com.example.fitquest.pose;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExerciseDetectorTest {
+
+    @Test
+    public void getAngle_matchesSyntheticJoint() {
+        PoseFrame frame = new PoseFrame();
+        SyntheticPoses.fillStanding(frame, 0.9f, 0);
+        SyntheticPoses.setAngle(frame, PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE, PoseFrame.LEFT_ANKLE, 95);
+
+        double angle = ExerciseDetector.getAngle(frame, PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE, PoseFrame.LEFT_ANKLE);
+        assertEquals(95.0, angle, 0.01);
+    }
+
+    @Test
+    public void squatCycle_countsOneRep() {
+        ExerciseDetector detector = new ExerciseDetector("beginner", 10);
+        detector.updateExercise("squats", "beginner", 10);
+
+        for (PoseFrame frame : SyntheticPoses.repCycle("squats", 60, 0)) {
+            detector.processPose(frame);
+        }
+        // cos() starts at the top, so the cycle ends back above the up threshold
+        assertEquals(1, detector.getCurrentReps());
+        assertFalse(detector.isExerciseCompleted());
+    }
+
+    @Test
+    public void reachingTarget_completesExercise() {
+        ExerciseDetector detector = new ExerciseDetector("beginner", 1);
+        detector.updateExercise("pushups", "beginner", 1);
+
+        for (PoseFrame frame : SyntheticPoses.repCycle("pushups", 60, 0)) {
+            detector.processPose(frame);
+        }
+        assertTrue(detector.isExerciseCompleted());
+    }
+
+    @Test
+    public void lowLikelihood_isNotEnoughBody() {
+        ExerciseDetector detector = new ExerciseDetector("beginner", 10);
+        PoseFrame frame = new PoseFrame();
+        assertFalse(detector.hasEnoughBodyLandmarks(frame));
+
+        SyntheticPoses.fillStanding(frame, 0.9f, 0);
+        assertTrue(detector.hasEnoughBodyLandmarks(frame));
+
+        frame.set(PoseFrame.LEFT_ANKLE, 0f, 0f, 0f, 0.2f);
+        assertFalse(detector.hasEnoughBodyLandmarks(frame));
+    }
+
+    // Feeds frames at the given angle and rate for a span of frame time; returns the end time
+    private static long feed(ExerciseDetector detector, String exerciseType, double degrees, int fps,
+                             long startNanos, long durationNanos) {
+        int[] joints = SyntheticPoses.jointsFor(exerciseType);
+        PoseFrame frame = new PoseFrame();
+        long step = 1_000_000_000L / fps;
+        long t = startNanos;
+        for (; t < startNanos + durationNanos; t += step) {
+            SyntheticPoses.fillStanding(frame, 0.9f, t);
+            SyntheticPoses.setAngle(frame, joints[0], joints[1], joints[2], degrees);
+            detector.processPose(frame);
+        }
+        return t;
+    }
+
+    @Test
+    public void holdTime_accumulatesFrameTimeOnlyWhileHolding() {
+        ExerciseDetector detector = new ExerciseDetector("beginner", 30);
+        detector.updateExercise("plank", "beginner", 30);
+
+        long t = feed(detector, "plank", 100, 30, 0, 1_000_000_000L);
+        assertEquals(0, detector.getHoldTimeMillis());
+
+        feed(detector, "plank", 175, 30, t, 2_000_000_000L);
+        assertEquals(2000, detector.getHoldTimeMillis(), 150);
+    }
+
+    @Test
+    public void holdTime_isIndependentOfFrameRate() {
+        long[] held = new long[2];
+        int[] rates = {10, 30};
+        for (int i = 0; i < rates.length; i++) {
+            ExerciseDetector detector = new ExerciseDetector("beginner", 30);
+            detector.updateExercise("plank", "beginner", 30);
+            feed(detector, "plank", 175, rates[i], 0, 5_000_000_000L);
+            held[i] = detector.getHoldTimeMillis();
+        }
+        assertEquals(held[1], held[0], 150);
+        assertEquals(4900, held[1], 150);
+    }
+
+    @Test
+    public void holdTime_doesNotCreditGapsWithoutFrames() {
+        ExerciseDetector detector = new ExerciseDetector("beginner", 30);
+        detector.updateExercise("plank", "beginner", 30);
+        long t = feed(detector, "plank", 175, 30, 0, 1_000_000_000L);
+        long before = detector.getHoldTimeMillis();
+
+        // Ten seconds out of frame, then one more frame in position
+        feed(detector, "plank", 175, 30, t + 10_000_000_000L, 1);
+        assertTrue(detector.getHoldTimeMillis() - before <= 250);
+    }
+
+    @Test
+    public void holdCompletesOnFrameTime() {
+        ExerciseDetector detector = new ExerciseDetector("beginner", 3);
+        detector.updateExercise("plank", "beginner", 3);
+        feed(detector, "plank", 175, 30, 0, 2_900_000_000L);
+        assertFalse(detector.isExerciseCompleted());
+        feed(detector, "plank", 175, 30, 2_900_000_000L, 400_000_000L);
+        assertTrue(detector.isExerciseCompleted());
+    }
+
+    @Test
+    public void injectedClock_drivesRepTempo() {
+        // Frames carry no usable timestamps; the clock supplies 1 s per frame instead
+        long[] ticks = {0};
+        DetectorClock clock = frame -> ticks[0]++ * 1_000_000_000L;
+        ExerciseDetector detector = new ExerciseDetector(ExerciseCatalog.defaults(), clock, "beginner", 10);
+        detector.updateExercise("squats", "beginner", 10);
+
+        int[] joints = SyntheticPoses.jointsFor("squats");
+        PoseFrame frame = new PoseFrame();
+        SyntheticPoses.fillStanding(frame, 0.9f, 0);
+        for (int rep = 0; rep < 3; rep++) {
+            SyntheticPoses.setAngle(frame, joints[0], joints[1], joints[2], 100);
+            detector.processPose(frame);
+            SyntheticPoses.setAngle(frame, joints[0], joints[1], joints[2], 175);
+            detector.processPose(frame);
+        }
+        assertEquals(3, detector.getCurrentReps());
+        assertEquals(2000, detector.getLastRepMillis());
+        assertEquals(2000, detector.getAverageRepMillis());
+    }
+
+    @Test
+    public void repsCloserThanMinimumInterval_countOnce() {
+        ExerciseDetector detector = new ExerciseDetector("beginner", 10);
+        detector.updateExercise("squats", "beginner", 10);
+        // Two full cycles within 300 ms of frame time: the second completion is a flap
+        long t = 0;
+        for (int i = 0; i < 2; i++) {
+            t = feed(detector, "squats", 100, 100, t, 50_000_000L);
+            t = feed(detector, "squats", 175, 100, t, 100_000_000L);
+        }
+        assertEquals(1, detector.getCurrentReps());
+    }
+
+    @Test
+    public void tricepDips_comeFromCatalogData() {
+        ExerciseDetector detector = new ExerciseDetector("beginner", 10);
+        detector.updateExercise("tricep_dips", "beginner", 10);
+        assertFalse(detector.isHoldExercise());
+
+        for (PoseFrame frame : SyntheticPoses.repCycle("tricep_dips", 60, 0)) {
+            detector.processPose(frame);
+        }
+        assertEquals(1, detector.getCurrentReps());
+        assertEquals("Strong dip! Keep going!", detector.getFeedbackText());
+    }
+
+    @Test
+    public void difficulty_selectsThresholdColumn() {
+        // 115 degrees is deep enough for a beginner squat (140) but not for master (110)
+        int[] joints = SyntheticPoses.jointsFor("squats");
+        PoseFrame frame = new PoseFrame();
+        SyntheticPoses.fillStanding(frame, 0.9f, 0);
+
+        for (String difficulty : new String[]{"beginner", "master"}) {
+            ExerciseDetector detector = new ExerciseDetector(difficulty, 10);
+            detector.updateExercise("squats", difficulty, 10);
+            SyntheticPoses.setAngle(frame, joints[0], joints[1], joints[2], 115);
+            detector.processPose(frame);
+            SyntheticPoses.setAngle(frame, joints[0], joints[1], joints[2], 175);
+            detector.processPose(frame);
+            assertEquals(difficulty, "beginner".equals(difficulty) ? 1 : 0, detector.getCurrentReps());
+        }
+    }
+
+    @Test
+    public void jitterBetweenThresholds_isSmoothedAway() {
+        // Alternating 137/153 crosses both beginner squat thresholds (140/150) on raw angles
+        int[] joints = SyntheticPoses.jointsFor("squats");
+        ExerciseDetector detector = new ExerciseDetector("beginner", 100);
+        detector.updateExercise("squats", "beginner", 100);
+        PoseFrame frame = new PoseFrame();
+        for (int i = 0; i < 120; i++) {
+            SyntheticPoses.fillStanding(frame, 0.9f, i * 33_333_333L);
+            SyntheticPoses.setAngle(frame, joints[0], joints[1], joints[2], i % 2 == 0 ? 137 : 153);
+            detector.processPose(frame);
+        }
+        assertEquals(0, detector.getCurrentReps());
+    }
+
+    @Test
+    public void fastReps_surviveSmoothing() {
+        ExerciseDetector detector = new ExerciseDetector("beginner", 100);
+        detector.updateExercise("squats", "beginner", 100);
+        // 24 frames per rep is 0.8 s at 30 fps, and no cooldown holds back back-to-back reps
+        for (int rep = 0; rep < 5; rep++) {
+            for (PoseFrame frame : SyntheticPoses.repCycle("squats", 24, rep * 800_000_000L)) {
+                detector.processPose(frame);
+            }
+        }
+        assertEquals(5, detector.getCurrentReps());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void catalog_rejectsDuplicateNames() {
+        ExerciseCatalog.compile(Arrays.asList(
+                ExerciseDefinition.reps("squats", "Squat").joints(PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE, PoseFrame.LEFT_ANKLE),
+                ExerciseDefinition.reps("squats", "Squat").joints(PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE, PoseFrame.LEFT_ANKLE)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void catalog_rejectsSameFirstAndLastJoint() {
+        ExerciseCatalog.compile(Collections.singletonList(
+                ExerciseDefinition.reps("squats", "Squat").joints(PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE, PoseFrame.LEFT_HIP)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.fitquest.pose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class FormCheckerTest {
+
+    // Squat knee angles on both sides; right-side landmarks are their left twin + 1
+    private static PoseFrame squat(double leftDegrees, double rightDegrees) {
+        PoseFrame frame = new PoseFrame();
+        SyntheticPoses.fillStanding(frame, 0.9f, 0);
+        SyntheticPoses.setAngle(frame, PoseFrame.RIGHT_HIP, PoseFrame.RIGHT_KNEE, PoseFrame.RIGHT_ANKLE, rightDegrees);
+        SyntheticPoses.setAngle(frame, PoseFrame.LEFT_HIP, PoseFrame.LEFT_KNEE, PoseFrame.LEFT_ANKLE, leftDegrees);
+        return frame;
+    }
+
+    @Test
+    public void unevenSides_raiseCueAfterSeveralFrames() {
+        FormChecker checker = new FormChecker(ExerciseCatalog.defaults());
+        checker.setExercise("squats");
+
+        for (int i = 0; i < 5; i++) {
+            checker.check(squat(100, 150));
+        }
+        assertNull(checker.getCue());
+        for (int i = 0; i < 5; i++) {
+            checker.check(squat(100, 150));
+        }
+        assertEquals("Keep both sides even", checker.getCue());
+
+        for (int i = 0; i < 10; i++) {
+            checker.check(squat(110, 115));
+        }
+        assertNull(checker.getCue());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.fitquest.pose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LandmarkSmootherTest {
+
+    @Test
+    public void stillLandmark_jitterIsDamped() {
+        LandmarkSmoother smoother = new LandmarkSmoother();
+        PoseFrame frame = new PoseFrame();
+        float worst = 0f;
+        for (int i = 0; i < 90; i++) {
+            frame.setTimestampNanos(i * 33_333_333L);
+            frame.set(PoseFrame.LEFT_KNEE, 200f + (i % 2 == 0 ? 4f : -4f), 300f, 0f, 0.9f);
+            smoother.apply(frame, frame);
+            if (i > 30) {
+                worst = Math.max(worst, Math.abs(frame.x(PoseFrame.LEFT_KNEE) - 200f));
+            }
+        }
+        assertTrue("residual jitter " + worst, worst < 1.5f);
+        assertEquals(0.9f, frame.likelihood(PoseFrame.LEFT_KNEE), 0f);
+    }
+
+    @Test
+    public void fastMotion_tracksWithLittleLag() {
+        LandmarkSmoother smoother = new LandmarkSmoother();
+        PoseFrame frame = new PoseFrame();
+        // 600 px/s sweep, about what a wrist does in a quick pushup on a 480 px preview
+        for (int i = 0; i < 30; i++) {
+            frame.setTimestampNanos(i * 33_333_333L);
+            frame.set(PoseFrame.LEFT_WRIST, i * 20f, 0f, 0f, 0.9f);
+            smoother.apply(frame, frame);
+        }
+        float lag = 29 * 20f - frame.x(PoseFrame.LEFT_WRIST);
+        assertTrue("lag " + lag, lag < 40f);
+    }
+
+    @Test
+    public void gapInTimestamps_restartsFilter() {
+        LandmarkSmoother smoother = new LandmarkSmoother();
+        PoseFrame frame = new PoseFrame();
+        frame.setTimestampNanos(0);
+        frame.set(PoseFrame.NOSE, 0f, 0f, 0f, 0.9f);
+        smoother.apply(frame, frame);
+
+        frame.setTimestampNanos(2_000_000_000L);
+        frame.set(PoseFrame.NOSE, 100f, 50f, 0f, 0.9f);
+        smoother.apply(frame, frame);
+        assertEquals(100f, frame.x(PoseFrame.NOSE), 0f);
+        assertEquals(50f, frame.y(PoseFrame.NOSE), 0f);
+    }
+}
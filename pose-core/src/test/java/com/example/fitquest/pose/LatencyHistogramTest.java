@@ -0,0 +1,41 @@
+package com.example.fitquest.pose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsCoverEveryValueWithinResolution() {
+        for (long micros = 0; micros < (1L << 24); micros += 997) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            long upper = LatencyHistogram.upperMicros(bucket);
+            assertTrue(micros + " in bucket ending " + upper, upper >= micros && upper <= micros * 1.07 + 1);
+        }
+    }
+
+    @Test
+    public void percentilesOfUniformMillis() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 1000; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500e6, histogram.getPercentileNanos(50), 500e6 * 0.07);
+        assertEquals(990e6, histogram.getPercentileNanos(99), 990e6 * 0.07);
+        assertEquals(1000_000_000L, histogram.getMaxNanos());
+        assertEquals(500.5e6, histogram.getMeanNanos(), 1e6);
+    }
+
+    @Test
+    public void emptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(99));
+        histogram.record(5_000_000L);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.fitquest.pose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PoseFrameRingTest {
+
+    private static PoseFrame frameAt(PoseFramePool pool, long sequence) {
+        PoseFrame frame = pool.acquire();
+        frame.setTimestampNanos(sequence);
+        frame.set(PoseFrame.NOSE, sequence, 0f, 0f, 1f);
+        return frame;
+    }
+
+    @Test
+    public void everyCursorSeesTheSameFrames() {
+        PoseFramePool pool = new PoseFramePool(8);
+        PoseFrameRing ring = new PoseFrameRing(8);
+        PoseFrameRing.Cursor first = ring.newCursor();
+        PoseFrameRing.Cursor second = ring.newCursor();
+
+        ring.publish(frameAt(pool, 1));
+        ring.publish(frameAt(pool, 2));
+        assertEquals(2, first.depth());
+
+        PoseFrame a = first.pollNext();
+        PoseFrame b = second.pollNext();
+        assertSame(a, b);
+        assertEquals(1, a.getTimestampNanos());
+        a.release();
+        b.release();
+
+        assertEquals(2, first.pollNext().getTimestampNanos());
+        assertNull(first.pollNext());
+        assertEquals(0, first.depth());
+        assertEquals(1, second.depth());
+    }
+
+    @Test
+    public void laggingCursor_dropsStaleFramesInsteadOfQueueing() {
+        PoseFramePool pool = new PoseFramePool(8);
+        PoseFrameRing ring = new PoseFrameRing(4);
+        PoseFrameRing.Cursor slow = ring.newCursor();
+        for (int i = 0; i < 10; i++) {
+            ring.publish(frameAt(pool, i));
+        }
+        assertEquals(4, slow.depth());
+
+        PoseFrame frame = slow.pollNext();
+        assertEquals(6, frame.getTimestampNanos());
+        assertEquals(6, slow.getDropped());
+        frame.release();
+    }
+
+    @Test
+    public void pollLatest_skipsToNewest() {
+        PoseFramePool pool = new PoseFramePool(8);
+        PoseFrameRing ring = new PoseFrameRing(4);
+        PoseFrameRing.Cursor overlay = ring.newCursor();
+        for (int i = 0; i < 3; i++) {
+            ring.publish(frameAt(pool, i));
+        }
+        PoseFrame frame = overlay.pollLatest();
+        assertEquals(2, frame.getTimestampNanos());
+        assertEquals(2, overlay.getDropped());
+        assertNull(overlay.pollLatest());
+        frame.release();
+    }
+
+    @Test
+    public void heldFrameSurvivesBeingOverwritten() {
+        PoseFramePool pool = new PoseFramePool(2);
+        PoseFrameRing ring = new PoseFrameRing(2);
+        PoseFrameRing.Cursor reader = ring.newCursor();
+        ring.publish(frameAt(pool, 7));
+        PoseFrame held = reader.pollNext();
+
+        for (int i = 0; i < 6; i++) {
+            ring.publish(frameAt(pool, 100 + i));
+        }
+        assertEquals(7, held.getTimestampNanos());
+        assertEquals(7f, held.x(PoseFrame.NOSE), 0f);
+        held.release();
+        ring.clear();
+    }
+
+    @Test
+    public void concurrentReaders_neverSeeRecycledFrames() throws Exception {
+        final int frames = 200_000;
+        PoseFramePool pool = new PoseFramePool(16);
+        PoseFrameRing ring = new PoseFrameRing(8);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            PoseFrameRing.Cursor cursor = ring.newCursor();
+            boolean latest = r == 0;
+            readers[r] = new Thread(() -> {
+                long last = -1;
+                while (last < frames - 1 && failure.get() == null) {
+                    PoseFrame frame = latest ? cursor.pollLatest() : cursor.pollNext();
+                    if (frame == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    long sequence = frame.getTimestampNanos();
+                    if (sequence <= last || (long) frame.x(PoseFrame.NOSE) != sequence) {
+                        failure.set("saw " + sequence + " after " + last);
+                    }
+                    last = sequence;
+                    frame.release();
+                }
+            });
+            readers[r].start();
+        }
+        for (int i = 0; i < frames; i++) {
+            ring.publish(frameAt(pool, i));
+        }
+        for (Thread reader : readers) {
+            reader.join(10_000);
+            assertTrue("reader stuck", !reader.isAlive());
+        }
+        assertNull(failure.get());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.fitquest.pose;
+
+/**
+ * Builds PoseFrames with a chosen angle at one joint, for tests and benchmarks.
+ */
+public final class SyntheticPoses {
+
+    private static final float MID_X = 240f;
+    private static final float MID_Y = 320f;
+    private static final float LIMB = 120f;
+
+    private SyntheticPoses() {}
+
+    // Every landmark in frame with the given likelihood, arranged as a rough standing figure
+    public static void fillStanding(PoseFrame frame, float likelihood, long timestampNanos) {
+        frame.setTimestampNanos(timestampNanos);
+        for (int i = 0; i < PoseFrame.LANDMARK_COUNT; i++) {
+            frame.set(i, MID_X + (i % 2 == 0 ? -20f : 20f), 40f + i * 14f, 0f, likelihood);
+        }
+    }
+
+    // Places first/mid/last so the angle at mid is exactly the given number of degrees
+    public static void setAngle(PoseFrame frame, int first, int mid, int last, double degrees) {
+        double radians = Math.toRadians(degrees);
+        frame.set(mid, MID_X, MID_Y, 0f, frame.likelihood(mid));
+        frame.set(first, MID_X, MID_Y - LIMB, 0f, frame.likelihood(first));
+        frame.set(last, (float) (MID_X + LIMB * Math.sin(radians)),
+                (float) (MID_Y - LIMB * Math.cos(radians)), 0f, frame.likelihood(last));
+    }
+
+    // Joint triple that ExerciseDetector measures for each exercise
+    public static int[] jointsFor(String exerciseType) {
+        ExerciseCatalog catalog = ExerciseCatalog.defaults();
+        int exercise = catalog.indexOf(exerciseType);
+        return new int[]{catalog.firstJoint[exercise], catalog.midJoint[exercise], catalog.lastJoint[exercise]};
+    }
+
+    // One smooth down-and-up cycle between 175 and 85 degrees, sampled at 30 fps
+    public static PoseFrame[] repCycle(String exerciseType, int frameCount, long startNanos) {
+        int[] joints = jointsFor(exerciseType);
+        PoseFrame[] frames = new PoseFrame[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            double phase = 2 * Math.PI * i / frameCount;
+            double degrees = 130 + 45 * Math.cos(phase);
+            PoseFrame frame = new PoseFrame();
+            fillStanding(frame, 0.9f, startNanos + i * 33_333_333L);
+            setAngle(frame, joints[0], joints[1], joints[2], degrees);
+            frames[i] = frame;
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.fitquest.pose.trace;
+
+import com.example.fitquest.pose.PoseFrame;
+import com.example.fitquest.pose.SyntheticPoses;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PoseTraceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writeThenRead_roundTripsFramesAndHeader() throws Exception {
+        File file = folder.newFile("squats" + PoseTraceFormat.FILE_EXTENSION);
+        PoseFrame[] frames = SyntheticPoses.repCycle("squats", 100, 5_000L);
+
+        try (PoseTraceWriter writer = new PoseTraceWriter(file, "squats", "advanced", 12, 1234L)) {
+            for (PoseFrame frame : frames) {
+                writer.write(frame, true);
+            }
+            writer.write(new PoseFrame(), false);
+        }
+
+        try (PoseTraceReader reader = new PoseTraceReader(file)) {
+            assertEquals("squats", reader.getExerciseType());
+            assertEquals("advanced", reader.getDifficultyLevel());
+            assertEquals(12, reader.getTargetReps());
+            assertEquals(1234L, reader.getStartEpochMillis());
+            assertEquals(101, reader.getFrameCount());
+
+            PoseFrame read = new PoseFrame();
+            reader.readFrame(42, read);
+            assertTrue(reader.isTrackingActive(42));
+            assertEquals(frames[42].getTimestampNanos(), read.getTimestampNanos());
+            for (int i = 0; i < PoseFrame.LANDMARK_COUNT; i++) {
+                assertEquals(frames[42].x(i), read.x(i), 0f);
+                assertEquals(frames[42].y(i), read.y(i), 0f);
+                assertEquals(frames[42].likelihood(i), read.likelihood(i), 0f);
+            }
+
+            reader.readFrame(100, read);
+            assertFalse(reader.isTrackingActive(100));
+            assertFalse(read.hasPose());
+        }
+    }
+
+    @Test
+    public void tornLastRecord_isIgnored() throws Exception {
+        File file = folder.newFile("torn" + PoseTraceFormat.FILE_EXTENSION);
+        try (PoseTraceWriter writer = new PoseTraceWriter(file, "lunges", "beginner", 5, 0L)) {
+            for (PoseFrame frame : SyntheticPoses.repCycle("lunges", 3, 0)) {
+                writer.write(frame, true);
+            }
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.setLength(raw.length() - 10);
+        }
+
+        try (PoseTraceReader reader = new PoseTraceReader(file)) {
+            assertEquals(2, reader.getFrameCount());
+        }
+    }
+
+    @Test
+    public void replay_countsRepsOnlyWhileTracking() throws Exception {
+        File file = folder.newFile("replay" + PoseTraceFormat.FILE_EXTENSION);
+        try (PoseTraceWriter writer = new PoseTraceWriter(file, "squats", "beginner", 10, 0L)) {
+            long start = 0;
+            for (int rep = 0; rep < 3; rep++) {
+                for (PoseFrame frame : SyntheticPoses.repCycle("squats", 60, start)) {
+                    // The first cycle happens before the user says "start"
+                    writer.write(frame, rep > 0);
+                }
+                start += 2_000_000_000L;
+            }
+        }
+
+        try (PoseTraceReader reader = new PoseTraceReader(file)) {
+            PoseTraceReplay.Result result = PoseTraceReplay.replay(reader);
+            assertEquals(180, result.frames);
+            assertEquals(2, result.reps);
+        }
+    }
+}
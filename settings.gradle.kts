@@ -21,4 +21,8 @@ dependencyResolutionManagement {
 
 rootProject.name = "FitQuest"
 include(":app")
+include(":pose-core")
+include(":macrobenchmark")
+include(":leaderboard")
+include(":stub-server")
  
\ No newline at end of file
@@ -0,0 +1,30 @@
+plugins {
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    implementation(project(":leaderboard"))
+    testImplementation(libs.junit)
+}
+
+// ./gradlew :stub-server:run --args="--port 8080 --friends 500 --players 1000000"
+// The emulator reaches the host's port 8080 at BuildConfig.STUB_SERVER_URL.
+application {
+    mainClass.set("com.example.fitquest.server.StubServer")
+    applicationDefaultJvmArgs = listOf("-Xmx2g")
+}
+
+// ./gradlew :stub-server:loadTest --args="friends --clients 16 --seconds 30"
+// ./gradlew :stub-server:loadTest --args="leaderboard --players 1000000 --clients 16"
+// Needs a server already running; prints requests/sec and latency percentiles.
+tasks.register<JavaExec>("loadTest") {
+    description = "Drives a running stub server with concurrent paging clients."
+    group = "verification"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.fitquest.server.LoadGenerator")
+}
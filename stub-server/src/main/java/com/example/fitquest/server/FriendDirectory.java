@@ -0,0 +1,112 @@
+package com.example.fitquest.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A synthetic friend list served in cursor pages.
+ *
+ * Friends are ordered by id and a cursor names the last id of the previous page, so a
+ * client walking the list never skips or repeats a friend when others are added ahead of
+ * it, which offset paging cannot promise. Cursors are opaque to clients.
+ */
+public final class FriendDirectory {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final String[] SYLLABLES = {
+            "TRI", "PPI", "TRA", "LA", "LE", "LO", "TUNG", "SA", "HUR", "BOM", "BAR", "DI", "RO", "KA", "ZEN"
+    };
+    private static final String[] TEAMS = {"SPARTAN", "IMMORTALS", "HOPLITES"};
+    private static final String CURSOR_PREFIX = "after:";
+
+    public static final class Friend {
+        public final long id;
+        public final String name;
+        public final int level;
+        public final String team;
+
+        Friend(long id, String name, int level, String team) {
+            this.id = id;
+            this.name = name;
+            this.level = level;
+            this.team = team;
+        }
+    }
+
+    public static final class Page {
+        public final List<Friend> friends;
+        // Null on the last page
+        public final String nextCursor;
+
+        Page(List<Friend> friends, String nextCursor) {
+            this.friends = friends;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    private final Friend[] friends;
+    private final long[] ids;
+
+    /** {@code count} friends generated from {@code seed}, so every run serves the same list. */
+    public FriendDirectory(int count, long seed) {
+        Random random = new Random(seed);
+        friends = new Friend[count];
+        ids = new long[count];
+        long id = 0;
+        for (int i = 0; i < count; i++) {
+            // Gaps in the ids, as deleted accounts would leave
+            id += 1 + random.nextInt(3);
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            friends[i] = new Friend(id, name.toString(), 1 + random.nextInt(99), TEAMS[random.nextInt(TEAMS.length)]);
+            ids[i] = id;
+        }
+    }
+
+    public int size() {
+        return friends.length;
+    }
+
+    /**
+     * Up to {@code limit} friends after {@code cursor}, or from the start when it is null.
+     *
+     * @throws IllegalArgumentException if the cursor was not issued by a directory
+     */
+    public Page page(String cursor, int limit) {
+        int from = cursor == null ? 0 : indexAfter(decodeCursor(cursor));
+        int to = Math.min(friends.length, from + Math.max(1, Math.min(limit, MAX_LIMIT)));
+        String next = to < friends.length ? encodeCursor(ids[to - 1]) : null;
+        return new Page(Arrays.asList(friends).subList(from, to), next);
+    }
+
+    // First index whose id is greater than afterId
+    private int indexAfter(long afterId) {
+        int found = Arrays.binarySearch(ids, afterId);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    static String encodeCursor(long afterId) {
+        byte[] raw = (CURSOR_PREFIX + afterId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    static long decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(raw.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through; NumberFormatException is one too
+        }
+        throw new IllegalArgumentException("Bad cursor: " + cursor);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.fitquest.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * GET /friends?cursor=&limit= returns one page of the friend list:
+ *
+ * {"total":500,"friends":[{"id":3,"name":"TRIPPI","level":99,"team":"SPARTAN"},...],"next_cursor":"..."}
+ *
+ * next_cursor is null on the last page. An unknown cursor is a 400.
+ */
+final class FriendsHandler implements HttpHandler {
+
+    private final FriendDirectory directory;
+    private final int latencyMs;
+
+    FriendsHandler(FriendDirectory directory, int latencyMs) {
+        this.directory = directory;
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                StubServer.sendError(exchange, 405, "GET only");
+                return;
+            }
+            FriendDirectory.Page page;
+            try {
+                Map<String, String> params = StubServer.query(exchange);
+                page = directory.page(params.get("cursor"),
+                        StubServer.intParam(params, "limit", FriendDirectory.DEFAULT_LIMIT));
+            } catch (IllegalArgumentException e) {
+                StubServer.sendError(exchange, 400, e.getMessage());
+                return;
+            }
+            StubServer.sleep(latencyMs);
+            StubServer.send(exchange, 200, toJson(page));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String toJson(FriendDirectory.Page page) {
+        StringBuilder json = new StringBuilder(64 + page.friends.size() * 64);
+        json.append("{\"total\":").append(directory.size()).append(",\"friends\":[");
+        for (int i = 0; i < page.friends.size(); i++) {
+            FriendDirectory.Friend friend = page.friends.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(friend.id)
+                    .append(",\"name\":").append(StubServer.quote(friend.name))
+                    .append(",\"level\":").append(friend.level)
+                    .append(",\"team\":").append(StubServer.quote(friend.team))
+                    .append('}');
+        }
+        json.append("],\"next_cursor\":")
+                .append(page.nextCursor == null ? "null" : StubServer.quote(page.nextCursor))
+                .append('}');
+        return json.toString();
+    }
+}
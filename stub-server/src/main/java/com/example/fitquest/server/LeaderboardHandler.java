@@ -0,0 +1,102 @@
+package com.example.fitquest.server;
+
+import com.example.fitquest.leaderboard.Leaderboard;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The leaderboard, served from one in-process {@link Leaderboard}:
+ *
+ * POST /leaderboard/score?player=&score=       {"player":"a","score":10,"rank":3,"total":500}
+ * GET  /leaderboard/rank?player=               the same, or 404 if the player has no score
+ * GET  /leaderboard/around?player=&above=&below=   {"total":500,"entries":[{"rank":2,...},...]}
+ * GET  /leaderboard/top?from=1&count=20        the same shape
+ *
+ * Pages are capped at {@link #MAX_PAGE} entries.
+ */
+final class LeaderboardHandler implements HttpHandler {
+
+    private static final int MAX_PAGE = 100;
+
+    private final Leaderboard board;
+    private final int latencyMs;
+
+    LeaderboardHandler(Leaderboard board, int latencyMs) {
+        this.board = board;
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            String json;
+            try {
+                Map<String, String> params = StubServer.query(exchange);
+                if (path.equals("/leaderboard/score") && method.equals("POST")) {
+                    String player = player(params);
+                    long score = StubServer.intParam(params, "score", 0);
+                    json = entryJson(player, score, board.submit(player, score));
+                } else if (path.equals("/leaderboard/rank") && method.equals("GET")) {
+                    Leaderboard.Entry entry = board.get(player(params));
+                    if (entry == null) {
+                        StubServer.sendError(exchange, 404, "No score for " + params.get("player"));
+                        return;
+                    }
+                    json = entryJson(entry.player, entry.score, entry.rank);
+                } else if (path.equals("/leaderboard/around") && method.equals("GET")) {
+                    json = pageJson(board.around(player(params),
+                            Math.min(MAX_PAGE / 2, StubServer.intParam(params, "above", 5)),
+                            Math.min(MAX_PAGE / 2, StubServer.intParam(params, "below", 5))));
+                } else if (path.equals("/leaderboard/top") && method.equals("GET")) {
+                    json = pageJson(board.page(StubServer.intParam(params, "from", 1),
+                            Math.min(MAX_PAGE, StubServer.intParam(params, "count", 20))));
+                } else {
+                    StubServer.sendError(exchange, 404, method + " " + path);
+                    return;
+                }
+            } catch (IllegalArgumentException e) {
+                StubServer.sendError(exchange, 400, e.getMessage());
+                return;
+            }
+            StubServer.sleep(latencyMs);
+            StubServer.send(exchange, 200, json);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String player(Map<String, String> params) {
+        String player = params.get("player");
+        if (player == null || player.isEmpty()) {
+            throw new IllegalArgumentException("Missing player");
+        }
+        return player;
+    }
+
+    private String entryJson(String player, long score, int rank) {
+        return "{\"player\":" + StubServer.quote(player) + ",\"score\":" + score
+                + ",\"rank\":" + rank + ",\"total\":" + board.size() + "}";
+    }
+
+    private String pageJson(List<Leaderboard.Entry> entries) {
+        StringBuilder json = new StringBuilder(32 + entries.size() * 56);
+        json.append("{\"total\":").append(board.size()).append(",\"entries\":[");
+        for (int i = 0; i < entries.size(); i++) {
+            Leaderboard.Entry entry = entries.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"rank\":").append(entry.rank)
+                    .append(",\"player\":").append(StubServer.quote(entry.player))
+                    .append(",\"score\":").append(entry.score)
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+}
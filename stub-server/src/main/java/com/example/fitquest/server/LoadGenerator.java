@@ -0,0 +1,230 @@
+package com.example.fitquest.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives a running {@link StubServer} from concurrent clients and reports throughput and
+ * latency percentiles.
+ *
+ * Usage: LoadGenerator scenario [--url http://localhost:8080] [--clients 8] [--seconds 10]
+ *        [--limit 20] [--players 100000]
+ *
+ * Scenarios:
+ *   friends      each client pages through the whole friend list by cursor, then starts
+ *                over, as the Friends popup does when scrolled to the end
+ *   leaderboard  random players from the server's seeded board: 20% score submissions,
+ *                40% rank lookups, 40% pages of --limit/2 either side; pass the server's
+ *                --players as --players
+ */
+public final class LoadGenerator {
+
+    /** One client's request sequence; a new instance per client. */
+    interface Scenario {
+        // The next request, given the previous response body (null at first)
+        Request next(String previousBody);
+    }
+
+    static final class Request {
+        final String method;
+        // Path and query
+        final String path;
+
+        Request(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+    }
+
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"next_cursor\":\"([^\"]*)\"");
+
+    private static final class FriendsScenario implements Scenario {
+        private final int limit;
+
+        FriendsScenario(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public Request next(String previousBody) {
+            Matcher cursor = previousBody == null ? null : NEXT_CURSOR.matcher(previousBody);
+            if (cursor == null || !cursor.find()) {
+                return new Request("GET", "/friends?limit=" + limit);
+            }
+            return new Request("GET", "/friends?limit=" + limit + "&cursor="
+                    + URLEncoder.encode(cursor.group(1), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class LeaderboardScenario implements Scenario {
+        private final int players;
+        private final int around;
+        private final SplittableRandom random;
+
+        LeaderboardScenario(int players, int around, long seed) {
+            this.players = players;
+            this.around = around;
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public Request next(String previousBody) {
+            String player = "player-" + (1 + random.nextInt(players));
+            int roll = random.nextInt(10);
+            if (roll < 2) {
+                return new Request("POST", "/leaderboard/score?player=" + player + "&score=" + random.nextInt(StubServer.DEFAULT_MAX_SCORE));
+            } else if (roll < 6) {
+                return new Request("GET", "/leaderboard/rank?player=" + player);
+            }
+            return new Request("GET", "/leaderboard/around?player=" + player + "&above=" + around + "&below=" + around);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadGenerator friends|leaderboard [--url U] [--clients N] [--seconds S]"
+                    + " [--limit L] [--players P]");
+            System.exit(2);
+        }
+        String scenario = args[0];
+        String url = "http://localhost:8080";
+        int clients = 8;
+        int seconds = 10;
+        int limit = FriendDirectory.DEFAULT_LIMIT;
+        int players = StubServer.DEFAULT_PLAYERS;
+        for (int i = 1; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--url": url = value; i++; break;
+                case "--clients": clients = Integer.parseInt(value); i++; break;
+                case "--seconds": seconds = Integer.parseInt(value); i++; break;
+                case "--limit": limit = Integer.parseInt(value); i++; break;
+                case "--players": players = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("Unknown argument " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        List<Client> running = new ArrayList<>();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(url, newScenario(scenario, limit, players, i), deadline);
+            client.setName("load-client-" + (i + 1));
+            client.start();
+            running.add(client);
+        }
+        long started = System.nanoTime();
+        for (Client client : running) {
+            client.join();
+        }
+        report(scenario, running, System.nanoTime() - started);
+    }
+
+    private static Scenario newScenario(String name, int limit, int players, int client) {
+        switch (name) {
+            case "friends": return new FriendsScenario(limit);
+            case "leaderboard": return new LeaderboardScenario(players, limit / 2, client);
+            default: throw new IllegalArgumentException("Unknown scenario " + name);
+        }
+    }
+
+    private static void report(String scenario, List<Client> clients, long elapsedNanos) {
+        int total = 0;
+        int errors = 0;
+        for (Client client : clients) {
+            total += client.count;
+            errors += client.errors;
+        }
+        long[] latencies = new long[total];
+        int at = 0;
+        for (Client client : clients) {
+            System.arraycopy(client.latencies, 0, latencies, at, client.count);
+            at += client.count;
+        }
+        Arrays.sort(latencies);
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%s: %d clients, %d requests in %.1f s, %d errors%n",
+                scenario, clients.size(), total, seconds, errors);
+        System.out.printf("throughput %.0f req/s%n", total / seconds);
+        System.out.printf("latency ms p50 %.2f  p95 %.2f  p99 %.2f  max %.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.95),
+                percentile(latencies, 0.99), percentile(latencies, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Client extends Thread {
+        private final String baseUrl;
+        private final Scenario scenario;
+        private final long deadline;
+        private final byte[] buffer = new byte[8192];
+        // Nanoseconds per successful request
+        long[] latencies = new long[1024];
+        int count;
+        int errors;
+
+        Client(String baseUrl, Scenario scenario, long deadline) {
+            this.baseUrl = baseUrl;
+            this.scenario = scenario;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            String body = null;
+            while (System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                try {
+                    body = send(scenario.next(body));
+                } catch (IOException e) {
+                    errors++;
+                    body = null;
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+
+        // Reads the whole body so the connection goes back to the keep-alive pool
+        private String send(Request request) throws IOException {
+            String url = baseUrl + request.path;
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod(request.method);
+            int status = connection.getResponseCode();
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                int read;
+                while (in != null && (read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                if (status != 200) {
+                    throw new IOException("HTTP " + status + " from " + url);
+                }
+                return out.toString(StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private LoadGenerator() {}
+}
@@ -0,0 +1,149 @@
+package com.example.fitquest.server;
+
+import com.example.fitquest.leaderboard.LeaderboardLoad;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the FitQuest backend, so online features can be exercised and load
+ * tested without one. Serves JSON from in-memory data built at start-up.
+ *
+ * Usage: StubServer [--port 8080] [--friends 500] [--players 100000] [--max-score 1200]
+ *        [--seed 1] [--threads 8] [--latency-ms 0]
+ *
+ * The leaderboard starts with --players players named player-1.. at random scores below
+ * --max-score. The app's score is challenge levels beaten, so the default is the level count.
+ * --latency-ms delays every response, to see how the app behaves on a slow network.
+ */
+public final class StubServer {
+
+    static final int DEFAULT_PLAYERS = 100_000;
+    // Levels in app/src/main/levels/levels.csv
+    static final int DEFAULT_MAX_SCORE = 1200;
+
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int friends = 500;
+        int players = DEFAULT_PLAYERS;
+        int maxScore = DEFAULT_MAX_SCORE;
+        long seed = 1;
+        int threads = 8;
+        int latencyMs = 0;
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(value); i++; break;
+                case "--friends": friends = Integer.parseInt(value); i++; break;
+                case "--players": players = Integer.parseInt(value); i++; break;
+                case "--max-score": maxScore = Integer.parseInt(value); i++; break;
+                case "--seed": seed = Long.parseLong(value); i++; break;
+                case "--threads": threads = Integer.parseInt(value); i++; break;
+                case "--latency-ms": latencyMs = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("Unknown argument " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        // Headers and body go out in separate writes; without this, Nagle holds the body
+        // back until the client's delayed ACK and every response takes ~40 ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "stub-server-" + threadCount.incrementAndGet()));
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(pool);
+        server.createContext("/friends", new FriendsHandler(new FriendDirectory(friends, seed), latencyMs));
+        server.createContext("/leaderboard", new LeaderboardHandler(LeaderboardLoad.fill(players, maxScore, seed), latencyMs));
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(0);
+            pool.shutdown();
+        }));
+        System.out.println("Stub server on port " + port + " with " + friends + " friends and "
+                + players + " ranked players");
+    }
+
+    static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    static int intParam(Map<String, String> params, String name, int fallback) {
+        String value = params.get(name);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad " + name + ": " + value);
+        }
+    }
+
+    static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "{\"error\":" + quote(message) + "}");
+    }
+
+    static void sleep(int millis) {
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    static String quote(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private StubServer() {}
+}
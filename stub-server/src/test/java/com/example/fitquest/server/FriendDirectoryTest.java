@@ -0,0 +1,46 @@
+package com.example.fitquest.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class FriendDirectoryTest {
+
+    @Test
+    public void cursorsWalkEveryFriendOnce() {
+        FriendDirectory directory = new FriendDirectory(95, 7);
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            FriendDirectory.Page page = directory.page(cursor, 20);
+            for (FriendDirectory.Friend friend : page.friends) {
+                assertTrue("repeated " + friend.id, seen.add(friend.id));
+            }
+            cursor = page.nextCursor;
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(95, seen.size());
+        assertEquals(5, pages);
+    }
+
+    @Test
+    public void lastPageHasNoCursorAndLimitIsClamped() {
+        FriendDirectory directory = new FriendDirectory(150, 7);
+        FriendDirectory.Page page = directory.page(null, 1000);
+
+        assertEquals(FriendDirectory.MAX_LIMIT, page.friends.size());
+        assertNull(directory.page(page.nextCursor, 1000).nextCursor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void foreignCursorIsRejected() {
+        new FriendDirectory(10, 7).page("not-a-cursor", 20);
+    }
+}